@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,8 @@ dependencies {
   jmh(projects.pklCore)
   jmh(projects.pklCommonsTest)
   jmh(projects.pklParser)
+  jmh(projects.pklConfigJava)
+  jmh(projects.pklServer)
   truffle(libs.truffleApi)
   graal(libs.graalCompiler)
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.config.java;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.pkl.config.java.mapper.Named;
+import org.pkl.core.ModuleSource;
+import org.pkl.core.util.IoUtils;
+
+/** Evaluates a large configuration with {@link ConfigEvaluator} and maps it to Java objects. */
+@SuppressWarnings("unused")
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigEvaluatorBenchmark {
+  private static final JavaType<Map<String, Host>> hostsType =
+      JavaType.mapOf(String.class, Host.class);
+
+  private ConfigEvaluator evaluator;
+
+  private ModuleSource moduleSource;
+
+  private Config config;
+
+  @Setup
+  public void setup() throws IOException {
+    evaluator = ConfigEvaluator.preconfigured();
+    moduleSource =
+        ModuleSource.text(
+            IoUtils.readClassPathResourceAsString(getClass(), "/org/pkl/core/largeConfig.pkl"));
+    config = evaluator.evaluate(moduleSource);
+  }
+
+  @TearDown
+  public void tearDown() {
+    evaluator.close();
+  }
+
+  // evaluates the configuration and maps it to Java objects
+  @Benchmark
+  public Map<String, Host> evaluateAndMap() {
+    return evaluator.evaluate(moduleSource).get("hosts").as(hostsType);
+  }
+
+  // only maps an already evaluated configuration to Java objects
+  @Benchmark
+  public Map<String, Host> map() {
+    return config.get("hosts").as(hostsType);
+  }
+
+  public static final class Host {
+    final String hostname;
+    final String region;
+    final List<Service> services;
+
+    public Host(
+        @Named("hostname") String hostname,
+        @Named("region") String region,
+        @Named("services") List<Service> services) {
+      this.hostname = hostname;
+      this.region = region;
+      this.services = services;
+    }
+  }
+
+  public static final class Service {
+    final String name;
+    final String image;
+    final int replicas;
+    final int port;
+    final Map<String, String> env;
+    final List<String> tags;
+
+    public Service(
+        @Named("name") String name,
+        @Named("image") String image,
+        @Named("replicas") int replicas,
+        @Named("port") int port,
+        @Named("env") Map<String, String> env,
+        @Named("tags") List<String> tags) {
+      this.name = name;
+      this.image = image;
+      this.replicas = replicas;
+      this.port = port;
+      this.env = env;
+      this.tags = tags;
+    }
+  }
+}
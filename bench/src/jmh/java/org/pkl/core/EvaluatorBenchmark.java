@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core;
+
+import static org.pkl.core.ModuleSource.modulePath;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.pkl.core.util.IoUtils;
+
+/** Evaluates realistic configuration modules with new and with long-lived evaluators. */
+@SuppressWarnings("unused")
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EvaluatorBenchmark {
+  @Param({"largeConfig", "deepAmends"})
+  public String module;
+
+  private String moduleText;
+
+  private Evaluator warmEvaluator;
+
+  @Setup
+  public void setup() throws IOException {
+    moduleText = IoUtils.readClassPathResourceAsString(getClass(), module + ".pkl");
+    warmEvaluator = Evaluator.preconfigured();
+  }
+
+  @TearDown
+  public void tearDown() {
+    warmEvaluator.close();
+  }
+
+  // creates a new evaluator for every evaluation, like a CLI invocation
+  @Benchmark
+  public PModule cold() {
+    try (var evaluator = Evaluator.preconfigured()) {
+      return evaluator.evaluate(modulePath("org/pkl/core/" + module + ".pkl"));
+    }
+  }
+
+  // reuses an evaluator, like a build tool or language binding
+  @Benchmark
+  public PModule warm() {
+    // text modules aren't cached, hence every invocation evaluates the module again
+    return warmEvaluator.evaluate(ModuleSource.text(moduleText));
+  }
+}
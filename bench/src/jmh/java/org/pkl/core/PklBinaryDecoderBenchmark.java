@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core;
+
+import static org.pkl.core.ModuleSource.modulePath;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/** Decodes a large {@code pkl-binary} document, or a single value of it. */
+@SuppressWarnings("unused")
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PklBinaryDecoderBenchmark {
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    try (var evaluator = Evaluator.preconfigured()) {
+      bytes =
+          evaluator.evaluateExpressionPklBinary(
+              modulePath("org/pkl/core/largeConfig.pkl"), "module");
+    }
+  }
+
+  @Benchmark
+  public Object decode() {
+    return PklBinaryDecoder.decode(bytes);
+  }
+
+  @Benchmark
+  public Object decodeAt() {
+    return PklBinaryDecoder.decodeAt(bytes, "hosts", "host-100", "services", 0, "image");
+  }
+
+  @Benchmark
+  public Object decodeLazily() {
+    var module = (PModule) PklBinaryDecoder.decodeLazily(bytes);
+    return module.getProperty("totalReplicas");
+  }
+}
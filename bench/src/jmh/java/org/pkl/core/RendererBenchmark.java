@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Renders a large configuration with Pkl's built-in renderers, as {@code pkl eval} does.
+ *
+ * <p>The configuration is evaluated once, and cached by the evaluator. Each invocation only renders
+ * it.
+ */
+@SuppressWarnings("unused")
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RendererBenchmark {
+  @Param({"json", "yaml", "plist", "properties", "pcf", "pkl-binary"})
+  public String format;
+
+  private Evaluator evaluator;
+
+  private ModuleSource outputModule;
+
+  @Setup
+  public void setup() {
+    var renderer =
+        switch (format) {
+          case "json" -> "new JsonRenderer {}";
+          case "yaml" -> "new YamlRenderer {}";
+          case "plist" -> "new PListRenderer {}";
+          // the properties format cannot represent listings, so render them as maps
+          case "properties" ->
+              """
+              new PropertiesRenderer {
+                converters {
+                  [Listing] = (it) ->
+                    IntSeq(0, it.length - 1).fold(Map(), (acc, i) -> acc.put(i.toString(), it[i]))
+                }
+              }""";
+          case "pcf" -> "new PcfRenderer {}";
+          case "pkl-binary" -> "new pklbinary.Renderer {}";
+          default -> throw new IllegalArgumentException(format);
+        };
+    outputModule =
+        ModuleSource.text(
+            """
+            import "pkl:pklbinary"
+            import "modulepath:/org/pkl/core/largeConfig.pkl"
+
+            output {
+              value = largeConfig
+              renderer = %s
+            }
+            """
+                .formatted(renderer));
+    evaluator = Evaluator.preconfigured();
+    // evaluate and cache the configuration
+    evaluator.evaluateOutputBytes(outputModule);
+  }
+
+  @TearDown
+  public void tearDown() {
+    evaluator.close();
+  }
+
+  @Benchmark
+  public byte[] render() {
+    return evaluator.evaluateOutputBytes(outputModule);
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core;
+
+import static org.pkl.core.ModuleSource.modulePath;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Renders an evaluated configuration with the Java {@link ValueRenderer}s in {@link
+ * ValueRenderers}.
+ *
+ * <p>{@link ValueRenderers#properties} isn't covered because it cannot render lists.
+ */
+@SuppressWarnings("unused")
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueRendererBenchmark {
+  @Param({"json", "yaml", "plist", "pcf"})
+  public String format;
+
+  private Object value;
+
+  @Setup
+  public void setup() {
+    try (var evaluator = Evaluator.preconfigured()) {
+      value = evaluator.evaluate(modulePath("org/pkl/core/largeConfig.pkl")).get("hosts");
+    }
+  }
+
+  @Benchmark
+  public String render() {
+    var writer = new StringWriter();
+    var renderer =
+        switch (format) {
+          case "json" -> ValueRenderers.json(writer, "  ", false);
+          case "yaml" -> ValueRenderers.yaml(writer, 2, false, false);
+          case "plist" -> ValueRenderers.plist(writer, "  ");
+          case "pcf" -> ValueRenderers.pcf(writer, "  ", false, false);
+          default -> throw new IllegalArgumentException(format);
+        };
+    renderer.renderValue(value);
+    return writer.toString();
+  }
+}
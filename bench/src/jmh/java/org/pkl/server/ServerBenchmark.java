@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.*;
+import org.pkl.core.messaging.Message;
+import org.pkl.core.messaging.MessageTransport;
+import org.pkl.core.messaging.MessageTransports;
+import org.pkl.core.messaging.ProtocolException;
+
+/**
+ * Sends messages through the {@code pkl server} protocol.
+ *
+ * <p>{@link #encodeAndDecode} measures message encoding alone. {@link #evaluate} measures a full
+ * evaluation round trip between a client and a {@link Server}, connected through pipes.
+ */
+@SuppressWarnings("unused")
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServerBenchmark {
+  private static final String moduleText =
+      """
+      result = new Listing {
+        for (i in IntSeq(1, 1000)) {
+          new Dynamic { name = "item-\\(i)"; index = i }
+        }
+      }
+      """;
+
+  private final AtomicLong requestIds = new AtomicLong();
+
+  private ExecutorService executor;
+
+  private Server server;
+
+  private MessageTransport client;
+
+  private long evaluatorId;
+
+  private EvaluateResponse response;
+
+  @Setup
+  public void setup() throws Exception {
+    var clientToServer = Pipe.open();
+    var serverToClient = Pipe.open();
+    server =
+        new Server(
+            MessageTransports.stream(
+                new ServerMessagePackDecoder(Channels.newInputStream(clientToServer.source())),
+                new ServerMessagePackEncoder(Channels.newOutputStream(serverToClient.sink())),
+                message -> {}));
+    client =
+        MessageTransports.stream(
+            new ServerMessagePackDecoder(Channels.newInputStream(serverToClient.source())),
+            new ServerMessagePackEncoder(Channels.newOutputStream(clientToServer.sink())),
+            message -> {});
+    executor =
+        Executors.newFixedThreadPool(
+            2,
+            runnable -> {
+              var thread = new Thread(runnable);
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.execute(server::start);
+    executor.execute(
+        () -> {
+          try {
+            client.start(message -> {}, message -> {});
+          } catch (ProtocolException | IOException ignored) {
+            // transport was closed
+          }
+        });
+
+    var createResponse =
+        (CreateEvaluatorResponse)
+            send(
+                new CreateEvaluatorRequest(
+                    requestIds.incrementAndGet(),
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null));
+    evaluatorId = createResponse.getEvaluatorId();
+    response = evaluate();
+  }
+
+  @TearDown
+  public void tearDown() {
+    client.close();
+    server.close();
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public EvaluateResponse evaluate() throws Exception {
+    var request =
+        new EvaluateRequest(
+            requestIds.incrementAndGet(), evaluatorId, URI.create("repl:text"), moduleText, null);
+    return (EvaluateResponse) send(request);
+  }
+
+  @Benchmark
+  public Message encodeAndDecode() throws IOException, ProtocolException {
+    var outputStream = new ByteArrayOutputStream();
+    new ServerMessagePackEncoder(outputStream).encode(response);
+    var inputStream = new ByteArrayInputStream(outputStream.toByteArray());
+    return new ServerMessagePackDecoder(inputStream).decode();
+  }
+
+  private Message.Response send(Message.Request request) throws Exception {
+    var future = new CompletableFuture<Message.Response>();
+    client.send(request, future::complete);
+    return future.get();
+  }
+}
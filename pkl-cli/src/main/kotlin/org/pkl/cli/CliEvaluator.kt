@@ -15,27 +15,37 @@
  */
 package org.pkl.cli
 
+import java.io.ByteArrayOutputStream
 import java.io.File
 import java.io.InputStream
 import java.io.OutputStream
+import java.io.Writer
 import java.net.URI
 import java.nio.charset.StandardCharsets
+import java.nio.file.FileSystems
 import java.nio.file.Files
 import java.nio.file.Path
 import java.nio.file.StandardOpenOption
+import java.nio.file.StandardWatchEventKinds.ENTRY_CREATE
+import java.nio.file.StandardWatchEventKinds.ENTRY_DELETE
+import java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY
+import java.nio.file.WatchService
+import java.util.concurrent.TimeUnit
+import kotlin.io.path.bufferedWriter
 import kotlin.io.path.createParentDirectories
 import kotlin.io.path.exists
 import kotlin.io.path.isDirectory
+import kotlin.io.path.outputStream
 import kotlin.io.path.writeBytes
 import org.pkl.commons.cli.CliCommand
 import org.pkl.commons.cli.CliException
 import org.pkl.commons.currentWorkingDir
-import org.pkl.commons.writeString
 import org.pkl.core.Closeables
 import org.pkl.core.Evaluator
 import org.pkl.core.EvaluatorBuilder
 import org.pkl.core.ModuleSource
 import org.pkl.core.PklException
+import org.pkl.core.Profiler
 import org.pkl.core.module.ModulePathResolver
 import org.pkl.core.runtime.ModuleResolver
 import org.pkl.core.runtime.VmException
@@ -44,6 +54,12 @@ import org.pkl.core.util.IoUtils
 
 private data class OutputFile(val pathSpec: String, val moduleUri: URI)
 
+/** The number of source locations listed by `--profile`. */
+private const val PROFILE_REPORT_SIZE = 20
+
+/** How long `--watch` waits for further changes before re-rendering, as editors save in steps. */
+private const val WATCH_QUIET_PERIOD_MILLIS = 50L
+
 /** API equivalent of the Pkl command-line evaluator. */
 class CliEvaluator
 @JvmOverloads
@@ -53,6 +69,7 @@ constructor(
   // because the latter returns null when output is sent through a unix pipe
   private val inputStream: InputStream = System.`in`,
   private val outputStream: OutputStream = System.out,
+  private val errWriter: Writer = System.err.writer(),
 ) : CliCommand(options.base) {
   /**
    * Output files for the modules to be evaluated. Returns `null` if `options.outputPath` is `null`
@@ -98,11 +115,14 @@ constructor(
    */
   override fun doRun() {
     val builder = evaluatorBuilder()
+    val profiler = if (options.profile || options.profileOutputPath != null) Profiler() else null
+    builder.setProfiler(profiler)
     try {
-      if (options.multipleFileOutputPath != null) {
-        writeMultipleFileOutput(builder)
+      if (options.watch) {
+        watch(builder, profiler)
       } else {
-        writeOutput(builder)
+        render(builder, null, options.base.normalizedSourceModules.toSet())
+        if (profiler != null) writeProfile(profiler)
       }
     } finally {
       Closeables.closeQuietly(builder.moduleKeyFactories)
@@ -110,6 +130,117 @@ constructor(
     }
   }
 
+  /**
+   * Renders the outputs of [moduleUris], using [evaluator] if non-null, and evaluators built with
+   * [builder] otherwise.
+   */
+  private fun render(builder: EvaluatorBuilder, evaluator: Evaluator?, moduleUris: Set<URI>) {
+    if (options.multipleFileOutputPath != null) {
+      writeMultipleFileOutput(builder, evaluator, moduleUris)
+    } else {
+      writeOutput(builder, evaluator, moduleUris)
+    }
+  }
+
+  /**
+   * Renders all source modules, and then re-renders source modules whenever local files they
+   * depend on change, until the current thread is interrupted.
+   *
+   * All renderings share one evaluator, which only discards the cached modules affected by a
+   * change. Errors are written to [errWriter] and don't end watching.
+   */
+  private fun watch(builder: EvaluatorBuilder, profiler: Profiler?) {
+    val moduleUris = options.base.normalizedSourceModules
+    if (VmUtils.REPL_TEXT_URI in moduleUris) {
+      throw CliException("Option `--watch` cannot be used with modules read from standard input.")
+    }
+    if (options.parallelism > 1) {
+      // all renderings share one evaluator
+      throw CliException("Option `--watch` cannot be used with `--parallelism` greater than 1.")
+    }
+    builder.setOutputFormat(options.outputFormat)
+    builder.build().use { evaluator ->
+      FileSystems.getDefault().newWatchService().use { watchService ->
+        // the URIs of each watched file, as specified by source modules and importers
+        val watchedFiles = mutableMapOf<Path, MutableSet<URI>>()
+        val watchedDirs = mutableSetOf<Path>()
+        fun watchFiles(uris: Collection<URI>) {
+          for (uri in uris) {
+            val path = IoUtils.toPath(uri)?.normalize() ?: continue
+            watchedFiles.getOrPut(path, ::mutableSetOf).add(uri)
+            val dir = path.parent ?: continue
+            if (dir.isDirectory() && watchedDirs.add(dir)) {
+              dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE)
+            }
+          }
+        }
+
+        watchFiles(moduleUris)
+        var affectedModules = moduleUris.toSet()
+        while (true) {
+          if (affectedModules.isNotEmpty()) {
+            try {
+              render(builder, evaluator, affectedModules)
+            } catch (e: PklException) {
+              errWriter.writeLine(e.message!!)
+            } catch (e: CliException) {
+              errWriter.writeLine(e.message!!)
+            }
+            if (profiler != null) {
+              writeProfile(profiler)
+              profiler.reset()
+            }
+          }
+          // rendering may have imported or read further files
+          watchFiles(evaluator.dependencyUris)
+          val changedFiles =
+            try {
+              awaitChanges(watchService)
+            } catch (e: InterruptedException) {
+              return
+            }
+          val changedUris =
+            changedFiles.flatMapTo(mutableSetOf()) { path ->
+              watchedFiles[path].orEmpty() + path.toUri()
+            }
+          val invalidatedUris = evaluator.invalidate(changedUris)
+          affectedModules =
+            moduleUris.filterTo(mutableSetOf()) { it in invalidatedUris || it in changedUris }
+        }
+      }
+    }
+  }
+
+  /** Waits for file changes, and returns the changed files once no further changes occur. */
+  private fun awaitChanges(watchService: WatchService): Set<Path> {
+    val result = mutableSetOf<Path>()
+    var key = watchService.take()
+    while (key != null) {
+      val dir = key.watchable() as Path
+      for (event in key.pollEvents()) {
+        val fileName = event.context() as? Path ?: continue
+        result.add(dir.resolve(fileName).normalize())
+      }
+      key.reset()
+      key = watchService.poll(WATCH_QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)
+    }
+    return result
+  }
+
+  private fun Writer.writeLine(message: String) {
+    write(message)
+    if (!message.endsWith('\n')) write("\n")
+    flush()
+  }
+
+  private fun writeProfile(profiler: Profiler) {
+    profiler.writeReport(errWriter, PROFILE_REPORT_SIZE)
+    val outputPath = options.profileOutputPath ?: return
+    val outputFile = options.base.normalizedWorkingDir.resolve(outputPath).normalize()
+    outputFile.createParentDirectories()
+    outputFile.bufferedWriter().use(profiler::writeCollapsedStacks)
+  }
+
   private fun resolveOutputPaths(pathStr: String): Map<URI, Path> {
     val moduleUris = options.base.normalizedSourceModules
     val workingDir = options.base.normalizedWorkingDir
@@ -143,85 +274,114 @@ constructor(
     }
   }
 
-  private fun Evaluator.writeOutput(moduleSource: ModuleSource, writeTo: Path): Boolean {
+  private fun Evaluator.writeOutput(moduleSource: ModuleSource, outputStream: OutputStream) {
     if (options.expression == null) {
-      val bytes = evaluateOutputBytes(moduleSource)
-      writeTo.writeBytes(bytes)
-      return bytes.isNotEmpty()
+      evaluateOutputTo(moduleSource, outputStream)
+      return
     }
-    val text = evaluateExpressionString(moduleSource, options.expression)
-    writeTo.writeString(text)
-    return text.isNotEmpty()
+    outputStream.writeText(evaluateExpressionString(moduleSource, options.expression))
   }
 
-  private fun Evaluator.evalOutput(moduleSource: ModuleSource): ByteArray {
-    if (options.expression == null) {
-      return evaluateOutputBytes(moduleSource)
+  /**
+   * Evaluates a module and returns a function that writes its output to a stream.
+   *
+   * If [streaming] is `true`, the module is only evaluated once the returned function is called,
+   * and its output is written to the stream while being encoded. Otherwise, its output is buffered
+   * in memory, allowing the evaluator to be reused before the output is written.
+   */
+  private fun Evaluator.evalOutput(
+    moduleSource: ModuleSource,
+    streaming: Boolean,
+  ): (OutputStream) -> Unit {
+    if (streaming) return { writeOutput(moduleSource, it) }
+    val buffer = ByteArrayOutputStream()
+    writeOutput(moduleSource, buffer)
+    return { buffer.writeTo(it) }
+  }
+
+  /** Tells whether modules are evaluated one after another, as their outputs are consumed. */
+  private fun isStreaming(evaluator: Evaluator?, moduleCount: Int): Boolean =
+    evaluator != null || options.parallelism.coerceAtMost(moduleCount) <= 1
+
+  private fun <T> evaluateModules(
+    builder: EvaluatorBuilder,
+    evaluator: Evaluator?,
+    moduleUris: Collection<URI>,
+    evalModule: Evaluator.(ModuleSource) -> T,
+    consume: (Sequence<Pair<URI, T>>) -> Unit,
+  ) {
+    builder.setOutputFormat(options.outputFormat)
+    // read standard input (if requested) up front and on this thread
+    val moduleSources = moduleUris.map { it to toModuleSource(it, inputStream) }
+    if (evaluator != null) {
+      consume(
+        moduleSources.asSequence().map { (uri, source) -> uri to evaluator.evalModule(source) }
+      )
+      return
+    }
+    builder.evaluateAll(moduleSources, options.parallelism, { evalModule(it.second) }) { results ->
+      consume(results.map { (input, result) -> input.first to result })
     }
-    return evaluateExpressionString(moduleSource, options.expression)
-      .toByteArray(StandardCharsets.UTF_8)
   }
 
   /** Renders each module's `output.bytes`, writing it to the specified output file. */
-  private fun writeOutput(builder: EvaluatorBuilder) {
-    val evaluator = builder.setOutputFormat(options.outputFormat).build()
-    evaluator.use { ev ->
-      val outputFiles = fileOutputPaths
-      if (outputFiles != null) {
-        // files that we've written non-empty output to
-        // YamlRenderer produces empty output if `isStream` is true and `output.value` is empty
-        // collection
-        val writtenFiles = mutableSetOf<Path>()
-
-        for ((moduleUri, outputFile) in outputFiles) {
-          val moduleSource = toModuleSource(moduleUri, inputStream)
-          if (Files.isDirectory(outputFile)) {
-            throw CliException(
-              "Output file `$outputFile` is a directory. " +
-                "Did you mean `--multiple-file-output-path`?"
-            )
-          }
-          val output = ev.evalOutput(moduleSource)
-          outputFile.createParentDirectories()
+  private fun writeOutput(builder: EvaluatorBuilder, evaluator: Evaluator?, moduleUris: Set<URI>) {
+    val allOutputFiles = fileOutputPaths
+    if (allOutputFiles != null) {
+      // outputs written to the same file are concatenated, hence are rendered together
+      val affectedFiles = moduleUris.mapNotNullTo(mutableSetOf()) { allOutputFiles[it] }
+      val outputFiles = allOutputFiles.filterValues { it in affectedFiles }
+      for (outputFile in outputFiles.values) {
+        if (Files.isDirectory(outputFile)) {
+          throw CliException(
+            "Output file `$outputFile` is a directory. " +
+              "Did you mean `--multiple-file-output-path`?"
+          )
+        }
+      }
+      // files that we've written non-empty output to
+      // YamlRenderer produces empty output if `isStream` is true and `output.value` is empty
+      // collection
+      val writtenFiles = mutableSetOf<Path>()
+
+      val streaming = isStreaming(evaluator, outputFiles.size)
+      evaluateModules(builder, evaluator, outputFiles.keys, { evalOutput(it, streaming) }) {
+        results ->
+        for ((moduleUri, writeModuleOutput) in results) {
+          val outputFile = outputFiles.getValue(moduleUri)
           if (!writtenFiles.contains(outputFile)) {
-            // write file even if output is empty to overwrite output from previous runs
-            outputFile.writeBytes(output)
-            if (output.isNotEmpty()) {
+            val output =
+              DeferredOutputStream(null) {
+                outputFile.createParentDirectories()
+                outputFile.outputStream()
+              }
+            output.use(writeModuleOutput)
+            if (output.isWritten) {
               writtenFiles.add(outputFile)
+            } else {
+              // write file even if output is empty to overwrite output from previous runs
+              outputFile.createParentDirectories()
+              outputFile.writeBytes(byteArrayOf())
             }
           } else {
-            if (output.isNotEmpty()) {
-              outputFile.writeString(
-                options.moduleOutputSeparator + '\n',
-                Charsets.UTF_8,
-                StandardOpenOption.WRITE,
-                StandardOpenOption.APPEND,
-              )
-              outputFile.writeBytes(output, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
-            }
+            val separator = (options.moduleOutputSeparator + '\n').toByteArray()
+            val output =
+              DeferredOutputStream(separator) { outputFile.outputStream(StandardOpenOption.APPEND) }
+            output.use(writeModuleOutput)
           }
         }
-      } else {
-        var outputWritten = false
-        for (moduleUri in options.base.normalizedSourceModules) {
-          val moduleSource = toModuleSource(moduleUri, inputStream)
-          if (options.expression != null) {
-            val output = evaluator.evaluateExpressionString(moduleSource, options.expression)
-            if (output.isNotEmpty()) {
-              if (outputWritten) outputStream.writeLine(options.moduleOutputSeparator)
-              outputStream.writeText(output)
-              outputStream.flush()
-              outputWritten = true
-            }
-          } else {
-            val outputBytes = evaluator.evaluateOutputBytes(moduleSource)
-            if (outputBytes.isNotEmpty()) {
-              if (outputWritten) outputStream.writeLine(options.moduleOutputSeparator)
-              outputStream.write(outputBytes)
-              outputStream.flush()
-              outputWritten = true
-            }
-          }
+      }
+    } else {
+      val sourceModules = options.base.normalizedSourceModules.filter { it in moduleUris }
+      val streaming = isStreaming(evaluator, sourceModules.size)
+      var outputWritten = false
+      evaluateModules(builder, evaluator, sourceModules, { evalOutput(it, streaming) }) { results ->
+        for ((_, writeModuleOutput) in results) {
+          val separator = if (outputWritten) (options.moduleOutputSeparator + '\n') else null
+          val output = DeferredOutputStream(separator?.toByteArray()) { outputStream }
+          writeModuleOutput(output)
+          output.flush()
+          outputWritten = outputWritten || output.isWritten
         }
       }
     }
@@ -229,11 +389,6 @@ constructor(
 
   private fun OutputStream.writeText(text: String) = write(text.toByteArray())
 
-  private fun OutputStream.writeLine(text: String) {
-    writeText(text)
-    writeText("\n")
-  }
-
   private fun toModuleSource(uri: URI, reader: InputStream) =
     if (uri == VmUtils.REPL_TEXT_URI) {
       ModuleSource.create(uri, reader.readAllBytes().toString(StandardCharsets.UTF_8))
@@ -253,47 +408,104 @@ constructor(
    * Renders each module's `output.files`, writing each entry as a file into the specified output
    * directory.
    */
-  private fun writeMultipleFileOutput(builder: EvaluatorBuilder) {
-    val outputDirs = directoryOutputPaths!!
-    val writtenFiles = mutableMapOf<Path, OutputFile>()
-    for ((moduleUri, outputDir) in outputDirs) {
-      val evaluator = builder.setOutputFormat(options.outputFormat).build()
+  private fun writeMultipleFileOutput(
+    builder: EvaluatorBuilder,
+    evaluator: Evaluator?,
+    moduleUris: Set<URI>,
+  ) {
+    val outputDirs = directoryOutputPaths!!.filterKeys { it in moduleUris }
+    for (outputDir in outputDirs.values) {
       if (outputDir.exists() && !outputDir.isDirectory()) {
         throw CliException("Output path `$outputDir` exists and is not a directory.")
       }
-      val moduleSource = toModuleSource(moduleUri, inputStream)
-      val output = evaluator.evaluateOutputFiles(moduleSource)
-      val realOutputDir = if (outputDir.exists()) outputDir.toRealPath() else outputDir
-
-      for ((pathSpec, fileOutput) in output) {
-        checkPathSpec(pathSpec)
-        val resolvedPath = realOutputDir.resolve(pathSpec).normalize()
-        val realPath = if (resolvedPath.exists()) resolvedPath.toRealPath() else resolvedPath
-        if (!realPath.startsWith(realOutputDir)) {
-          throw CliException(
-            "Output file conflict: `output.files` entry `\"$pathSpec\"` in module `$moduleUri` resolves to file path `$realPath`, which is outside output directory `$realOutputDir`."
-          )
-        }
-        val previousOutput = writtenFiles[realPath]
-        if (previousOutput != null) {
-          throw CliException(
-            "Output file conflict: `output.files` entries `\"${previousOutput.pathSpec}\"` in module `${previousOutput.moduleUri}` and `\"$pathSpec\"` in module `$moduleUri` resolve to the same file path `$realPath`."
-          )
-        }
-        if (realPath.isDirectory()) {
-          throw CliException(
-            "Output file conflict: `output.files` entry `\"$pathSpec\"` in module `$moduleUri` resolves to file path `$realPath`, which is a directory."
+    }
+    val writtenFiles = mutableMapOf<Path, OutputFile>()
+    // modules evaluated one after another are written while their evaluator is still at hand;
+    // otherwise, read file contents before the evaluator is reused
+    val streaming = isStreaming(evaluator, outputDirs.size)
+    val evalModule: Evaluator.(ModuleSource) -> Map<String, (OutputStream) -> Unit> = { source ->
+      evaluateOutputFiles(source).mapValues { (_, fileOutput) ->
+        if (streaming) fileOutput::writeTo
+        else ByteArrayOutputStream().also(fileOutput::writeTo)::writeTo
+      }
+    }
+    evaluateModules(builder, evaluator, outputDirs.keys, evalModule) { results ->
+      for ((moduleUri, output) in results) {
+        val outputDir = outputDirs.getValue(moduleUri)
+        val realOutputDir = if (outputDir.exists()) outputDir.toRealPath() else outputDir
+
+        for ((pathSpec, writeFile) in output) {
+          checkPathSpec(pathSpec)
+          val resolvedPath = realOutputDir.resolve(pathSpec).normalize()
+          val realPath = if (resolvedPath.exists()) resolvedPath.toRealPath() else resolvedPath
+          if (!realPath.startsWith(realOutputDir)) {
+            throw CliException(
+              "Output file conflict: `output.files` entry `\"$pathSpec\"` in module `$moduleUri` resolves to file path `$realPath`, which is outside output directory `$realOutputDir`."
+            )
+          }
+          val previousOutput = writtenFiles[realPath]
+          if (previousOutput != null) {
+            throw CliException(
+              "Output file conflict: `output.files` entries `\"${previousOutput.pathSpec}\"` in module `${previousOutput.moduleUri}` and `\"$pathSpec\"` in module `$moduleUri` resolve to the same file path `$realPath`."
+            )
+          }
+          if (realPath.isDirectory()) {
+            throw CliException(
+              "Output file conflict: `output.files` entry `\"$pathSpec\"` in module `$moduleUri` resolves to file path `$realPath`, which is a directory."
+            )
+          }
+          writtenFiles[realPath] = OutputFile(pathSpec, moduleUri)
+          realPath.createParentDirectories()
+          val fileStream = DeferredOutputStream(null) { realPath.outputStream() }
+          fileStream.use(writeFile)
+          if (!fileStream.isWritten) realPath.writeBytes(byteArrayOf())
+          outputStream.writeText(
+            IoUtils.relativize(resolvedPath, currentWorkingDir).toString() +
+              IoUtils.getLineSeparator()
           )
+          outputStream.flush()
         }
-        writtenFiles[realPath] = OutputFile(pathSpec, moduleUri)
-        realPath.createParentDirectories()
-        realPath.writeBytes(fileOutput.bytes)
-        outputStream.writeText(
-          IoUtils.relativize(resolvedPath, currentWorkingDir).toString() +
-            IoUtils.getLineSeparator()
-        )
-        outputStream.flush()
       }
     }
   }
 }
+
+/**
+ * Opens the underlying stream with [open], and writes [separator] to it, once bytes are first
+ * written to this stream. Modules are evaluated while being written, and this keeps files untouched
+ * if evaluation fails.
+ */
+private class DeferredOutputStream(
+  private val separator: ByteArray?,
+  private val open: () -> OutputStream,
+) : OutputStream() {
+  private var delegate: OutputStream? = null
+
+  /** Whether any bytes have been written to this stream. */
+  val isWritten: Boolean
+    get() = delegate != null
+
+  override fun write(b: Int) {
+    getDelegate().write(b)
+  }
+
+  override fun write(b: ByteArray, off: Int, len: Int) {
+    if (len == 0) return
+    getDelegate().write(b, off, len)
+  }
+
+  override fun flush() {
+    delegate?.flush()
+  }
+
+  override fun close() {
+    delegate?.close()
+  }
+
+  private fun getDelegate(): OutputStream =
+    delegate
+      ?: open().also {
+        delegate = it
+        separator?.let(it::write)
+      }
+}
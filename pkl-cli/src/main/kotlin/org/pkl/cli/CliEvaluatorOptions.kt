@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -77,6 +77,40 @@ data class CliEvaluatorOptions(
    * If unset, the module's `output.bytes` property is evaluated.
    */
   val expression: String? = null,
+
+  /**
+   * The maximum number of source modules to evaluate in parallel.
+   *
+   * If greater than one, source modules are evaluated concurrently by up to [parallelism]
+   * evaluators, each of which evaluates several source modules. Outputs are still written in the
+   * order in which source modules are given.
+   */
+  val parallelism: Int = 1,
+
+  /**
+   * Whether to measure how much time evaluation spends in which source locations.
+   *
+   * If `true`, a report of the slowest source locations and modules is written to standard error
+   * once evaluation has completed.
+   */
+  val profile: Boolean = false,
+
+  /**
+   * The file path where the self time of each evaluated call stack is written in collapsed stack
+   * format, which is understood by flame graph tools. Implies [profile].
+   *
+   * Relative paths are resolved against [CliBaseOptions.workingDir].
+   */
+  val profileOutputPath: String? = null,
+
+  /**
+   * Whether to keep running after rendering, and re-render source modules whenever local files
+   * that they import or read change.
+   *
+   * Modules and resources that are not affected by a change stay cached. Runs until the evaluating
+   * thread is interrupted.
+   */
+  val watch: Boolean = false,
 ) {
 
   companion object {
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -62,7 +62,8 @@ constructor(
     )
 
   private fun render(): String {
-    val builder = evaluatorBuilder().setOutputFormat(options.outputFormat)
+    val builder =
+      evaluatorBuilder().setOutputFormat(options.outputFormat).setParseCache(options.parseCache)
     try {
       return builder
         .apply {
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,4 +31,11 @@ data class CliImportAnalyzerOptions(
    * These accept the same options as [CliEvaluatorOptions.outputFormat].
    */
   val outputFormat: String? = null,
+
+  /**
+   * Whether to cache the imports and reads of analyzed modules in the module cache directory.
+   *
+   * If enabled, subsequent runs skip parsing modules whose source text is unchanged.
+   */
+  val parseCache: Boolean = false,
 )
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,8 @@ package org.pkl.cli
 import org.pkl.commons.cli.CliBaseOptions
 import org.pkl.commons.cli.CliCommand
 import org.pkl.commons.cli.CliException
+import org.pkl.core.packages.Dependency.RemoteDependency
+import org.pkl.core.packages.PackagePrefetcher
 import org.pkl.core.packages.PackageResolver
 import org.pkl.core.packages.PackageUri
 
@@ -25,6 +27,7 @@ class CliPackageDownloader(
   baseOptions: CliBaseOptions,
   private val packageUris: List<PackageUri>,
   private val noTransitive: Boolean,
+  private val parallelism: Int = 1,
 ) : CliCommand(baseOptions) {
 
   override fun doRun() {
@@ -32,6 +35,14 @@ class CliPackageDownloader(
       throw CliException("Cannot download packages because no cache directory is specified.")
     }
     val packageResolver = PackageResolver.getInstance(securityManager, httpClient, moduleCacheDir)
+    PackagePrefetcher.prefetch(
+      packageUris.map { RemoteDependency(it, it.checksums) },
+      !noTransitive,
+      parallelism,
+    ) { packageUri, checksums ->
+      packageResolver.downloadPackage(packageUri, checksums, true)
+      packageResolver.getDependencyMetadata(packageUri, checksums)
+    }
     val errors = mutableMapOf<PackageUri, Throwable>()
     for (pkg in packageUris) {
       try {
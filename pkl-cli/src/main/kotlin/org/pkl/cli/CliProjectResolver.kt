@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ class CliProjectResolver(
   projectDirs: List<Path>,
   private val consoleWriter: Writer = System.out.writer(),
   private val errWriter: Writer = System.err.writer(),
+  private val parallelism: Int = 1,
 ) : CliProjectCommand(baseOptions, projectDirs) {
   override fun doRun() {
     for (projectFile in normalizedProjectFiles) {
@@ -43,7 +44,8 @@ class CliProjectResolver(
           httpClient,
           moduleCacheDir,
         )
-      val dependencies = ProjectDependenciesResolver(project, packageResolver, errWriter).resolve()
+      val dependencies =
+        ProjectDependenciesResolver(project, packageResolver, errWriter, parallelism).resolve()
       val depsFile =
         projectFile.parent.resolve(ProjectDependenciesManager.PKL_PROJECT_DEPS_FILENAME).toFile()
       depsFile.outputStream().use { dependencies.writeTo(it) }
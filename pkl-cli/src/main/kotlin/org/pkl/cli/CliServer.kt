@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,10 +21,14 @@ import org.pkl.commons.cli.CliException
 import org.pkl.core.messaging.ProtocolException
 import org.pkl.server.Server
 
-class CliServer(options: CliBaseOptions) : CliCommand(options) {
+class CliServer(
+  options: CliBaseOptions,
+  private val parallelism: Int = Server.defaultParallelism,
+  private val resourceCacheSize: Long = Long.MAX_VALUE,
+) : CliCommand(options) {
   override fun doRun(): Unit =
     try {
-      val server = Server.stream(System.`in`, System.out)
+      val server = Server.stream(System.`in`, System.out, parallelism, resourceCacheSize)
       server.use { it.start() }
     } catch (e: ProtocolException) {
       throw CliException(e.message!!)
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,10 @@
 package org.pkl.cli
 
 import java.io.Writer
+import java.net.URI
 import org.pkl.commons.cli.*
 import org.pkl.core.Closeables
+import org.pkl.core.Evaluator
 import org.pkl.core.EvaluatorBuilder
 import org.pkl.core.ModuleSource.uri
 import org.pkl.core.TestResults
@@ -58,22 +60,30 @@ constructor(
             .trimIndent()
         )
 
-    val evaluator = builder.build()
-    evaluator.use {
-      var failed = false
-      var isExampleWrittenFailure = true
-      val moduleNames = mutableSetOf<String>()
-      val reporter = SimpleReport(useColor)
-      val allTestResults = mutableListOf<TestResults>()
+    var failed = false
+    var isExampleWrittenFailure = true
+    val moduleNames = mutableSetOf<String>()
+    val reporter = SimpleReport(useColor)
+    val allTestResults = mutableListOf<TestResults>()
 
-      val junitDir = testOptions.junitDir
-      if (junitDir != null) {
-        junitDir.toFile().mkdirs()
-      }
+    val junitDir = testOptions.junitDir
+    if (junitDir != null) {
+      junitDir.toFile().mkdirs()
+    }
 
-      for ((idx, moduleUri) in sources.withIndex()) {
+    // test modules may run in parallel, but their results are reported in order
+    val runTest: Evaluator.(URI) -> Result<TestResults> = { moduleUri ->
+      try {
+        Result.success(evaluateTest(uri(moduleUri), testOptions.overwrite))
+      } catch (e: Exception) {
+        Result.failure(e)
+      }
+    }
+    builder.evaluateAll(sources, testOptions.parallelism, runTest) { outcomes ->
+      for ((idx, outcome) in outcomes.withIndex()) {
+        val (moduleUri, result) = outcome
         try {
-          val results = evaluator.evaluateTest(uri(moduleUri), testOptions.overwrite)
+          val results = result.getOrThrow()
           allTestResults.add(results)
           if (!failed) {
             failed = results.failed()
@@ -113,18 +123,18 @@ constructor(
           failed = true
         }
       }
-      if (testOptions.junitAggregateReports && junitDir != null) {
-        val fileName = "${testOptions.junitAggregateSuiteName}.xml"
-        JUnitReport(testOptions.junitAggregateSuiteName)
-          .summarizeToPath(allTestResults, junitDir.resolve(fileName))
-      }
-      consoleWriter.append('\n')
-      reporter.summarize(allTestResults, consoleWriter)
-      consoleWriter.flush()
-      if (failed) {
-        val exitCode = if (isExampleWrittenFailure) 10 else 1
-        throw CliTestException(ErrorMessages.create("testsFailed"), exitCode)
-      }
+    }
+    if (testOptions.junitAggregateReports && junitDir != null) {
+      val fileName = "${testOptions.junitAggregateSuiteName}.xml"
+      JUnitReport(testOptions.junitAggregateSuiteName)
+        .summarizeToPath(allTestResults, junitDir.resolve(fileName))
+    }
+    consoleWriter.append('\n')
+    reporter.summarize(allTestResults, consoleWriter)
+    consoleWriter.flush()
+    if (failed) {
+      val exitCode = if (isExampleWrittenFailure) 10 else 1
+      throw CliTestException(ErrorMessages.create("testsFailed"), exitCode)
     }
   }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.cli
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import org.pkl.core.Evaluator
+import org.pkl.core.EvaluatorBuilder
+
+/**
+ * Evaluates each of [inputs] with [evaluate], and passes the results to [consume] in the order of
+ * [inputs].
+ *
+ * If [parallelism] is greater than one, inputs are evaluated concurrently by up to [parallelism]
+ * threads. Each thread builds one evaluator and reuses it for all inputs it evaluates, so that
+ * modules and resources shared by inputs are loaded once per thread rather than once per input.
+ * Otherwise, inputs are evaluated one after another with the same evaluator, as [consume] iterates
+ * over the results.
+ *
+ * An exception thrown by [evaluate] is rethrown when [consume] reaches the corresponding result.
+ */
+internal fun <S, T> EvaluatorBuilder.evaluateAll(
+  inputs: List<S>,
+  parallelism: Int,
+  evaluate: Evaluator.(S) -> T,
+  consume: (Sequence<Pair<S, T>>) -> Unit,
+) {
+  val threadCount = parallelism.coerceAtMost(inputs.size)
+  if (threadCount <= 1) {
+    build().use { evaluator ->
+      consume(inputs.asSequence().map { input -> input to evaluate(evaluator, input) })
+    }
+    return
+  }
+
+  val executor = Executors.newFixedThreadPool(threadCount)
+  val evaluators = mutableListOf<Evaluator>()
+  var isClosed = false
+  val threadEvaluator =
+    ThreadLocal.withInitial {
+      synchronized(evaluators) {
+        check(!isClosed) { "Evaluation has been cancelled." }
+        build().also { evaluators.add(it) }
+      }
+    }
+  try {
+    val results =
+      inputs.map { input ->
+        input to executor.submit(Callable { evaluate(threadEvaluator.get(), input) })
+      }
+    consume(results.asSequence().map { (input, result) -> input to result.getResult() })
+  } finally {
+    executor.shutdownNow()
+    synchronized(evaluators) {
+      isClosed = true
+      evaluators.forEach { it.close() }
+    }
+  }
+}
+
+private fun <T> Future<T>.getResult(): T =
+  try {
+    get()
+  } catch (e: ExecutionException) {
+    throw e.cause ?: e
+  }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.pkl.cli.commands
 import com.github.ajalt.clikt.core.Context
 import com.github.ajalt.clikt.core.NoOpCliktCommand
 import com.github.ajalt.clikt.core.subcommands
+import com.github.ajalt.clikt.parameters.options.flag
 import com.github.ajalt.clikt.parameters.options.option
 import com.github.ajalt.clikt.parameters.types.path
 import java.nio.file.Path
@@ -48,12 +49,20 @@ class AnalyzeImportsCommand : ModulesCommand(name = "imports", helpLink = helpLi
       .path()
       .single()
 
+  private val parseCache: Boolean by
+    option(
+        names = arrayOf("--parse-cache"),
+        help = "Cache the imports of unchanged modules in the module cache directory.",
+      )
+      .flag()
+
   override fun run() {
     val options =
       CliImportAnalyzerOptions(
         base = baseOptions.baseOptions(modules, projectOptions),
         outputFormat = baseOptions.format,
         outputPath = outputPath,
+        parseCache = parseCache,
       )
     CliImportAnalyzer(options).run()
   }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,8 +19,11 @@ import com.github.ajalt.clikt.parameters.arguments.argument
 import com.github.ajalt.clikt.parameters.arguments.convert
 import com.github.ajalt.clikt.parameters.arguments.multiple
 import com.github.ajalt.clikt.parameters.groups.provideDelegate
+import com.github.ajalt.clikt.parameters.options.default
 import com.github.ajalt.clikt.parameters.options.flag
 import com.github.ajalt.clikt.parameters.options.option
+import com.github.ajalt.clikt.parameters.options.validate
+import com.github.ajalt.clikt.parameters.types.int
 import org.pkl.cli.CliPackageDownloader
 import org.pkl.commons.cli.commands.BaseCommand
 import org.pkl.commons.cli.commands.ProjectOptions
@@ -59,11 +62,23 @@ class DownloadPackageCommand : BaseCommand(name = "download-package", helpLink =
       .single()
       .flag()
 
+  private val parallelism: Int by
+    option(
+        names = arrayOf("--parallelism"),
+        metavar = "count",
+        help = "Maximum number of packages to fetch in parallel. (default: 1)",
+      )
+      .single()
+      .int()
+      .default(1)
+      .validate { if (it < 1) fail("Option must be a positive number.") }
+
   override fun run() {
     CliPackageDownloader(
         baseOptions.baseOptions(emptyList(), projectOptions),
         packageUris,
         noTransitive,
+        parallelism,
       )
       .run()
   }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import com.github.ajalt.clikt.parameters.options.default
 import com.github.ajalt.clikt.parameters.options.flag
 import com.github.ajalt.clikt.parameters.options.option
 import com.github.ajalt.clikt.parameters.options.validate
+import com.github.ajalt.clikt.parameters.types.int
 import org.pkl.cli.CliEvaluator
 import org.pkl.cli.CliEvaluatorOptions
 import org.pkl.commons.cli.commands.ModulesCommand
@@ -70,6 +71,42 @@ class EvalCommand : ModulesCommand(name = "eval", helpLink = helpLink) {
         }
       }
 
+  private val parallelism: Int by
+    option(
+        names = arrayOf("--parallelism"),
+        metavar = "count",
+        help = "Maximum number of source modules to evaluate in parallel. (default: 1)",
+      )
+      .single()
+      .int()
+      .default(1)
+      .validate { if (it < 1) fail("Option must be a positive number.") }
+
+  private val profile: Boolean by
+    option(
+        names = arrayOf("--profile"),
+        help =
+          "Report the source locations and modules that evaluation spent the most time in to standard error.",
+      )
+      .flag()
+
+  private val profileOutputPath: String? by
+    option(
+        names = arrayOf("--profile-output-path"),
+        metavar = "path",
+        help =
+          "File path where call stacks and their self time are written in collapsed stack format for flame graph tools. Implies --profile.",
+        completionCandidates = CompletionCandidates.Path,
+      )
+      .single()
+
+  private val watch: Boolean by
+    option(
+        names = arrayOf("--watch"),
+        help = "Re-render modules whenever local files that they import or read change.",
+      )
+      .flag()
+
   // hidden option used by the native tests
   private val testMode: Boolean by
     option(names = arrayOf("--test-mode"), help = "Internal test mode", hidden = true).flag()
@@ -83,6 +120,10 @@ class EvalCommand : ModulesCommand(name = "eval", helpLink = helpLink) {
         moduleOutputSeparator = moduleOutputSeparator,
         multipleFileOutputPath = multipleFileOutputPath,
         expression = expression ?: CliEvaluatorOptions.defaults.expression,
+        parallelism = parallelism,
+        profile = profile,
+        profileOutputPath = profileOutputPath,
+        watch = watch,
       )
     CliEvaluator(options).run()
   }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,8 @@ import com.github.ajalt.clikt.parameters.groups.provideDelegate
 import com.github.ajalt.clikt.parameters.options.default
 import com.github.ajalt.clikt.parameters.options.flag
 import com.github.ajalt.clikt.parameters.options.option
+import com.github.ajalt.clikt.parameters.options.validate
+import com.github.ajalt.clikt.parameters.types.int
 import com.github.ajalt.clikt.parameters.types.path
 import java.nio.file.Path
 import org.pkl.cli.CliProjectPackager
@@ -65,8 +67,24 @@ class ResolveCommand : BaseCommand(name = "resolve", helpLink = helpLink) {
   private val projectDirs: List<Path> by
     argument("dir", "The project directories to resolve dependencies for").path().multiple()
 
+  private val parallelism: Int by
+    option(
+        names = arrayOf("--parallelism"),
+        metavar = "count",
+        help = "Maximum number of packages to fetch in parallel. (default: 1)",
+      )
+      .single()
+      .int()
+      .default(1)
+      .validate { if (it < 1) fail("Option must be a positive number.") }
+
   override fun run() {
-    CliProjectResolver(baseOptions.baseOptions(emptyList()), projectDirs).run()
+    CliProjectResolver(
+        baseOptions.baseOptions(emptyList()),
+        projectDirs,
+        parallelism = parallelism,
+      )
+      .run()
   }
 }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,15 @@ package org.pkl.cli.commands
 
 import com.github.ajalt.clikt.core.CliktCommand
 import com.github.ajalt.clikt.core.Context
+import com.github.ajalt.clikt.parameters.options.default
+import com.github.ajalt.clikt.parameters.options.option
+import com.github.ajalt.clikt.parameters.options.validate
+import com.github.ajalt.clikt.parameters.types.int
+import com.github.ajalt.clikt.parameters.types.long
 import org.pkl.cli.CliServer
 import org.pkl.commons.cli.CliBaseOptions
+import org.pkl.commons.cli.commands.single
+import org.pkl.server.Server
 
 class ServerCommand : CliktCommand(name = "server") {
   override fun help(context: Context) =
@@ -26,7 +33,31 @@ class ServerCommand : CliktCommand(name = "server") {
 
   override fun helpEpilog(context: Context) = "For more information, visit $helpLink"
 
+  private val parallelism: Int by
+    option(
+        names = arrayOf("--parallelism"),
+        metavar = "count",
+        help =
+          "Maximum number of evaluators that evaluate in parallel. (default: number of available processors)",
+      )
+      .single()
+      .int()
+      .default(Server.defaultParallelism)
+      .validate { if (it < 1) fail("Option must be a positive number.") }
+
+  private val resourceCacheSize: Long by
+    option(
+        names = arrayOf("--resource-cache-size"),
+        metavar = "bytes",
+        help =
+          "Maximum number of bytes of resource contents cached per evaluator. Least recently read resources are evicted first. (default: unlimited)",
+      )
+      .single()
+      .long()
+      .default(Long.MAX_VALUE)
+      .validate { if (it < 0) fail("Option must not be a negative number.") }
+
   override fun run() {
-    CliServer(CliBaseOptions()).run()
+    CliServer(CliBaseOptions(), parallelism, resourceCacheSize).run()
   }
 }
@@ -20,6 +20,7 @@ import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo
 import com.github.tomakehurst.wiremock.junit5.WireMockTest
 import java.io.ByteArrayInputStream
 import java.io.ByteArrayOutputStream
+import java.io.StringWriter
 import java.net.ServerSocket
 import java.net.URI
 import java.nio.charset.StandardCharsets
@@ -494,6 +495,133 @@ result = someLib.x
     assertThat(output).isEqualTo("x = 42\n---\ny = 22\n")
   }
 
+  @Test
+  fun `write output to console in parallel`() {
+    val modules = (1..5).map { writePklFile("mod$it.pkl", "x = $it + $it") }
+
+    val output =
+      evalToConsole(CliEvaluatorOptions(CliBaseOptions(sourceModules = modules), parallelism = 3))
+
+    assertThat(output).isEqualTo((1..5).joinToString("---\n") { "x = ${it + it}\n" })
+  }
+
+  @Test
+  fun `write multiple file output in parallel`() {
+    val modules =
+      listOf("foo", "bar").map {
+        writePklFile(
+          "$it.pkl",
+          """
+          output {
+            files {
+              ["$it.txt"] { text = "$it" }
+            }
+          }
+          """
+            .trimIndent(),
+        )
+      }
+    val options =
+      CliEvaluatorOptions(
+        CliBaseOptions(sourceModules = modules, workingDir = tempDir),
+        multipleFileOutputPath = "output",
+        parallelism = 2,
+      )
+    CliEvaluator(options).run()
+
+    checkOutputFile(tempDir.resolve("output/foo.txt"), "foo.txt", "foo")
+    checkOutputFile(tempDir.resolve("output/bar.txt"), "bar.txt", "bar")
+  }
+
+  @Test
+  fun `profile evaluation`() {
+    val module =
+      writePklFile(
+        "test.pkl",
+        """
+        function fib(n: Int): Int = if (n < 2) n else fib(n - 1) + fib(n - 2)
+        x = fib(15)
+        """
+          .trimIndent(),
+      )
+    val options =
+      CliEvaluatorOptions(
+        CliBaseOptions(sourceModules = listOf(module), workingDir = tempDir),
+        profileOutputPath = "profile/test.folded",
+      )
+    val stdout = ByteArrayOutputStream()
+    val stderr = StringWriter()
+    CliEvaluator(options, ByteArrayInputStream(byteArrayOf()), stdout, stderr).run()
+
+    assertThat(stdout.toString(StandardCharsets.UTF_8)).isEqualTo("x = 610\n")
+    assertThat(stderr.toString()).contains("Self (ms)", "fib", "Module", "test.pkl")
+    val stacks = tempDir.resolve("profile/test.folded").readLines()
+    assertThat(stacks).isNotEmpty.allMatch { it.matches(".+ [1-9][0-9]*".toRegex()) }
+    assertThat(stacks).anyMatch { it.contains(";") && it.contains("fib") }
+  }
+
+  @Test
+  fun `watch re-renders modules affected by changed files`() {
+    writePklFile("lib.pkl", "x = 1")
+    val module =
+      writePklFile(
+        "test.pkl",
+        """
+        import "lib.pkl"
+        y = lib.x
+        """
+          .trimIndent(),
+      )
+    val otherModule = writePklFile("other.pkl", "z = 1")
+    val options =
+      CliEvaluatorOptions(
+        CliBaseOptions(sourceModules = listOf(module, otherModule), workingDir = tempDir),
+        outputPath = "out/%{moduleName}.pcf",
+        watch = true,
+      )
+    val stderr = StringWriter()
+    val watcher = Thread {
+      CliEvaluator(options, ByteArrayInputStream(byteArrayOf()), ByteArrayOutputStream(), stderr)
+        .run()
+    }
+    watcher.start()
+    try {
+      val output = tempDir.resolve("out/test.pcf")
+      val otherOutput = tempDir.resolve("out/other.pcf")
+      awaitCondition { output.exists() && output.readString() == "y = 1\n" }
+      awaitCondition { otherOutput.exists() && otherOutput.readString() == "z = 1\n" }
+      val otherOutputModified = otherOutput.getLastModifiedTime()
+
+      tempDir.resolve("lib.pkl").writeString("x = 2")
+      awaitCondition { output.readString() == "y = 2\n" }
+      assertThat(otherOutput.getLastModifiedTime()).isEqualTo(otherOutputModified)
+
+      tempDir.resolve("lib.pkl").writeString("x = ")
+      awaitCondition { stderr.toString().contains("lib.pkl") }
+      assertThat(watcher.isAlive).isTrue
+    } finally {
+      watcher.interrupt()
+      watcher.join()
+    }
+  }
+
+  @Test
+  fun `watch cannot be combined with parallelism`() {
+    val module = writePklFile("test.pkl", "x = 1")
+    val e =
+      assertThrows<CliException> {
+        CliEvaluator(
+            CliEvaluatorOptions(
+              CliBaseOptions(sourceModules = listOf(module), workingDir = tempDir),
+              watch = true,
+              parallelism = 2,
+            )
+          )
+          .run()
+      }
+    assertThat(e).hasMessageContaining("`--parallelism`")
+  }
+
   @Test
   fun `evaluation timeout`() {
     val sourceFiles =
@@ -1771,6 +1899,15 @@ result = someLib.x
     return writer.toString(StandardCharsets.UTF_8)
   }
 
+  private fun awaitCondition(condition: () -> Boolean) {
+    // file watching is polling-based on some platforms
+    val deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos()
+    while (!condition()) {
+      assertThat(System.nanoTime()).describedAs("condition not met in time").isLessThan(deadline)
+      Thread.sleep(10)
+    }
+  }
+
   private fun checkOutputFile(file: Path, name: String, contents: String) {
     assertThat(file).isRegularFile.hasFileName(name)
     assertThat(file.readString().trim()).isEqualTo(contents.trim())
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -233,4 +233,30 @@ class CliPackageDownloaderTest {
     assertThat(tempDir.resolve("package-2/localhost(3a)0/fruit@1.0.5/fruit@1.0.5.zip")).exists()
     assertThat(tempDir.resolve("package-2/localhost(3a)0/fruit@1.0.5/fruit@1.0.5.json")).exists()
   }
+
+  @Test
+  fun `download packages in parallel, including transitive dependencies`(@TempDir tempDir: Path) {
+    CliPackageDownloader(
+        baseOptions =
+          CliBaseOptions(
+            moduleCacheDir = tempDir,
+            caCertificates = listOf(FileTestUtils.selfSignedCertificate),
+            testPort = server.port,
+          ),
+        packageUris =
+          listOf(
+            PackageUri("package://localhost:0/birds@0.5.0"),
+            PackageUri("package://localhost:0/fruit@1.1.0"),
+          ),
+        noTransitive = false,
+        parallelism = 4,
+      )
+      .run()
+    assertThat(tempDir.resolve("package-2/localhost(3a)0/birds@0.5.0/birds@0.5.0.zip")).exists()
+    assertThat(tempDir.resolve("package-2/localhost(3a)0/birds@0.5.0/birds@0.5.0.json")).exists()
+    assertThat(tempDir.resolve("package-2/localhost(3a)0/fruit@1.0.5/fruit@1.0.5.zip")).exists()
+    assertThat(tempDir.resolve("package-2/localhost(3a)0/fruit@1.0.5/fruit@1.0.5.json")).exists()
+    assertThat(tempDir.resolve("package-2/localhost(3a)0/fruit@1.1.0/fruit@1.1.0.zip")).exists()
+    assertThat(tempDir.resolve("package-2/localhost(3a)0/fruit@1.1.0/fruit@1.1.0.json")).exists()
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -121,6 +121,62 @@ class CliProjectResolverTest {
       )
   }
 
+  @Test
+  fun `basic project, fetching packages in parallel`(@TempDir tempDir: Path) {
+    tempDir.writeFile(
+      "PklProject",
+      """
+        amends "pkl:Project"
+
+        dependencies {
+          ["birds"] {
+            uri = "package://localhost:0/birds@0.5.0"
+          }
+        }
+      """
+        .trimIndent(),
+    )
+    CliProjectResolver(
+        CliBaseOptions(
+          workingDir = tempDir,
+          caCertificates = listOf(FileTestUtils.selfSignedCertificate),
+          testPort = packageServer.port,
+          noCache = true,
+        ),
+        listOf(tempDir),
+        consoleWriter = StringWriter(),
+        errWriter = StringWriter(),
+        parallelism = 4,
+      )
+      .run()
+    val expectedOutput = tempDir.resolve("PklProject.deps.json")
+    assertThat(expectedOutput)
+      .hasContent(
+        """
+      {
+        "schemaVersion": 1,
+        "resolvedDependencies": {
+          "package://localhost:0/birds@0": {
+            "type": "remote",
+            "uri": "projectpackage://localhost:0/birds@0.5.0",
+            "checksums": {
+              "sha256": "${PackageServer.BIRDS_SHA}"
+            }
+          },
+          "package://localhost:0/fruit@1": {
+            "type": "remote",
+            "uri": "projectpackage://localhost:0/fruit@1.0.5",
+            "checksums": {
+              "sha256": "${PackageServer.FRUIT_SHA}"
+            }
+          }
+        }
+      }
+    """
+          .trimIndent()
+      )
+  }
+
   @Test
   fun `basic project, inferred from working dir`(@TempDir tempDir: Path) {
     tempDir.writeFile(
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -553,6 +553,41 @@ class CliTestRunnerTest {
     assertThat(tempDir.resolve("test2.xml")).doesNotExist()
   }
 
+  @Test
+  fun `CliTestRunner runs test modules in parallel`(@TempDir tempDir: Path) {
+    val inputs =
+      (1..4).map { idx ->
+        val code =
+          """
+          amends "pkl:test"
+
+          facts {
+            ["fact$idx"] {
+              $idx == $idx
+            }
+          }
+          """
+            .trimIndent()
+        tempDir.resolve("test$idx.pkl").writeString(code).toUri()
+      }
+    val out = StringWriter()
+    val err = StringWriter()
+    val opts = CliBaseOptions(sourceModules = inputs, settings = URI("pkl:settings"))
+    val testOpts = CliTestOptions(junitDir = tempDir, junitAggregateReports = true, parallelism = 2)
+    val runner = CliTestRunner(opts, testOpts, consoleWriter = out, errWriter = err)
+    runner.run()
+
+    assertThat(out.toString().lines().filter { it.startsWith("module ") })
+      .containsExactly("module test1", "module test2", "module test3", "module test4")
+    assertThat(err.toString()).isEqualTo("")
+    val junitReport = tempDir.resolve("pkl-tests.xml").readString()
+    assertThat(junitReport)
+      .containsPattern("""<testcase classname="test1.facts" name="fact1" time="\d+\.\d{3}">""")
+    val suiteNames =
+      Regex("<testsuite name=\"(\\w+)\"").findAll(junitReport).map { it.groupValues[1] }.toList()
+    assertThat(suiteNames).containsExactly("test1", "test2", "test3", "test4")
+  }
+
   @Test
   fun `no source modules specified has same message as pkl eval`() {
     val e1 = assertThrows<CliException> { CliTestRunner(CliBaseOptions(), CliTestOptions()).run() }
@@ -698,6 +733,7 @@ class CliTestRunnerTest {
     return replace(tmpDir.toFile().toURI().toString(), "/tempDir/")
       .replace(tmpDir.toUri().toString(), "/tempDir/")
       .replace(Regex("line \\d+"), "line xx")
+      .replace(Regex(" time=\"[\\d.]+\""), "")
   }
 
   private fun noopWriter(): Writer =
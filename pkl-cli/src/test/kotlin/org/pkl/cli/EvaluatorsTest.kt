@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.cli
+
+import java.net.URI
+import java.util.Optional
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.regex.Pattern
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.pkl.core.EvaluatorBuilder
+import org.pkl.core.ModuleSource
+import org.pkl.core.SecurityManager
+import org.pkl.core.module.ModuleKey
+import org.pkl.core.module.ModuleKeyFactory
+import org.pkl.core.module.ResolvedModuleKey
+import org.pkl.core.module.ResolvedModuleKeys
+
+class EvaluatorsTest {
+  private class CountingModuleKeyFactory : ModuleKeyFactory {
+    val libLoadCount = AtomicInteger()
+
+    override fun create(uri: URI): Optional<ModuleKey> =
+      if (uri.scheme == "test") Optional.of(CountingModuleKey(uri)) else Optional.empty()
+
+    private inner class CountingModuleKey(private val uri: URI) : ModuleKey {
+      override fun hasHierarchicalUris(): Boolean = false
+
+      override fun isGlobbable(): Boolean = false
+
+      override fun getUri(): URI = uri
+
+      override fun resolve(securityManager: SecurityManager): ResolvedModuleKey {
+        val text =
+          if (uri.schemeSpecificPart == "lib") {
+            libLoadCount.incrementAndGet()
+            "x = 1"
+          } else {
+            "import \"test:lib\"\ny = lib.x + ${uri.schemeSpecificPart.removePrefix("main")}"
+          }
+        return ResolvedModuleKeys.virtual(this, uri, text, true)
+      }
+    }
+  }
+
+  @Test
+  fun `parallel evaluation loads shared imports once per thread`() {
+    val factory = CountingModuleKeyFactory()
+    val builder =
+      EvaluatorBuilder.preconfigured()
+        .addModuleKeyFactory(factory)
+        .setAllowedModules(listOf(Pattern.compile("pkl:"), Pattern.compile("test:")))
+    val inputs = (1..20).map { URI("test:main$it") }
+
+    val outputs = mutableListOf<String>()
+    builder.evaluateAll(inputs, 4, { evaluateOutputText(ModuleSource.uri(it)) }) { results ->
+      results.forEach { (_, output) -> outputs.add(output) }
+    }
+
+    assertThat(outputs).isEqualTo((1..20).map { "y = ${1 + it}\n" })
+    assertThat(factory.libLoadCount.get()).isBetween(1, 4)
+  }
+}
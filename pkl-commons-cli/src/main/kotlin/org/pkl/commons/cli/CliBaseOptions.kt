@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -152,6 +152,12 @@ data class CliBaseOptions(
 
   /** Defines options for the formatting of calls to the trace() method. */
   val traceMode: TraceMode? = null,
+
+  /**
+   * Whether to never make network requests, and to answer HTTP(S) requests with cached responses
+   * only.
+   */
+  val offline: Boolean = false,
 ) {
 
   companion object {
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -126,7 +126,10 @@ class BaseOptions : OptionGroup() {
       .path()
 
   val cacheDir: Path? by
-    option(names = arrayOf("--cache-dir"), help = "The cache directory for storing packages.")
+    option(
+        names = arrayOf("--cache-dir"),
+        help = "The cache directory for storing packages and HTTP(S) responses.",
+      )
       .single()
       .path()
 
@@ -159,7 +162,18 @@ class BaseOptions : OptionGroup() {
       .default(Color.AUTO)
 
   val noCache: Boolean by
-    option(names = arrayOf("--no-cache"), help = "Disable caching of packages")
+    option(
+        names = arrayOf("--no-cache"),
+        help = "Disable caching of packages and HTTP(S) responses",
+      )
+      .single()
+      .flag(default = false)
+
+  val offline: Boolean by
+    option(
+        names = arrayOf("--offline"),
+        help = "Disable network access and answer HTTP(S) requests from the cache",
+      )
       .single()
       .flag(default = false)
 
@@ -343,6 +357,7 @@ class BaseOptions : OptionGroup() {
       externalModuleReaders = externalModuleReaders,
       externalResourceReaders = externalResourceReaders,
       traceMode = traceMode,
+      offline = offline,
     )
   }
 }
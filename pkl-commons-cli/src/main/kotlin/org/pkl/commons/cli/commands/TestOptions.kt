@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,8 @@ import com.github.ajalt.clikt.parameters.groups.OptionGroup
 import com.github.ajalt.clikt.parameters.options.default
 import com.github.ajalt.clikt.parameters.options.flag
 import com.github.ajalt.clikt.parameters.options.option
+import com.github.ajalt.clikt.parameters.options.validate
+import com.github.ajalt.clikt.parameters.types.int
 import com.github.ajalt.clikt.parameters.types.path
 import java.nio.file.Path
 import org.pkl.commons.cli.CliTestOptions
@@ -51,7 +53,24 @@ class TestOptions : OptionGroup() {
   private val overwrite: Boolean by
     option(names = arrayOf("--overwrite"), help = "Force generation of expected examples.").flag()
 
+  private val parallelism: Int by
+    option(
+        names = arrayOf("--parallelism"),
+        metavar = "count",
+        help = "Maximum number of test modules to run in parallel. (default: 1)",
+      )
+      .single()
+      .int()
+      .default(1)
+      .validate { if (it < 1) fail("Option must be a positive number.") }
+
   val cliTestOptions: CliTestOptions by lazy {
-    CliTestOptions(junitReportDir, overwrite, junitAggregateReports, junitAggregateSuiteName)
+    CliTestOptions(
+      junitReportDir,
+      overwrite,
+      junitAggregateReports,
+      junitAggregateSuiteName,
+      parallelism,
+    )
   }
 }
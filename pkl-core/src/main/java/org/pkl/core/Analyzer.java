@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -120,7 +120,11 @@ public class Analyzer {
                       ? null
                       : new ProjectDependenciesManager(
                           projectDependencies, moduleResolver, securityManager),
-                  traceMode));
+                  traceMode,
+                  false,
+                  null,
+                  null,
+                  null));
         });
   }
 }
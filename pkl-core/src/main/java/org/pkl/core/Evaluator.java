@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,7 +15,12 @@
  */
 package org.pkl.core;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import org.pkl.core.runtime.VmEvalException;
 
 /**
@@ -24,8 +29,8 @@ import org.pkl.core.runtime.VmEvalException;
  *
  * <p>Evaluated modules, and modules imported by them, are cached based on their origin. This is
  * important to guarantee consistent evaluation results, for example when the same module is used by
- * multiple other modules. To reset the cache, {@link #close()} the current instance and create a
- * new one.
+ * multiple other modules. To discard cached modules affected by a change, call {@link
+ * #invalidate}. To reset the cache, {@link #close()} the current instance and create a new one.
  *
  * <p>Construct an evaluator through {@link EvaluatorBuilder}.
  */
@@ -62,6 +67,24 @@ public interface Evaluator extends AutoCloseable {
    */
   byte[] evaluateOutputBytes(ModuleSource moduleSource);
 
+  /**
+   * Evaluates a module's {@code output.bytes} property, writing the result to {@code
+   * outputStream}.
+   *
+   * <p>If {@code output.bytes} has its default value, the UTF-8 encoding of {@code output.text},
+   * then {@code output.text} is encoded while being written, and {@code output.bytes} is never
+   * materialized. For large outputs, this uses considerably less memory than {@link
+   * #evaluateOutputBytes}.
+   *
+   * <p>{@code outputStream} is flushed, but not closed.
+   *
+   * @throws PklException if an error occurs during evaluation
+   * @throws IOException if an I/O error occurs while writing to {@code outputStream}
+   * @throws IllegalStateException if this evaluator has already been closed
+   * @since 0.31.0
+   */
+  void evaluateOutputTo(ModuleSource moduleSource, OutputStream outputStream) throws IOException;
+
   /**
    * Evaluates a module's {@code output.value} property.
    *
@@ -181,6 +204,25 @@ public interface Evaluator extends AutoCloseable {
    */
   byte[] evaluateExpressionPklBinary(ModuleSource moduleSource, String expression);
 
+  /**
+   * Evaluates the Pkl expression represented as {@code expression}, writing the <code>pkl-binary
+   * </code>-encoded representation of the result to {@code outputStream}.
+   *
+   * <p>Unlike {@link #evaluateExpressionPklBinary(ModuleSource, String)}, the encoded result is
+   * written straight from the encoder's buffers, and is never copied into a single byte array.
+   * The arrays passed to {@code outputStream} are never modified once written. Therefore, {@code
+   * outputStream} may retain them instead of copying them.
+   *
+   * <p>{@code outputStream} is flushed, but not closed.
+   *
+   * @throws PklException if an error occurs during evaluation
+   * @throws IOException if an I/O error occurs while writing to {@code outputStream}
+   * @throws IllegalStateException if this evaluator has already been closed
+   * @since 0.31.0
+   */
+  void evaluateExpressionPklBinary(
+      ModuleSource moduleSource, String expression, OutputStream outputStream) throws IOException;
+
   /**
    * Evaluates the Pkl expression, returning the stringified result.
    *
@@ -224,6 +266,46 @@ public interface Evaluator extends AutoCloseable {
    */
   TestResults evaluateTest(ModuleSource moduleSource, boolean overwrite);
 
+  /**
+   * Discards cached modules and resources affected by changes to the modules and resources with the
+   * given URIs, so that subsequent evaluations observe their current contents.
+   *
+   * <p>A cached module is affected if it is one of the changed modules, or directly or transitively
+   * imports a changed module or reads a changed resource. All other cached modules are kept and
+   * reused by subsequent evaluations. URIs must be absolute and match the URIs that modules and
+   * resources were imported or read with, or the URIs they resolved to.
+   *
+   * <p>Returns the URIs of the modules that were discarded.
+   *
+   * @throws IllegalStateException if this evaluator has already been closed
+   * @since 0.31.0
+   */
+  Set<URI> invalidate(Collection<URI> changedUris);
+
+  /**
+   * Returns the URIs of the modules imported and resources read by the modules cached by this
+   * evaluator, including the URIs they resolved to.
+   *
+   * <p>This is the set of URIs whose changes may need to be passed to {@link #invalidate}. For
+   * example, a file watcher can watch the local files among them.
+   *
+   * @throws IllegalStateException if this evaluator has already been closed
+   * @since 0.31.0
+   */
+  Set<URI> getDependencyUris();
+
+  /**
+   * Returns statistics of this evaluator's resource cache, such as the number of bytes it holds and
+   * the ratio of resource reads it served.
+   *
+   * <p>Unlike other methods, this method can be called while an evaluation is in progress, for
+   * example to report metrics of a long-lived evaluator.
+   *
+   * @see EvaluatorBuilder#setResourceCacheSize
+   * @since 0.31.0
+   */
+  ResourceCacheStats getResourceCacheStats();
+
   /**
    * Releases all resources held by this evaluator. If an {@code evaluate} method is currently
    * executing, this method blocks until cancellation of that execution has completed.
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -70,6 +70,18 @@ public final class EvaluatorBuilder {
 
   private TraceMode traceMode = TraceMode.COMPACT;
 
+  private boolean sharedModuleCache = false;
+
+  private boolean parseCache = false;
+
+  private int forceParallelism = 1;
+
+  private int prefetchParallelism = 0;
+
+  private long resourceCacheSize = Long.MAX_VALUE;
+
+  private @Nullable Profiler profiler;
+
   private EvaluatorBuilder() {}
 
   /**
@@ -468,6 +480,135 @@ public final class EvaluatorBuilder {
     return this.traceMode;
   }
 
+  /**
+   * Sets whether parsed standard library and package modules are shared with other evaluators.
+   *
+   * <p>If enabled, such modules are parsed once per process instead of once per evaluator. Module
+   * objects are never shared; each evaluator still initializes its own instance of every module.
+   */
+  public EvaluatorBuilder setSharedModuleCache(boolean sharedModuleCache) {
+    this.sharedModuleCache = sharedModuleCache;
+    return this;
+  }
+
+  /** Returns whether parsed standard library and package modules are shared across evaluators. */
+  public boolean getSharedModuleCache() {
+    return sharedModuleCache;
+  }
+
+  /**
+   * Sets whether the results of parsing modules for import analysis are cached on disk.
+   *
+   * <p>If enabled, and a {@linkplain #setModuleCacheDir module cache directory} is set, the imports
+   * and reads of each analyzed module are stored in the module cache directory, keyed by the hash
+   * of the module's source text. Subsequent analyses of unchanged modules, even in other processes,
+   * skip parsing these modules.
+   */
+  public EvaluatorBuilder setParseCache(boolean parseCache) {
+    this.parseCache = parseCache;
+    return this;
+  }
+
+  /** Returns whether the results of parsing modules for import analysis are cached on disk. */
+  public boolean getParseCache() {
+    return parseCache;
+  }
+
+  /**
+   * Sets the number of threads that {@link Evaluator#evaluate} and {@link
+   * Evaluator#evaluateOutputValue} use to force large objects. Defaults to {@code 1}.
+   *
+   * <p>If greater than {@code 1}, the members of the largest object with at least a thousand
+   * members, either the evaluated value itself or one of its members, are split into chunks. Each
+   * additional thread evaluates the module with its own helper evaluator and forces one chunk.
+   * Helper evaluators are created when first needed and live as long as the evaluator that created
+   * them. They share this builder's module key factories, resource readers, and logger, which must
+   * therefore be thread-safe.
+   *
+   * <p>Errors are reported deterministically: the first member that fails to evaluate, in the order
+   * that members are exported in, determines the reported error.
+   */
+  public EvaluatorBuilder setForceParallelism(int forceParallelism) {
+    if (forceParallelism < 1) {
+      throw new IllegalArgumentException(
+          "Force parallelism must be positive, but was " + forceParallelism + ".");
+    }
+    this.forceParallelism = forceParallelism;
+    return this;
+  }
+
+  /** Returns the number of threads used to force large objects. */
+  public int getForceParallelism() {
+    return forceParallelism;
+  }
+
+  /**
+   * Sets the number of threads that prefetch the static dependencies of loaded modules. Defaults to
+   * {@code 0}, which disables prefetching.
+   *
+   * <p>If positive, the modules that a loaded module amends, extends, or imports without a glob
+   * pattern are resolved, loaded, and parsed in the background, and so are their dependencies.
+   * Evaluation only blocks on modules that haven't finished loading by the time they are first
+   * imported. This reduces the latency of evaluating modules with deep graphs of remote imports.
+   *
+   * <p>Prefetching is speculative: modules are loaded even if the expressions importing them are
+   * never evaluated. Module key factories, and the module keys they create, are used from multiple
+   * threads, and must therefore be thread-safe.
+   */
+  public EvaluatorBuilder setPrefetchParallelism(int prefetchParallelism) {
+    if (prefetchParallelism < 0) {
+      throw new IllegalArgumentException(
+          "Prefetch parallelism must not be negative, but was " + prefetchParallelism + ".");
+    }
+    this.prefetchParallelism = prefetchParallelism;
+    return this;
+  }
+
+  /** Returns the number of threads that prefetch the static dependencies of loaded modules. */
+  public int getPrefetchParallelism() {
+    return prefetchParallelism;
+  }
+
+  /**
+   * Sets the maximum number of bytes of resource contents that the evaluator caches. Defaults to
+   * {@link Long#MAX_VALUE}, which effectively leaves the cache unbounded.
+   *
+   * <p>Resources are cached so that reading the same resource twice yields the same result. Once
+   * the limit is exceeded, the least recently read resources are evicted, and only the hashes of
+   * their contents are retained. Reading an evicted resource reads it again and fails if its
+   * contents have changed. Cache usage can be monitored with {@link
+   * Evaluator#getResourceCacheStats}.
+   */
+  public EvaluatorBuilder setResourceCacheSize(long resourceCacheSize) {
+    if (resourceCacheSize < 0) {
+      throw new IllegalArgumentException(
+          "Resource cache size must not be negative, but was " + resourceCacheSize + ".");
+    }
+    this.resourceCacheSize = resourceCacheSize;
+    return this;
+  }
+
+  /** Returns the maximum number of bytes of resource contents that the evaluator caches. */
+  public long getResourceCacheSize() {
+    return resourceCacheSize;
+  }
+
+  /**
+   * Sets the profiler that evaluation time is attributed to. Defaults to {@code null}, which
+   * disables profiling.
+   *
+   * <p>A profiler can be shared by multiple evaluators.
+   */
+  public EvaluatorBuilder setProfiler(@Nullable Profiler profiler) {
+    this.profiler = profiler;
+    return this;
+  }
+
+  /** Returns the profiler that evaluation time is attributed to. */
+  public @Nullable Profiler getProfiler() {
+    return profiler;
+  }
+
   /**
    * Given a project, sets its dependencies, and also applies any evaluator settings if set.
    *
@@ -578,6 +719,12 @@ public final class EvaluatorBuilder {
         moduleCacheDir,
         dependencies,
         outputFormat,
-        traceMode);
+        traceMode,
+        sharedModuleCache,
+        parseCache,
+        forceParallelism,
+        prefetchParallelism,
+        resourceCacheSize,
+        profiler);
   }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,20 +17,23 @@ package org.pkl.core;
 
 import com.oracle.truffle.api.TruffleStackTrace;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.graalvm.polyglot.Context;
 import org.msgpack.core.MessageBufferPacker;
 import org.msgpack.core.MessagePack;
 import org.pkl.core.ast.ConstantValueNode;
+import org.pkl.core.ast.builder.ImportsAndReadsCache;
 import org.pkl.core.ast.internal.ToStringNodeGen;
 import org.pkl.core.evaluatorSettings.TraceMode;
 import org.pkl.core.http.HttpClient;
@@ -41,9 +44,11 @@ import org.pkl.core.project.DeclaredDependencies;
 import org.pkl.core.resource.ResourceReader;
 import org.pkl.core.runtime.BaseModule;
 import org.pkl.core.runtime.Identifier;
+import org.pkl.core.runtime.ModulePrefetcher;
 import org.pkl.core.runtime.ModuleResolver;
 import org.pkl.core.runtime.ResourceManager;
 import org.pkl.core.runtime.TestRunner;
+import org.pkl.core.runtime.VmBytes;
 import org.pkl.core.runtime.VmContext;
 import org.pkl.core.runtime.VmException;
 import org.pkl.core.runtime.VmExceptionBuilder;
@@ -60,17 +65,21 @@ import org.pkl.core.util.ErrorMessages;
 import org.pkl.core.util.Nullable;
 
 public final class EvaluatorImpl implements Evaluator {
+  private static final int WRITE_CHUNK_SIZE = 8192;
+
   private final StackFrameTransformer frameTransformer;
   private final boolean color;
   private final ModuleResolver moduleResolver;
   private final Context polyglotContext;
   private final @Nullable Duration timeout;
-  private final @Nullable ScheduledExecutorService timeoutExecutor;
   private final SecurityManager securityManager;
   private final BufferedLogger logger;
   private final PackageResolver packageResolver;
   private final VmValueRenderer vmValueRenderer = VmValueRenderer.singleLine(1000);
   private @Nullable MessageBufferPacker messagePacker;
+  private final @Nullable ParallelForcer parallelForcer;
+  private final @Nullable ModulePrefetcher modulePrefetcher;
+  private final ResourceManager resourceManager;
 
   public EvaluatorImpl(
       StackFrameTransformer transformer,
@@ -86,7 +95,13 @@ public final class EvaluatorImpl implements Evaluator {
       @Nullable Path moduleCacheDir,
       @Nullable DeclaredDependencies projectDependencies,
       @Nullable String outputFormat,
-      TraceMode traceMode) {
+      TraceMode traceMode,
+      boolean sharedModuleCache,
+      boolean parseCache,
+      int forceParallelism,
+      int prefetchParallelism,
+      long resourceCacheSize,
+      @Nullable Profiler profiler) {
 
     securityManager = manager;
     frameTransformer = transformer;
@@ -94,6 +109,8 @@ public final class EvaluatorImpl implements Evaluator {
     moduleResolver = new ModuleResolver(factories);
     this.logger = new BufferedLogger(logger);
     packageResolver = PackageResolver.getInstance(securityManager, httpClient, moduleCacheDir);
+    modulePrefetcher = prefetchParallelism > 0 ? new ModulePrefetcher(prefetchParallelism) : null;
+    resourceManager = new ResourceManager(manager, readers, resourceCacheSize);
     polyglotContext =
         VmUtils.createContext(
             () -> {
@@ -104,7 +121,7 @@ public final class EvaluatorImpl implements Evaluator {
                       manager,
                       httpClient,
                       moduleResolver,
-                      new ResourceManager(manager, readers),
+                      resourceManager,
                       this.logger,
                       environmentVariables,
                       externalProperties,
@@ -115,24 +132,49 @@ public final class EvaluatorImpl implements Evaluator {
                           ? null
                           : new ProjectDependenciesManager(
                               projectDependencies, moduleResolver, securityManager),
-                      traceMode));
+                      traceMode,
+                      sharedModuleCache,
+                      parseCache && moduleCacheDir != null
+                          ? new ImportsAndReadsCache(moduleCacheDir)
+                          : null,
+                      profiler == null ? null : profiler.getVmProfiler(),
+                      modulePrefetcher));
             });
     this.timeout = timeout;
-    // NOTE: would probably make sense to share executor between evaluators
-    // (blocked on https://github.com/oracle/graal/issues/1230)
-    timeoutExecutor =
-        timeout == null
-            ? null
-            : Executors.newSingleThreadScheduledExecutor(
-                runnable -> {
-                  Thread t = new Thread(runnable, "Pkl Timeout Scheduler");
-                  t.setDaemon(true);
-                  return t;
-                });
+    parallelForcer =
+        forceParallelism > 1
+            ? new ParallelForcer(
+                forceParallelism,
+                () ->
+                    new EvaluatorImpl(
+                        transformer,
+                        color,
+                        manager,
+                        httpClient,
+                        logger,
+                        factories,
+                        readers,
+                        environmentVariables,
+                        externalProperties,
+                        timeout,
+                        moduleCacheDir,
+                        projectDependencies,
+                        outputFormat,
+                        traceMode,
+                        sharedModuleCache,
+                        parseCache,
+                        1,
+                        0,
+                        resourceCacheSize,
+                        profiler))
+            : null;
   }
 
   @Override
   public PModule evaluate(ModuleSource moduleSource) {
+    if (parallelForcer != null) {
+      return (PModule) parallelForcer.forceAndExport(this, moduleSource, (module) -> module);
+    }
     return doEvaluate(
         moduleSource,
         (module) -> {
@@ -161,8 +203,22 @@ public final class EvaluatorImpl implements Evaluator {
         });
   }
 
+  @Override
+  public void evaluateOutputTo(ModuleSource moduleSource, OutputStream outputStream)
+      throws IOException {
+    var contents =
+        doEvaluate(moduleSource, (module) -> readOutputContents(readModuleOutput(module)));
+    writeOutputContents(contents, outputStream);
+  }
+
   @Override
   public Object evaluateOutputValue(ModuleSource moduleSource) {
+    if (parallelForcer != null) {
+      return parallelForcer.forceAndExport(
+          this,
+          moduleSource,
+          (module) -> VmUtils.readMember(readModuleOutput(module), Identifier.VALUE));
+    }
     return doEvaluate(
         moduleSource,
         (module) -> {
@@ -231,6 +287,27 @@ public final class EvaluatorImpl implements Evaluator {
 
   @Override
   public byte[] evaluateExpressionPklBinary(ModuleSource moduleSource, String expression) {
+    return encodeExpressionPklBinary(moduleSource, expression).toByteArray();
+  }
+
+  @Override
+  public void evaluateExpressionPklBinary(
+      ModuleSource moduleSource, String expression, OutputStream outputStream) throws IOException {
+    var packer = encodeExpressionPklBinary(moduleSource, expression);
+    // hand the buffers over to `outputStream`, which may retain them
+    messagePacker = null;
+    for (var buffer : packer.toBufferList()) {
+      outputStream.write(buffer.array(), buffer.arrayOffset(), buffer.size());
+    }
+    outputStream.flush();
+  }
+
+  /**
+   * Evaluates {@code expression} and encodes the result with this evaluator's reusable packer,
+   * which is only valid until the next evaluation.
+   */
+  private MessageBufferPacker encodeExpressionPklBinary(
+      ModuleSource moduleSource, String expression) {
     return doEvaluate(
         moduleSource,
         (module) -> {
@@ -248,7 +325,7 @@ public final class EvaluatorImpl implements Evaluator {
 
           var packer = getMessagePacker();
           new VmPklBinaryEncoder(packer).renderDocument(expressionResult);
-          return packer.toByteArray();
+          return packer;
         });
   }
 
@@ -308,19 +385,82 @@ public final class EvaluatorImpl implements Evaluator {
         });
   }
 
+  @Override
+  public Set<URI> invalidate(Collection<URI> changedUris) {
+    Set<URI> result;
+    polyglotContext.enter();
+    try {
+      var vmContext = VmContext.get(null);
+      result = vmContext.getModuleCache().invalidate(changedUris);
+      vmContext.getResourceManager().invalidate(changedUris);
+      vmContext.getListingCache().invalidate(changedUris);
+    } finally {
+      polyglotContext.leave();
+    }
+    if (parallelForcer != null) {
+      parallelForcer.invalidate(changedUris);
+    }
+    return result;
+  }
+
+  @Override
+  public Set<URI> getDependencyUris() {
+    polyglotContext.enter();
+    try {
+      return VmContext.get(null).getModuleCache().getDependencyUris();
+    } finally {
+      polyglotContext.leave();
+    }
+  }
+
+  @Override
+  public ResourceCacheStats getResourceCacheStats() {
+    return resourceManager.getCacheStats();
+  }
+
   @Override
   public void close() {
     // if currently executing, blocks until cancellation has completed (see
     // https://github.com/oracle/graal/issues/1230)
     polyglotContext.close(true);
+    // stop prefetching before closing the resolvers that prefetch tasks use
+    if (modulePrefetcher != null) {
+      modulePrefetcher.close();
+    }
     try {
       packageResolver.close();
     } catch (IOException ignored) {
     }
+    if (parallelForcer != null) {
+      parallelForcer.close();
+    }
+  }
 
-    if (timeoutExecutor != null) {
-      timeoutExecutor.shutdown();
+  /**
+   * Discards all modules and resources cached by this evaluator, so that subsequent evaluations
+   * observe current module and resource contents.
+   *
+   * <p>Returns {@code false} if this evaluator has been closed and cannot be reused.
+   */
+  boolean reset() {
+    try {
+      polyglotContext.enter();
+    } catch (IllegalStateException e) {
+      // context has been closed, for example by a TimeoutTask
+      return false;
+    }
+    try {
+      var vmContext = VmContext.get(null);
+      vmContext.getModuleCache().clear();
+      vmContext.getResourceManager().clearCache();
+      vmContext.getListingCache().clear();
+    } finally {
+      polyglotContext.leave();
+    }
+    if (parallelForcer != null) {
+      parallelForcer.reset();
     }
+    return true;
   }
 
   String evaluateOutputText(VmTyped fileOutput) {
@@ -331,13 +471,49 @@ public final class EvaluatorImpl implements Evaluator {
     return doEvaluate(() -> VmUtils.readBytesProperty(fileOutput).export());
   }
 
+  void evaluateOutputTo(VmTyped fileOutput, OutputStream outputStream) throws IOException {
+    var contents = doEvaluate(() -> readOutputContents(fileOutput));
+    writeOutputContents(contents, outputStream);
+  }
+
+  /**
+   * Reads {@code output.text} if {@code output.bytes} has its default value, the UTF-8 encoding of
+   * {@code output.text}, and {@code output.bytes} otherwise.
+   */
+  private static Object readOutputContents(VmTyped output) {
+    var bytesMember = VmUtils.findMember(output, Identifier.BYTES);
+    var defaultBytesMember =
+        BaseModule.getFileOutputClass().getPrototype().getMember(Identifier.BYTES);
+    if (bytesMember != defaultBytesMember
+        || (VmUtils.readMember(output, Identifier.RENDERER) instanceof VmTyped renderer
+            && renderer.getVmClass().isSubclassOf(BaseModule.getBytesRendererClass()))) {
+      return VmUtils.readBytesProperty(output);
+    }
+    return VmUtils.readTextProperty(output);
+  }
+
+  private static void writeOutputContents(Object contents, OutputStream outputStream)
+      throws IOException {
+    if (contents instanceof VmBytes bytes) {
+      outputStream.write(bytes.getBytes());
+      outputStream.flush();
+      return;
+    }
+    var text = (String) contents;
+    var writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+    // write in chunks to avoid copying the whole text at once
+    for (var start = 0; start < text.length(); start += WRITE_CHUNK_SIZE) {
+      writer.write(text, start, Math.min(WRITE_CHUNK_SIZE, text.length() - start));
+    }
+    writer.flush();
+  }
+
   private <T> T doEvaluate(Supplier<T> supplier) {
     @Nullable TimeoutTask timeoutTask = null;
     logger.clear();
     if (timeout != null) {
-      assert timeoutExecutor != null;
       timeoutTask = new TimeoutTask();
-      timeoutExecutor.schedule(timeoutTask, timeout.toMillis(), TimeUnit.MILLISECONDS);
+      timeoutTask.schedule(timeout);
     }
 
     polyglotContext.enter();
@@ -398,6 +574,10 @@ public final class EvaluatorImpl implements Evaluator {
     return evalResult;
   }
 
+  <T> T evaluateModule(ModuleSource moduleSource, Function<VmTyped, T> doEvaluate) {
+    return doEvaluate(moduleSource, doEvaluate);
+  }
+
   private <T> T doEvaluate(ModuleSource moduleSource, Function<VmTyped, T> doEvaluate) {
     return doEvaluate(
         () -> {
@@ -418,7 +598,7 @@ public final class EvaluatorImpl implements Evaluator {
             "evaluationTimedOut", (timeout.getSeconds() + timeout.getNano() / 1_000_000_000d)));
   }
 
-  private VmTyped readModuleOutput(VmTyped module) {
+  private static VmTyped readModuleOutput(VmTyped module) {
     var value = VmUtils.readMember(module, Identifier.OUTPUT);
     if (value instanceof VmTyped typedOutput
         && typedOutput.getVmClass().getPClassInfo() == PClassInfo.ModuleOutput) {
@@ -492,10 +672,16 @@ public final class EvaluatorImpl implements Evaluator {
   }
 
   // ScheduledFuture.cancel() is problematic, so let's handle cancellation on our own
+  // (the scheduled timeout is only cancelled to release it early)
   private final class TimeoutTask implements Runnable {
-    // both fields guarded by synchronizing on `this`
+    // all fields guarded by synchronizing on `this`
     private boolean started = false;
     private boolean cancelled = false;
+    private TimeoutScheduler.@Nullable Timeout timeout;
+
+    public synchronized void schedule(Duration timeout) {
+      this.timeout = TimeoutScheduler.getInstance().schedule(this, timeout);
+    }
 
     @Override
     public void run() {
@@ -514,6 +700,9 @@ public final class EvaluatorImpl implements Evaluator {
       if (started) return false;
 
       cancelled = true;
+      if (timeout != null) {
+        TimeoutScheduler.getInstance().cancel(timeout);
+      }
       return true;
     }
   }
@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * A fixed-size pool of {@link Evaluator}s built from the same {@link EvaluatorBuilder}.
+ *
+ * <p>Creating an evaluator and initializing the standard library is a large fixed cost. A pool pays
+ * this cost once per evaluator, when the pool is created, and then hands out its evaluators to one
+ * caller at a time. When an evaluator is returned to the pool, its module and resource caches are
+ * cleared, so that the next caller observes current module and resource contents. Everything else,
+ * including the evaluator's context and the code compiled for it, stays warm.
+ *
+ * <p>Borrowed evaluators must not be closed by callers. If a borrowed evaluator is closed anyway,
+ * for example because an evaluation timed out, it is replaced with a new evaluator when returned.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class EvaluatorPool implements AutoCloseable {
+  private final EvaluatorBuilder builder;
+  private final Object lock = new Object();
+
+  @GuardedBy("lock")
+  private final Deque<EvaluatorImpl> idleEvaluators = new ArrayDeque<>();
+
+  @GuardedBy("lock")
+  private final Set<EvaluatorImpl> allEvaluators = new HashSet<>();
+
+  @GuardedBy("lock")
+  private final Set<EvaluatorImpl> borrowedEvaluators = new HashSet<>();
+
+  @GuardedBy("lock")
+  private boolean isClosed = false;
+
+  private EvaluatorPool(EvaluatorBuilder builder, int size) {
+    this.builder = builder;
+    try {
+      for (var i = 0; i < size; i++) {
+        var evaluator = createEvaluator();
+        synchronized (lock) {
+          allEvaluators.add(evaluator);
+          idleEvaluators.add(evaluator);
+        }
+      }
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Creates a pool of {@code size} evaluators, each built with {@code builder}.
+   *
+   * <p>The builder must not be modified while the pool is in use, as it is also used to replace
+   * evaluators that were closed.
+   */
+  public static EvaluatorPool create(EvaluatorBuilder builder, int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Pool size must be positive, but was " + size + ".");
+    }
+    return new EvaluatorPool(builder, size);
+  }
+
+  /**
+   * Borrows an evaluator from this pool, waiting until one becomes available.
+   *
+   * <p>The evaluator must be returned with {@link #release(Evaluator)} once the caller is done with
+   * it.
+   *
+   * @throws IllegalStateException if this pool has been closed, including while waiting
+   */
+  public Evaluator borrow() throws InterruptedException {
+    synchronized (lock) {
+      while (true) {
+        checkNotClosed();
+        var evaluator = idleEvaluators.poll();
+        if (evaluator != null) {
+          borrowedEvaluators.add(evaluator);
+          return evaluator;
+        }
+        lock.wait();
+      }
+    }
+  }
+
+  /**
+   * Returns an evaluator previously obtained with {@link #borrow()} to this pool.
+   *
+   * @throws IllegalArgumentException if {@code evaluator} does not belong to this pool, or has
+   *     already been returned
+   */
+  public void release(Evaluator evaluator) {
+    synchronized (lock) {
+      if (!(evaluator instanceof EvaluatorImpl evaluatorImpl)
+          || !allEvaluators.contains(evaluatorImpl)) {
+        throw new IllegalArgumentException("Evaluator does not belong to this pool.");
+      }
+      if (!borrowedEvaluators.remove(evaluatorImpl)) {
+        throw new IllegalArgumentException("Evaluator is not currently borrowed from this pool.");
+      }
+      if (isClosed) {
+        evaluatorImpl.close();
+        return;
+      }
+      if (evaluatorImpl.reset()) {
+        makeIdle(evaluatorImpl);
+        return;
+      }
+      allEvaluators.remove(evaluatorImpl);
+    }
+    // create the replacement without holding the lock, as this takes a while
+    var replacement = createEvaluator();
+    synchronized (lock) {
+      if (!isClosed) {
+        allEvaluators.add(replacement);
+        makeIdle(replacement);
+        return;
+      }
+    }
+    replacement.close();
+  }
+
+  /** Borrows an evaluator, applies {@code action} to it, and returns the evaluator to this pool. */
+  public <T> T withEvaluator(Function<Evaluator, T> action) throws InterruptedException {
+    var evaluator = borrow();
+    try {
+      return action.apply(evaluator);
+    } finally {
+      release(evaluator);
+    }
+  }
+
+  /** Returns the number of evaluators that are currently available for borrowing. */
+  public int getIdleCount() {
+    synchronized (lock) {
+      return idleEvaluators.size();
+    }
+  }
+
+  /**
+   * Closes this pool and all of its evaluators, including borrowed evaluators. Callers waiting in
+   * {@link #borrow()} fail with {@link IllegalStateException}.
+   */
+  @Override
+  public void close() {
+    List<EvaluatorImpl> evaluators;
+    synchronized (lock) {
+      isClosed = true;
+      idleEvaluators.clear();
+      evaluators = List.copyOf(allEvaluators);
+      lock.notifyAll();
+    }
+    for (var evaluator : evaluators) {
+      evaluator.close();
+    }
+  }
+
+  private EvaluatorImpl createEvaluator() {
+    var evaluator = (EvaluatorImpl) builder.build();
+    try {
+      // initialize the standard library and module machinery up front
+      evaluator.evaluate(ModuleSource.text(""));
+    } catch (RuntimeException e) {
+      evaluator.close();
+      throw e;
+    }
+    return evaluator;
+  }
+
+  @GuardedBy("lock")
+  private void makeIdle(EvaluatorImpl evaluator) {
+    idleEvaluators.add(evaluator);
+    lock.notify();
+  }
+
+  @GuardedBy("lock")
+  private void checkNotClosed() {
+    if (isClosed) {
+      throw new IllegalStateException("Evaluator pool has been closed.");
+    }
+  }
+}
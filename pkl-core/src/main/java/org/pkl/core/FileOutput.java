@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,9 @@
  */
 package org.pkl.core;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /** Java representation of {@code pkl.base#FileOutput}. */
 public interface FileOutput {
   /**
@@ -30,4 +33,19 @@ public interface FileOutput {
    * @throws PklException if an error occurs during evaluation.
    */
   byte[] getBytes();
+
+  /**
+   * Writes the byte contents of this file to {@code outputStream}, without materializing them if
+   * they are the UTF-8 encoding of the text content.
+   *
+   * <p>{@code outputStream} is flushed, but not closed.
+   *
+   * @throws PklException if an error occurs during evaluation.
+   * @throws IOException if an I/O error occurs while writing to {@code outputStream}.
+   * @since 0.31.0
+   */
+  default void writeTo(OutputStream outputStream) throws IOException {
+    outputStream.write(getBytes());
+    outputStream.flush();
+  }
 }
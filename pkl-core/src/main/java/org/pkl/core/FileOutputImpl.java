@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,8 @@
  */
 package org.pkl.core;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import org.graalvm.polyglot.PolyglotException;
 import org.pkl.core.runtime.VmTyped;
 
@@ -56,4 +58,16 @@ final class FileOutputImpl implements FileOutput {
       throw new PklBugException(e);
     }
   }
+
+  @Override
+  public void writeTo(OutputStream outputStream) throws IOException {
+    try {
+      evaluator.evaluateOutputTo(fileOutput, outputStream);
+    } catch (PolyglotException e) {
+      if (e.isCancelled()) {
+        throw new PklException("The evaluator is no longer available", e);
+      }
+      throw new PklBugException(e);
+    }
+  }
 }
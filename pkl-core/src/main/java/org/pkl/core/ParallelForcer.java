@@ -0,0 +1,372 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.pkl.core.runtime.VmException;
+import org.pkl.core.runtime.VmListing;
+import org.pkl.core.runtime.VmMapping;
+import org.pkl.core.runtime.VmObject;
+import org.pkl.core.runtime.VmTyped;
+import org.pkl.core.runtime.VmUtils;
+import org.pkl.core.runtime.VmValue;
+import org.pkl.core.util.Nullable;
+
+/**
+ * Deeply forces and exports a value, splitting the members of its largest object across helper
+ * evaluators that run on a fork-join pool.
+ *
+ * <p>A Truffle context can only be entered by one thread at a time, and object members cache their
+ * values without synchronization. Hence, members are never forced concurrently within the same
+ * context. Instead, each helper evaluator evaluates the module in its own context, forces its chunk
+ * of members there, and hands back their exported values. The calling evaluator forces the first
+ * chunk and all other members, and merges the exported values of the remaining chunks into its
+ * result.
+ *
+ * <p>Errors are reported deterministically: members are forced in export order, and the first
+ * failing member in this order determines the reported error.
+ */
+final class ParallelForcer implements AutoCloseable {
+  /** The minimum number of members of an object for its members to be forced in parallel. */
+  static final int MIN_MEMBER_COUNT = 1000;
+
+  private static final int OBJECT_ITSELF = -1;
+
+  private static final int NO_TARGET = -2;
+
+  private final int parallelism;
+  private final Supplier<EvaluatorImpl> helperFactory;
+  private final @Nullable EvaluatorImpl[] helpers;
+  private @Nullable ForkJoinPool pool;
+
+  ParallelForcer(int parallelism, Supplier<EvaluatorImpl> helperFactory) {
+    assert parallelism > 1;
+    this.parallelism = parallelism;
+    this.helperFactory = helperFactory;
+    helpers = new EvaluatorImpl[parallelism - 1];
+  }
+
+  /**
+   * Evaluates {@code moduleSource} with {@code evaluator}, and deeply forces and exports the value
+   * that {@code valueSelector} selects from the module.
+   *
+   * <p>{@code valueSelector} is also applied by helper evaluators, and must therefore select the
+   * same value in every evaluator.
+   */
+  Object forceAndExport(
+      EvaluatorImpl evaluator,
+      ModuleSource moduleSource,
+      Function<VmTyped, Object> valueSelector) {
+    // create helpers before entering the evaluator's context
+    for (var i = 0; i < helpers.length; i++) {
+      if (helpers[i] == null) {
+        helpers[i] = helperFactory.get();
+      }
+    }
+    var chunkResults = new ArrayList<CompletableFuture<@Nullable List<Object>>>();
+    ForceResult result;
+    try {
+      result =
+          evaluator.evaluateModule(
+              moduleSource,
+              (module) -> forceAndExport(module, moduleSource, valueSelector, chunkResults));
+    } finally {
+      // wait for helpers still forcing members so that they can be reused
+      for (var chunkResult : chunkResults) {
+        chunkResult.exceptionally((e) -> null).join();
+      }
+    }
+    if (result.error() != null) throw result.error();
+    assert result.value() != null;
+    return result.value();
+  }
+
+  /** Discards all modules and resources cached by helper evaluators. */
+  void reset() {
+    for (var i = 0; i < helpers.length; i++) {
+      var helper = helpers[i];
+      if (helper != null && !helper.reset()) {
+        discardHelper(i);
+      }
+    }
+  }
+
+  /** Discards modules and resources cached by helper evaluators that are affected by a change. */
+  void invalidate(Collection<URI> changedUris) {
+    for (var i = 0; i < helpers.length; i++) {
+      var helper = helpers[i];
+      if (helper == null) continue;
+      try {
+        helper.invalidate(changedUris);
+      } catch (IllegalStateException e) {
+        // context has been closed, for example by a TimeoutTask
+        discardHelper(i);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    if (pool != null) {
+      pool.shutdownNow();
+    }
+    for (var helper : helpers) {
+      if (helper != null) {
+        helper.close();
+      }
+    }
+  }
+
+  /** Closes a helper that can't be reused, so that a new helper is created when needed. */
+  private void discardHelper(int index) {
+    var helper = helpers[index];
+    helpers[index] = null;
+    if (helper != null) {
+      // releases the helper's context and threads, even if the helper wasn't closed yet
+      helper.close();
+    }
+  }
+
+  private ForceResult forceAndExport(
+      VmTyped module,
+      ModuleSource moduleSource,
+      Function<VmTyped, Object> valueSelector,
+      List<CompletableFuture<@Nullable List<Object>>> chunkResults) {
+
+    var value = valueSelector.apply(module);
+    if (!(value instanceof VmObject object)) {
+      VmValue.force(value, false);
+      return new ForceResult(VmValue.export(value), null);
+    }
+
+    var memberKeys = getExportedMemberKeys(object);
+    var targetIndex = selectTarget(object, memberKeys);
+    if (targetIndex == NO_TARGET) {
+      object.force(false);
+      return new ForceResult(object.export(), null);
+    }
+
+    var target =
+        targetIndex == OBJECT_ITSELF
+            ? object
+            : (VmObject) VmUtils.readMember(object, memberKeys.get(targetIndex));
+    var targetMemberKeys = getExportedMemberKeys(target);
+    var targetMemberCount = targetMemberKeys.size();
+
+    for (var chunk = 1; chunk < parallelism; chunk++) {
+      var helper = helpers[chunk - 1];
+      assert helper != null;
+      var start = chunkStart(chunk, targetMemberCount);
+      var end = chunkStart(chunk + 1, targetMemberCount);
+      chunkResults.add(
+          CompletableFuture.supplyAsync(
+              () ->
+                  helper.evaluateModule(
+                      moduleSource,
+                      (helperModule) ->
+                          forceChunk(
+                              valueSelector.apply(helperModule),
+                              targetIndex,
+                              targetMemberCount,
+                              start,
+                              end)),
+              getPool()));
+    }
+
+    // members that come before the target in export order
+    for (var i = 0; i < targetIndex; i++) {
+      VmValue.force(VmUtils.readMember(object, memberKeys.get(i)), false);
+    }
+
+    forceMembers(target, targetMemberKeys, 0, chunkStart(1, targetMemberCount));
+
+    var chunkValues = new ArrayList<@Nullable List<Object>>(parallelism - 1);
+    for (var chunk = 1; chunk < parallelism; chunk++) {
+      @Nullable List<Object> values;
+      try {
+        values = chunkResults.get(chunk - 1).join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof PklException pklException) {
+          return new ForceResult(null, pklException);
+        }
+        // the helper evaluator failed for reasons unrelated to this module, e.g., it was closed
+        discardHelper(chunk - 1);
+        values = null;
+      }
+      if (values == null) {
+        // the helper didn't force this chunk; force it here
+        forceMembers(
+            target,
+            targetMemberKeys,
+            chunkStart(chunk, targetMemberCount),
+            chunkStart(chunk + 1, targetMemberCount));
+      }
+      chunkValues.add(values);
+    }
+
+    if (targetIndex != OBJECT_ITSELF) {
+      // members that come after the target in export order
+      for (var i = targetIndex + 1; i < memberKeys.size(); i++) {
+        VmValue.force(VmUtils.readMember(object, memberKeys.get(i)), false);
+      }
+    }
+
+    var exported = object.export();
+    var exportedTarget =
+        targetIndex == OBJECT_ITSELF
+            ? exported
+            : getExportedMember(
+                exported, targetIndex, exportKey(object, memberKeys.get(targetIndex)));
+    for (var chunk = 1; chunk < parallelism; chunk++) {
+      var values = chunkValues.get(chunk - 1);
+      if (values == null) continue;
+      var start = chunkStart(chunk, targetMemberCount);
+      for (var i = 0; i < values.size(); i++) {
+        var index = start + i;
+        setExportedMember(
+            exportedTarget,
+            index,
+            exportKey(target, targetMemberKeys.get(index)),
+            values.get(i));
+      }
+    }
+    return new ForceResult(exported, null);
+  }
+
+  /**
+   * Returns {@link #OBJECT_ITSELF} if {@code object} has enough members to force them in parallel,
+   * or else the index of its member with the largest object value that has enough members, or else
+   * {@link #NO_TARGET}.
+   */
+  private static int selectTarget(VmObject object, List<Object> memberKeys) {
+    if (memberKeys.size() >= MIN_MEMBER_COUNT) return OBJECT_ITSELF;
+
+    var target = NO_TARGET;
+    var targetMemberCount = MIN_MEMBER_COUNT - 1;
+    for (var i = 0; i < memberKeys.size(); i++) {
+      Object value;
+      try {
+        value = VmUtils.readMember(object, memberKeys.get(i));
+      } catch (VmException e) {
+        // members from here on are forced in order, which reports this error again
+        break;
+      }
+      if (value instanceof VmObject memberObject) {
+        var memberCount = getExportedMemberKeys(memberObject).size();
+        if (memberCount > targetMemberCount) {
+          target = i;
+          targetMemberCount = memberCount;
+        }
+      }
+    }
+    return target;
+  }
+
+  /**
+   * Forces the members of a chunk in a helper evaluator, and returns their exported values, or
+   * {@code null} if {@code value} doesn't have the same shape as in the calling evaluator.
+   */
+  private static @Nullable List<Object> forceChunk(
+      Object value, int targetIndex, int targetMemberCount, int start, int end) {
+    if (!(value instanceof VmObject object)) return null;
+
+    var target = object;
+    if (targetIndex != OBJECT_ITSELF) {
+      var memberKeys = getExportedMemberKeys(object);
+      if (targetIndex >= memberKeys.size()
+          || !(VmUtils.readMember(object, memberKeys.get(targetIndex))
+              instanceof VmObject memberObject)) {
+        return null;
+      }
+      target = memberObject;
+    }
+
+    var targetMemberKeys = getExportedMemberKeys(target);
+    if (targetMemberKeys.size() != targetMemberCount) return null;
+
+    var result = new ArrayList<>(end - start);
+    for (var i = start; i < end; i++) {
+      var memberValue = VmUtils.readMember(target, targetMemberKeys.get(i));
+      VmValue.force(memberValue, false);
+      result.add(VmValue.exportNullable(memberValue));
+    }
+    return result;
+  }
+
+  private static void forceMembers(VmObject object, List<Object> memberKeys, int start, int end) {
+    for (var i = start; i < end; i++) {
+      VmValue.force(VmUtils.readMember(object, memberKeys.get(i)), false);
+    }
+  }
+
+  /** Returns the keys of the members that {@link VmValue#export()} exports, in export order. */
+  private static List<Object> getExportedMemberKeys(VmObject object) {
+    var result = new ArrayList<>();
+    object.iterateMemberValues(
+        (key, member, value) -> {
+          if (member.isClass() || member.isTypeAlias()) return true;
+          if (object instanceof VmListing && VmListing.isDefaultProperty(key)) return true;
+          if (object instanceof VmMapping && VmMapping.isDefaultProperty(key)) return true;
+          result.add(key);
+          return true;
+        });
+    return result;
+  }
+
+  private static Object exportKey(VmObject object, Object memberKey) {
+    return object instanceof VmMapping ? VmValue.export(memberKey) : memberKey.toString();
+  }
+
+  private static @Nullable Object getExportedMember(Object exported, int index, Object key) {
+    if (exported instanceof List<?> list) return list.get(index);
+    if (exported instanceof Map<?, ?> map) return map.get(key);
+    return ((PObject) exported).getProperties().get((String) key);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void setExportedMember(
+      @Nullable Object exported, int index, Object key, @Nullable Object value) {
+    if (exported instanceof List<?> list) {
+      ((List<Object>) list).set(index, value);
+    } else if (exported instanceof Map<?, ?> map) {
+      ((Map<Object, Object>) map).put(key, value);
+    } else {
+      ((PObject) exported).getProperties().put((String) key, value);
+    }
+  }
+
+  private int chunkStart(int chunk, int memberCount) {
+    return (int) ((long) memberCount * chunk / parallelism);
+  }
+
+  private ForkJoinPool getPool() {
+    if (pool == null) {
+      pool = new ForkJoinPool(parallelism - 1);
+    }
+    return pool;
+  }
+
+  private record ForceResult(@Nullable Object value, @Nullable PklException error) {}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2025-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,15 +17,26 @@ package org.pkl.core;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serial;
+import java.io.Serializable;
 import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import org.msgpack.core.MessagePack;
 import org.msgpack.core.MessageUnpacker;
 import org.pkl.core.runtime.BaseModule;
 import org.pkl.core.util.CollectionUtils;
+import org.pkl.core.util.Nullable;
 import org.pkl.core.util.pklbinary.AbstractPklBinaryDecoder;
 
 /**
@@ -49,6 +60,51 @@ public class PklBinaryDecoder extends AbstractPklBinaryDecoder {
     return new PklBinaryDecoder(MessagePack.newDefaultUnpacker(inputStream)).decode();
   }
 
+  /**
+   * Decode the value at {@code path} from the supplied byte array, without decoding any other
+   * values.
+   *
+   * <p>Each element of {@code path} selects a member of the value selected so far: a property name,
+   * entry key, or element index of an object, a key of a map or mapping, or an index of a list or
+   * listing. For example, {@code decodeAt(bytes, "hosts", "example.com", "ports", 0)} decodes the
+   * first port of a host.
+   *
+   * <p>Returns {@code null} if there is no value at {@code path}.
+   *
+   * @since 0.31.0
+   */
+  public static @Nullable Object decodeAt(byte[] bytes, Object... path) {
+    return new PklBinaryDecoder(MessagePack.newDefaultUnpacker(bytes)).decode(List.of(path));
+  }
+
+  /**
+   * Decode the value at {@code path} from the supplied {@link InputStream}, without decoding any
+   * other values.
+   *
+   * <p>See {@link #decodeAt(byte[], Object...)} for how {@code path} is interpreted.
+   *
+   * @since 0.31.0
+   */
+  public static @Nullable Object decodeAt(InputStream inputStream, Object... path) {
+    return new PklBinaryDecoder(MessagePack.newDefaultUnpacker(inputStream)).decode(List.of(path));
+  }
+
+  /**
+   * Decode a value from the supplied byte array, deferring the decoding of object properties.
+   *
+   * <p>Objects are decoded to {@link PObject}s (or {@link PModule}s) whose property values are only
+   * decoded when first accessed, and are then cached. This is much cheaper than {@link
+   * #decode(byte[])} if only a few properties of a large value are read. Decoding errors are thrown
+   * when the offending property is accessed.
+   *
+   * <p>{@code bytes} is retained by the returned value, and must not be modified.
+   *
+   * @since 0.31.0
+   */
+  public static Object decodeLazily(byte[] bytes) {
+    return new LazyDecoder(bytes, 0).decode();
+  }
+
   @Override
   protected RuntimeException doFail(Exception cause, long offset, List<String> path) {
     return new RuntimeException(
@@ -81,7 +137,11 @@ public class PklBinaryDecoder extends AbstractPklBinaryDecoder {
       var member = iter.next();
       properties.put(member.key().toString(), member.value());
     }
+    return createObject(className, moduleUri, properties);
+  }
 
+  private static Object createObject(
+      String className, URI moduleUri, Map<String, Object> properties) {
     if (moduleUri.equals(PClassInfo.pklBaseUri)) {
       // dynamic
       if (className.equals(BaseModule.getDynamicClass().getDisplayName())) {
@@ -181,4 +241,98 @@ public class PklBinaryDecoder extends AbstractPklBinaryDecoder {
   protected Object doDecodeBytes(byte[] bytes) {
     return bytes;
   }
+
+  private static final class LazyDecoder extends PklBinaryDecoder {
+    private final byte[] bytes;
+    private final int offset;
+
+    private LazyDecoder(byte[] bytes, int offset) {
+      super(MessagePack.newDefaultUnpacker(bytes, offset, bytes.length - offset));
+      this.bytes = bytes;
+      this.offset = offset;
+    }
+
+    @Override
+    protected Object doDecodeObject(
+        String className, URI moduleUri, DecodeIterator<DecodedObjectMember> iter) {
+      var memberIter = (ObjectDecodeIterator) iter;
+      var valueOffsets = CollectionUtils.<String, Integer>newLinkedHashMap(iter.getSize());
+      while (memberIter.hasNext()) {
+        var member = memberIter.skipNext();
+        valueOffsets.put(member.key().toString(), offset + (int) member.valueOffset());
+      }
+      return createObject(className, moduleUri, new LazyProperties(bytes, valueOffsets));
+    }
+  }
+
+  /** Object properties that are decoded when first accessed. */
+  private static final class LazyProperties extends AbstractMap<String, Object>
+      implements Serializable {
+    @Serial private static final long serialVersionUID = 0L;
+
+    private final byte[] bytes;
+    private final Map<String, Integer> valueOffsets;
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    private LazyProperties(byte[] bytes, Map<String, Integer> valueOffsets) {
+      this.bytes = bytes;
+      this.valueOffsets = valueOffsets;
+    }
+
+    @Override
+    public @Nullable Object get(Object key) {
+      var valueOffset = valueOffsets.get(key);
+      if (valueOffset == null) return null;
+      return values.computeIfAbsent(
+          (String) key, (k) -> new LazyDecoder(bytes, valueOffset).decode());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return valueOffsets.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return valueOffsets.size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+      return Collections.unmodifiableSet(valueOffsets.keySet());
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          var keys = valueOffsets.keySet().iterator();
+          return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+              return keys.hasNext();
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+              var key = keys.next();
+              return new SimpleImmutableEntry<>(key, get(key));
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return valueOffsets.size();
+        }
+      };
+    }
+
+    // serialize decoded properties rather than the whole input
+    @Serial
+    private Object writeReplace() {
+      return new LinkedHashMap<>(this);
+    }
+  }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.pkl.core.runtime.VmProfiler;
+import org.pkl.core.util.Nullable;
+
+/**
+ * Measures how much time evaluation spends in which properties, elements, entries, methods,
+ * lambdas, and type constraints.
+ *
+ * <p>To profile an evaluator, pass a profiler to {@link EvaluatorBuilder#setProfiler}. A profiler
+ * can be shared by multiple evaluators, including evaluators that run concurrently. Results should
+ * only be requested once all evaluations have completed.
+ *
+ * <p>Profiling adds overhead to every call, which distorts measurements of very cheap members. Once
+ * a profiler has been created, evaluators without a profiler incur a small overhead as well.
+ *
+ * @since 0.31.0
+ */
+public final class Profiler {
+  private final VmProfiler vmProfiler = new VmProfiler();
+
+  /**
+   * The measurements for one source location.
+   *
+   * @param location The member name or constraint, followed by module URI and line.
+   * @param moduleUri The URI of the module that the location belongs to.
+   * @param count The number of times the location was executed.
+   * @param selfNanos The time spent executing the location, excluding the locations it called.
+   * @param totalNanos The time spent executing the location, including the locations it called.
+   */
+  public record Entry(
+      String location, @Nullable String moduleUri, long count, long selfNanos, long totalNanos) {}
+
+  /** Returns the measurements of all executed source locations, by decreasing self time. */
+  public List<Entry> getEntries() {
+    var result = new ArrayList<Entry>();
+    for (var entry : vmProfiler.getLabelStats().entrySet()) {
+      var stats = entry.getValue();
+      result.add(
+          new Entry(
+              entry.getKey(),
+              stats.getModuleUri(),
+              stats.getCount(),
+              stats.getSelfNanos(),
+              stats.getTotalNanos()));
+    }
+    result.sort(Comparator.comparingLong(Entry::selfNanos).reversed());
+    return result;
+  }
+
+  /**
+   * Writes the self time of each call stack in microseconds, in the collapsed stack format
+   * understood by flame graph tools.
+   *
+   * <p>Each line consists of the stack's frames, outermost first and separated by {@code ;},
+   * followed by a space and the time spent in the innermost frame.
+   */
+  public void writeCollapsedStacks(Writer writer) throws IOException {
+    for (var entry : vmProfiler.getStackSelfNanos().entrySet()) {
+      var micros = entry.getValue() / 1000;
+      if (micros == 0) continue;
+      writer.write(String.join(";", entry.getKey()));
+      writer.write(' ');
+      writer.write(Long.toString(micros));
+      writer.write('\n');
+    }
+    writer.flush();
+  }
+
+  /**
+   * Writes a table of the {@code limit} source locations with the highest self time, followed by a
+   * table of the self time spent in each module.
+   */
+  public void writeReport(Writer writer, int limit) throws IOException {
+    var entries = getEntries();
+    writer.write(
+        String.format(
+            Locale.ROOT,
+            "%12s %12s %10s  %s\n",
+            "Self (ms)",
+            "Total (ms)",
+            "Calls",
+            "Location"));
+    for (var i = 0; i < Math.min(limit, entries.size()); i++) {
+      var entry = entries.get(i);
+      writer.write(
+          String.format(
+              Locale.ROOT,
+              "%12.3f %12.3f %10d  %s\n",
+              entry.selfNanos() / 1e6,
+              entry.totalNanos() / 1e6,
+              entry.count(),
+              entry.location()));
+    }
+
+    var moduleNanos = new HashMap<String, Long>();
+    for (var entry : entries) {
+      var moduleUri = entry.moduleUri();
+      moduleNanos.merge(moduleUri == null ? "<unknown>" : moduleUri, entry.selfNanos(), Long::sum);
+    }
+    var modules = new ArrayList<>(moduleNanos.entrySet());
+    modules.sort(Map.Entry.comparingByValue(Comparator.reverseOrder()));
+    writer.write(String.format(Locale.ROOT, "\n%12s  %s\n", "Self (ms)", "Module"));
+    for (var module : modules) {
+      writer.write(
+          String.format(Locale.ROOT, "%12.3f  %s\n", module.getValue() / 1e6, module.getKey()));
+    }
+    writer.flush();
+  }
+
+  /** Discards all measurements. */
+  public void reset() {
+    vmProfiler.reset();
+  }
+
+  VmProfiler getVmProfiler() {
+    return vmProfiler;
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core;
+
+/**
+ * Statistics of an evaluator's resource cache, as returned by {@link
+ * Evaluator#getResourceCacheStats}.
+ *
+ * @param bytesHeld The estimated size of the cached resource contents, in bytes.
+ * @param maxBytes The {@linkplain EvaluatorBuilder#setResourceCacheSize size limit} of the cache.
+ * @param hitCount The number of resource reads served from the cache.
+ * @param missCount The number of resource reads that were delegated to a resource reader.
+ * @param evictionCount The number of resources evicted from the cache to stay within its limit.
+ * @since 0.31.0
+ */
+public record ResourceCacheStats(
+    long bytesHeld, long maxBytes, long hitCount, long missCount, long evictionCount) {
+
+  /** Returns the ratio of reads served from the cache, or {@code 1.0} if nothing has been read. */
+  public double hitRate() {
+    var readCount = hitCount + missCount;
+    return readCount == 0 ? 1.0 : (double) hitCount / readCount;
+  }
+}
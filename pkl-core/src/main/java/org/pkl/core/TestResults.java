@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.pkl.core;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import org.pkl.core.util.Nullable;
@@ -36,6 +37,7 @@ import org.pkl.core.util.Nullable;
  * @param logs The log output resulting from running the test.
  * @param error An error that arose from evaluating the test module itself.
  *     <p>If non-null, {@code facts} and {@code examples} are guaranteed to have 0 results.
+ * @param duration The wall-clock time it took to run the test module.
  */
 @SuppressWarnings("UnusedReturnValue")
 public record TestResults(
@@ -44,7 +46,19 @@ public record TestResults(
     TestSectionResults facts,
     TestSectionResults examples,
     String logs,
-    @Nullable Error error) {
+    @Nullable Error error,
+    Duration duration) {
+
+  /** Creates test results with a zero {@link #duration}. */
+  public TestResults(
+      String moduleName,
+      String displayUri,
+      TestSectionResults facts,
+      TestSectionResults examples,
+      String logs,
+      @Nullable Error error) {
+    this(moduleName, displayUri, facts, examples, logs, error, Duration.ZERO);
+  }
 
   /** The total number of tests between facts and examples. */
   public int totalTests() {
@@ -111,6 +125,7 @@ public record TestResults(
         new TestSectionResults(TestSectionName.EXAMPLES, List.of());
     private String stdErr = "";
     private @Nullable Error error = null;
+    private final long startNanos = System.nanoTime();
 
     public Builder(String moduleName, String displayUri) {
       this.moduleName = moduleName;
@@ -139,8 +154,11 @@ public record TestResults(
       return this;
     }
 
+    /** Builds the test results, timing them from the creation of this builder. */
     public TestResults build() {
-      return new TestResults(moduleName, displayUri, factsSection, examplesSection, stdErr, error);
+      var duration = Duration.ofNanos(System.nanoTime() - startNanos);
+      return new TestResults(
+          moduleName, displayUri, factsSection, examplesSection, stdErr, error, duration);
     }
   }
 
@@ -227,13 +245,25 @@ public record TestResults(
    * @param failures The number of assertion failures in the test.
    * @param errors The number of errors that were thrown when the test was run.
    * @param isExampleWritten Whether the test is considered as having its example written or not.
+   * @param duration The wall-clock time it took to run the test.
    */
   public record TestResult(
       String name,
       int totalAsserts,
       List<Failure> failures,
       List<Error> errors,
-      boolean isExampleWritten) {
+      boolean isExampleWritten,
+      Duration duration) {
+
+    /** Creates a test result with a zero {@link #duration}. */
+    public TestResult(
+        String name,
+        int totalAsserts,
+        List<Failure> failures,
+        List<Error> errors,
+        boolean isExampleWritten) {
+      this(name, totalAsserts, failures, errors, isExampleWritten, Duration.ZERO);
+    }
 
     public int totalAssertsFailedOrErrored() {
       return failures().size() + errors.size();
@@ -258,6 +288,7 @@ public record TestResults(
       private final List<Error> errors = new ArrayList<>();
       private boolean isExampleWritten;
       private int count = 0;
+      private final long startNanos = System.nanoTime();
 
       public Builder(String name) {
         this.name = name;
@@ -289,8 +320,10 @@ public record TestResults(
         return this;
       }
 
+      /** Builds the test result, timing it from the creation of this builder. */
       public TestResult build() {
-        return new TestResult(name, count, failures, errors, isExampleWritten);
+        var duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        return new TestResult(name, count, failures, errors, isExampleWritten, duration);
       }
     }
   }
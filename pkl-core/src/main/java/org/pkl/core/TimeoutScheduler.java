@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.pkl.core.util.Nullable;
+
+/**
+ * Schedules evaluation timeouts for all evaluators in this process.
+ *
+ * <p>A single scheduler thread tracks the deadlines of all evaluations. It is started when the
+ * first timeout is scheduled. Cancelling an evaluation (which blocks until cancellation has
+ * completed) happens on a separate thread, so that a slow cancellation cannot delay other
+ * timeouts.
+ */
+public final class TimeoutScheduler {
+  private static final TimeoutScheduler instance = new TimeoutScheduler();
+
+  private final AtomicLong activeCount = new AtomicLong();
+  private final AtomicLong firedCount = new AtomicLong();
+
+  // lazily initialized; guarded by `this`
+  private @Nullable ScheduledThreadPoolExecutor scheduler;
+  private @Nullable ExecutorService handlerExecutor;
+
+  /** A timeout returned by {@link #schedule}. */
+  static final class Timeout {
+    // set by whichever comes first, firing or cancelling
+    private final AtomicBoolean done = new AtomicBoolean();
+    private volatile @Nullable ScheduledFuture<?> future;
+
+    private boolean complete() {
+      return done.compareAndSet(false, true);
+    }
+  }
+
+  private TimeoutScheduler() {}
+
+  /** Returns the process-wide timeout scheduler. */
+  public static TimeoutScheduler getInstance() {
+    return instance;
+  }
+
+  /**
+   * Returns the number of timeouts that are scheduled and have neither fired nor been cancelled.
+   */
+  public long getActiveCount() {
+    return activeCount.get();
+  }
+
+  /** Returns the number of timeouts that have fired since this process started. */
+  public long getFiredCount() {
+    return firedCount.get();
+  }
+
+  /** Runs {@code onTimeout} after {@code timeout} has elapsed, unless cancelled before. */
+  Timeout schedule(Runnable onTimeout, Duration timeout) {
+    var handler = getHandlerExecutor();
+    var result = new Timeout();
+    activeCount.incrementAndGet();
+    result.future =
+        getScheduler()
+            .schedule(
+                () -> {
+                  if (!result.complete()) return;
+                  activeCount.decrementAndGet();
+                  firedCount.incrementAndGet();
+                  handler.execute(onTimeout);
+                },
+                timeout.toMillis(),
+                TimeUnit.MILLISECONDS);
+    return result;
+  }
+
+  /**
+   * Cancels a timeout returned by {@link #schedule}. Returns {@code true} if the timeout was
+   * cancelled before it fired.
+   */
+  boolean cancel(Timeout timeout) {
+    if (!timeout.complete()) return false;
+    activeCount.decrementAndGet();
+    var future = timeout.future;
+    // null if cancelled before `schedule` has returned; the timeout then finds itself completed
+    if (future != null) future.cancel(false);
+    return true;
+  }
+
+  private synchronized ScheduledThreadPoolExecutor getScheduler() {
+    if (scheduler == null) {
+      scheduler =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                var thread = new Thread(runnable, "Pkl Timeout Scheduler");
+                thread.setDaemon(true);
+                return thread;
+              });
+      // don't let cancelled timeouts pile up until their deadline
+      scheduler.setRemoveOnCancelPolicy(true);
+    }
+    return scheduler;
+  }
+
+  private synchronized ExecutorService getHandlerExecutor() {
+    if (handlerExecutor == null) {
+      handlerExecutor =
+          Executors.newCachedThreadPool(
+              runnable -> {
+                var thread = new Thread(runnable, "Pkl Timeout Handler");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return handlerExecutor;
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -42,6 +42,19 @@ public abstract class PklRootNode extends RootNode {
 
   @Override
   public final Object execute(VirtualFrame frame) {
+    var profiler = VmProfiler.get(this);
+    if (profiler == null) {
+      return executeChecked(frame);
+    }
+    profiler.enter(this);
+    try {
+      return executeChecked(frame);
+    } finally {
+      profiler.exit();
+    }
+  }
+
+  private Object executeChecked(VirtualFrame frame) {
     try {
       return executeImpl(frame);
     } catch (VmTypeMismatchException e) {
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.ast.builder;
+
+import com.oracle.truffle.api.source.Source;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.pkl.core.Release;
+import org.pkl.core.ast.builder.ImportsAndReadsParser.Entry;
+import org.pkl.core.util.ByteArrayUtils;
+import org.pkl.core.util.Nullable;
+
+/**
+ * A persistent cache of {@link ImportsAndReadsParser} results, stored in the module cache
+ * directory.
+ *
+ * <p>Results are keyed by the SHA-256 hash of a module's source text, and are kept separately for
+ * each Pkl version. A cache hit saves lexing and parsing the module.
+ *
+ * <p>The cache is best-effort: cache files that cannot be read or written are ignored.
+ */
+public final class ImportsAndReadsCache {
+  private static final int FORMAT_VERSION = 1;
+
+  private static final int IS_MODULE = 1;
+  private static final int IS_GLOB = 2;
+  private static final int IS_EXTENDS = 4;
+  private static final int IS_AMENDS = 8;
+
+  private final Path cacheDir;
+
+  public ImportsAndReadsCache(Path moduleCacheDir) {
+    cacheDir = moduleCacheDir.resolve("parse").resolve(Release.current().version().toString());
+  }
+
+  /** Returns the cached imports and reads of {@code source}, or {@code null} if none are cached. */
+  public @Nullable List<Entry> get(Source source) {
+    var path = getPath(source);
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != FORMAT_VERSION) return null;
+      var size = in.readInt();
+      var entries = new ArrayList<Entry>(size);
+      for (var i = 0; i < size; i++) {
+        var flags = in.readByte();
+        var stringValue = in.readUTF();
+        var charIndex = in.readInt();
+        var length = in.readInt();
+        if (charIndex < 0 || length < 0 || charIndex + length > source.getLength()) return null;
+        entries.add(
+            new Entry(
+                (flags & IS_MODULE) != 0,
+                (flags & IS_GLOB) != 0,
+                (flags & IS_EXTENDS) != 0,
+                (flags & IS_AMENDS) != 0,
+                stringValue,
+                source.createSection(charIndex, length)));
+      }
+      return entries;
+    } catch (IOException e) {
+      // treat missing, unreadable, or truncated cache files as cache misses
+      return null;
+    }
+  }
+
+  /** Caches the imports and reads of {@code source}. */
+  public void put(Source source, List<Entry> entries) {
+    var path = getPath(source);
+    @Nullable Path tmpPath = null;
+    try {
+      Files.createDirectories(cacheDir);
+      tmpPath = Files.createTempFile(cacheDir, path.getFileName().toString(), ".tmp");
+      var outputStream = new BufferedOutputStream(Files.newOutputStream(tmpPath));
+      try (var out = new DataOutputStream(outputStream)) {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(entries.size());
+        for (var entry : entries) {
+          var flags =
+              (entry.isModule() ? IS_MODULE : 0)
+                  | (entry.isGlob() ? IS_GLOB : 0)
+                  | (entry.isExtends() ? IS_EXTENDS : 0)
+                  | (entry.isAmends() ? IS_AMENDS : 0);
+          out.writeByte(flags);
+          out.writeUTF(entry.stringValue());
+          out.writeInt(entry.sourceSection().getCharIndex());
+          out.writeInt(entry.sourceSection().getCharLength());
+        }
+      }
+      // concurrent writers produce identical files, so it doesn't matter which one wins
+      Files.move(
+          tmpPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException ignored) {
+      // caching is best-effort
+    } finally {
+      if (tmpPath != null) {
+        try {
+          Files.deleteIfExists(tmpPath);
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  private Path getPath(Source source) {
+    var hash =
+        ByteArrayUtils.sha256(source.getCharacters().toString().getBytes(StandardCharsets.UTF_8));
+    return cacheDir.resolve(hash + ".bin");
+  }
+}
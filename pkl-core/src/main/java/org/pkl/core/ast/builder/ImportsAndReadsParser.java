@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -65,12 +65,33 @@ public class ImportsAndReadsParser extends AbstractAstBuilder<@Nullable List<Ent
   /** Parses a module, and collects all imports and reads. */
   public static List<Entry> parse(ModuleKey moduleKey, ResolvedModuleKey resolvedModuleKey)
       throws IOException {
-    var parser = new Parser();
+    return parse(moduleKey, resolvedModuleKey, null);
+  }
+
+  /**
+   * Parses a module, and collects all imports and reads.
+   *
+   * <p>If {@code cache} is non-null, results are looked up in and added to {@code cache}.
+   */
+  public static List<Entry> parse(
+      ModuleKey moduleKey,
+      ResolvedModuleKey resolvedModuleKey,
+      @Nullable ImportsAndReadsCache cache)
+      throws IOException {
     var text = resolvedModuleKey.loadSource();
     var source = VmUtils.createSource(moduleKey, text);
+    if (cache != null) {
+      var cached = cache.get(source);
+      if (cached != null) return cached;
+    }
+    var parser = new Parser();
     var importListParser = new ImportsAndReadsParser(source);
     try {
-      return parser.parseModule(text).accept(importListParser);
+      var result = parser.parseModule(text).accept(importListParser);
+      if (cache != null) {
+        cache.put(source, result == null ? List.of() : result);
+      }
+      return result;
     } catch (ParserError e) {
       var moduleName = IoUtils.inferModuleName(moduleKey);
       throw VmUtils.toVmException(e, source, moduleName);
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -53,6 +53,7 @@ public abstract class AbstractReadNode extends UnaryExpressionNode {
   @TruffleBoundary
   protected final @Nullable Object doRead(String resourceUri, VmContext context, Node readNode) {
     var resolvedUri = resolveResource(currentModule, resourceUri);
+    context.getModuleCache().recordDependency(currentModule.getUri(), resolvedUri);
     return context.getResourceManager().read(resolvedUri, readNode).orElse(null);
   }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,10 @@
 package org.pkl.core.ast.expression.unary;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.source.SourceSection;
+import java.net.URI;
 import java.util.Map;
 import org.pkl.core.ast.ExpressionNode;
 import org.pkl.core.runtime.VmContext;
@@ -42,11 +44,19 @@ public class ReadGlobMemberBodyNode extends ExpressionNode {
     @SuppressWarnings("unchecked")
     var globElements = (Map<String, ResolvedGlobElement>) mapping.getExtraStorage();
     var resourceUri = VmUtils.getMapValue(globElements, path).uri();
-    var resource = VmContext.get(this).getResourceManager().read(resourceUri, this).orElse(null);
+    var context = VmContext.get(this);
+    recordDependency(context, resourceUri);
+    var resource = context.getResourceManager().read(resourceUri, this).orElse(null);
     if (resource == null) {
       CompilerDirectives.transferToInterpreter();
       throw exceptionBuilder().evalError("cannotFindResource", resourceUri).build();
     }
     return resource;
   }
+
+  @TruffleBoundary
+  private void recordDependency(VmContext context, URI resourceUri) {
+    var moduleUri = getSourceSection().getSource().getURI();
+    context.getModuleCache().recordDependency(moduleUri, resourceUri);
+  }
 }
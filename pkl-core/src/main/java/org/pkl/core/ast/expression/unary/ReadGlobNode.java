@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,19 +22,24 @@ import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.nodes.NodeInfo;
 import com.oracle.truffle.api.source.SourceSection;
 import java.io.IOException;
+import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Map;
 import org.graalvm.collections.EconomicMap;
 import org.pkl.core.SecurityManagerException;
 import org.pkl.core.ast.member.SharedMemberNode;
 import org.pkl.core.externalreader.ExternalReaderProcessException;
 import org.pkl.core.http.HttpClientInitException;
 import org.pkl.core.module.ModuleKey;
+import org.pkl.core.resource.ResourceReader;
 import org.pkl.core.runtime.VmContext;
 import org.pkl.core.runtime.VmLanguage;
 import org.pkl.core.runtime.VmMapping;
 import org.pkl.core.runtime.VmObjectBuilder;
 import org.pkl.core.util.GlobResolver;
 import org.pkl.core.util.GlobResolver.InvalidGlobPatternException;
+import org.pkl.core.util.GlobResolver.ResolvedGlobElement;
 import org.pkl.core.util.IoUtils;
 import org.pkl.core.util.LateInit;
 
@@ -85,9 +90,11 @@ public abstract class ReadGlobNode extends AbstractReadNode {
           GlobResolver.resolveGlob(
               context.getSecurityManager(),
               reader,
+              context.getListingCache(),
               currentModule,
               currentModule.getUri(),
               globPattern);
+      prefetch(context, reader, resolvedElements);
       var builder = new VmObjectBuilder(resolvedElements.size());
       for (var entry : resolvedElements.entrySet()) {
         builder.addEntry(entry.getKey(), getMemberNode());
@@ -108,4 +115,14 @@ public abstract class ReadGlobNode extends AbstractReadNode {
       throw exceptionBuilder().evalError("externalReaderFailure").withCause(e).build();
     }
   }
+
+  /** Starts reading the matched resources, which are typically read soon after globbing. */
+  private static void prefetch(
+      VmContext context, ResourceReader reader, Map<String, ResolvedGlobElement> elements) {
+    var uris = new ArrayList<URI>(elements.size());
+    for (var element : elements.values()) {
+      if (!element.isDirectory()) uris.add(element.uri());
+    }
+    context.getResourceManager().prefetch(reader, uris);
+  }
 }
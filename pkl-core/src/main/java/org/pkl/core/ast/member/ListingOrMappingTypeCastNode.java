@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.pkl.core.ast.member;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.source.SourceSection;
@@ -29,6 +30,10 @@ public final class ListingOrMappingTypeCastNode extends PklRootNode {
   @Child private TypeNode typeNode;
   private final String qualifiedName;
 
+  // the last type cast found to be equivalent to this one
+  // (benign race: any cast stored here is equivalent)
+  private @Nullable ListingOrMappingTypeCastNode lastEquivalentNode;
+
   public ListingOrMappingTypeCastNode(
       VmLanguage language, FrameDescriptor descriptor, TypeNode typeNode, String qualifiedName) {
     super(language, descriptor);
@@ -40,6 +45,23 @@ public final class ListingOrMappingTypeCastNode extends PklRootNode {
     return typeNode;
   }
 
+  /**
+   * Tells if this type cast performs the same type check as {@code other}. Remembers the last
+   * equivalent type cast, which makes repeated comparisons with the same type cast cheap.
+   */
+  public boolean isEquivalentTo(@Nullable ListingOrMappingTypeCastNode other) {
+    if (other == this || (other != null && other == lastEquivalentNode)) return true;
+    if (other == null) return false;
+    return doIsEquivalentTo(other);
+  }
+
+  @TruffleBoundary
+  private boolean doIsEquivalentTo(ListingOrMappingTypeCastNode other) {
+    if (!typeNode.isEquivalentTo(other.typeNode)) return false;
+    lastEquivalentNode = other;
+    return true;
+  }
+
   @Override
   public SourceSection getSourceSection() {
     return typeNode.getSourceSection();
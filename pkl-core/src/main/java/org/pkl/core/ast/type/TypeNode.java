@@ -2685,8 +2685,18 @@ public abstract class TypeNode extends PklNode {
       localContext.shouldEagerTypecheck(true);
       frame.setAuxiliarySlot(customThisSlot, value);
       try {
+        var profiler = VmProfiler.get(this);
         for (var node : constraintNodes) {
-          node.execute(frame);
+          if (profiler == null) {
+            node.execute(frame);
+          } else {
+            profiler.enter(node);
+            try {
+              node.execute(frame);
+            } finally {
+              profiler.exit();
+            }
+          }
         }
         return ret;
       } finally {
@@ -2730,8 +2740,21 @@ public abstract class TypeNode extends PklNode {
 
     @Override
     public boolean doIsEquivalentTo(TypeNode other) {
-      // consider constrained types as always different
-      return false;
+      // Constraints are only compared by source location.
+      // This recognizes the copies of a constrained type that are created for each use of a
+      // typealias, whose constraints are always executed in the scope of the typealias.
+      if (!(other instanceof ConstrainedTypeNode constrainedTypeNode)
+          || constraintNodes.length != constrainedTypeNode.constraintNodes.length) {
+        return false;
+      }
+      for (var i = 0; i < constraintNodes.length; i++) {
+        if (!constraintNodes[i]
+            .getSourceSection()
+            .equals(constrainedTypeNode.constraintNodes[i].getSourceSection())) {
+          return false;
+        }
+      }
+      return childNode.isEquivalentTo(constrainedTypeNode.childNode);
     }
 
     @Override
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -228,7 +228,8 @@ final class ExternalReaderProcessImpl implements ExternalReaderProcess {
                                     : new ResourceReaderSpec(
                                         resp.spec().scheme(),
                                         resp.spec().hasHierarchicalUris(),
-                                        resp.spec().isGlobbable());
+                                        resp.spec().isGlobbable(),
+                                        resp.spec().supportsBatchRequests());
                             future.complete(spec);
                           } else {
                             future.completeExceptionally(
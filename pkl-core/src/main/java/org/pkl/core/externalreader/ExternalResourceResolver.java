@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,4 +36,29 @@ public interface ExternalResourceResolver {
 
   List<PathElement> listElements(SecurityManager securityManager, URI baseUri)
       throws IOException, SecurityManagerException;
+
+  /**
+   * Starts reading the given resources without waiting for the responses, which are used by
+   * subsequent calls to {@link #read}.
+   *
+   * <p>If {@code useBatchRequests} is {@code true}, resources are requested with {@link
+   * org.pkl.core.messaging.Messages.ReadResourceBatchRequest}s. Otherwise, one request is sent per
+   * resource. The number of outstanding requests is bounded; resources beyond the bound are read
+   * when needed. Once a prefetched resource has been {@linkplain #read read}, its response is
+   * discarded.
+   */
+  void prefetch(List<URI> uris, boolean useBatchRequests);
+
+  /**
+   * Starts listing elements within the given base URIs without waiting for the responses, which are
+   * used by subsequent calls to {@link #listElements}. Base URIs that may not be resolved are
+   * skipped.
+   *
+   * <p>If {@code useBatchRequests} is {@code true}, elements are requested with {@link
+   * org.pkl.core.messaging.Messages.ListResourcesBatchRequest}s. Otherwise, one request is sent per
+   * base URI. The number of outstanding requests is bounded; base URIs beyond the bound are listed
+   * when needed.
+   */
+  void prefetchListElements(
+      SecurityManager securityManager, List<URI> baseUris, boolean useBatchRequests);
 }
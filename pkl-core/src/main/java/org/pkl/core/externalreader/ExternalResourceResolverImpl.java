@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package org.pkl.core.externalreader;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -25,6 +26,8 @@ import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import org.pkl.core.SecurityManager;
 import org.pkl.core.SecurityManagerException;
 import org.pkl.core.messaging.MessageTransport;
@@ -33,13 +36,21 @@ import org.pkl.core.messaging.Messages.*;
 import org.pkl.core.messaging.ProtocolException;
 import org.pkl.core.module.PathElement;
 import org.pkl.core.resource.Resource;
+import org.pkl.core.util.Nullable;
 
 final class ExternalResourceResolverImpl implements ExternalResourceResolver {
+  // bounds the size of a single message
+  private static final int MAX_BATCH_SIZE = 256;
+
+  // bounds the number of prefetch requests awaiting a response, and the memory held by responses
+  private static final int MAX_OUTSTANDING_PREFETCHES = 16;
+
   private final MessageTransport transport;
   private final long evaluatorId;
   private final Map<URI, Future<byte[]>> readResponses = new ConcurrentHashMap<>();
   private final Map<URI, Future<List<PathElement>>> listResponses = new ConcurrentHashMap<>();
   private final Random requestIdGenerator = new Random();
+  private final AtomicInteger outstandingPrefetches = new AtomicInteger();
 
   ExternalResourceResolverImpl(MessageTransport transport, long evaluatorId) {
     this.transport = transport;
@@ -48,6 +59,8 @@ final class ExternalResourceResolverImpl implements ExternalResourceResolver {
 
   public Optional<Object> read(URI uri) throws IOException {
     var result = doRead(uri);
+    // from now on, the resource is cached by ResourceManager
+    readResponses.remove(uri);
     return Optional.of(new Resource(uri, result));
   }
 
@@ -68,32 +81,96 @@ final class ExternalResourceResolverImpl implements ExternalResourceResolver {
     return doListElements(baseUri);
   }
 
+  @Override
+  public void prefetch(List<URI> uris, boolean useBatchRequests) {
+    prefetch(
+        uris, useBatchRequests, readResponses, this::sendReadRequest, this::sendReadBatchRequest);
+  }
+
+  @Override
+  public void prefetchListElements(
+      SecurityManager securityManager, List<URI> baseUris, boolean useBatchRequests) {
+    var uris = new ArrayList<URI>(baseUris.size());
+    for (var uri : baseUris) {
+      try {
+        securityManager.checkResolveResource(uri);
+      } catch (SecurityManagerException e) {
+        // reported if and when the base URI is listed
+        continue;
+      }
+      uris.add(uri);
+    }
+    prefetch(
+        uris, useBatchRequests, listResponses, this::sendListRequest, this::sendListBatchRequest);
+  }
+
+  /**
+   * Requests the given URIs that haven't been requested yet, in batches if {@code
+   * useBatchRequests} is {@code true}. Stops once {@link #MAX_OUTSTANDING_PREFETCHES} requests are
+   * outstanding; remaining URIs are requested if and when they are needed.
+   */
+  private <T> void prefetch(
+      List<URI> uris,
+      boolean useBatchRequests,
+      Map<URI, Future<T>> responses,
+      BiConsumer<URI, CompletableFuture<T>> sendRequest,
+      BiConsumer<List<URI>, List<CompletableFuture<T>>> sendBatchRequest) {
+    var batchSize = useBatchRequests ? MAX_BATCH_SIZE : 1;
+    var pendingUris = new ArrayList<URI>();
+    for (var uri : uris) {
+      if (responses.containsKey(uri)) continue;
+      pendingUris.add(uri);
+      if (pendingUris.size() == batchSize) {
+        if (!sendPrefetchRequest(
+            pendingUris, useBatchRequests, responses, sendRequest, sendBatchRequest)) {
+          return;
+        }
+        pendingUris.clear();
+      }
+    }
+    if (!pendingUris.isEmpty()) {
+      sendPrefetchRequest(pendingUris, useBatchRequests, responses, sendRequest, sendBatchRequest);
+    }
+  }
+
+  private <T> boolean sendPrefetchRequest(
+      List<URI> uris,
+      boolean useBatchRequest,
+      Map<URI, Future<T>> responses,
+      BiConsumer<URI, CompletableFuture<T>> sendRequest,
+      BiConsumer<List<URI>, List<CompletableFuture<T>>> sendBatchRequest) {
+    if (!tryStartPrefetch()) return false;
+    var futures = new ArrayList<CompletableFuture<T>>(uris.size());
+    for (var uri : uris) {
+      var future = new CompletableFuture<T>();
+      responses.put(uri, future);
+      futures.add(future);
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .whenComplete((result, error) -> outstandingPrefetches.decrementAndGet());
+    if (useBatchRequest) {
+      sendBatchRequest.accept(List.copyOf(uris), futures);
+    } else {
+      sendRequest.accept(uris.get(0), futures.get(0));
+    }
+    return true;
+  }
+
+  private boolean tryStartPrefetch() {
+    while (true) {
+      var count = outstandingPrefetches.get();
+      if (count >= MAX_OUTSTANDING_PREFETCHES) return false;
+      if (outstandingPrefetches.compareAndSet(count, count + 1)) return true;
+    }
+  }
+
   public List<PathElement> doListElements(URI baseUri) throws IOException {
     return MessageTransports.resolveFuture(
         listResponses.computeIfAbsent(
             baseUri,
             (uri) -> {
               var future = new CompletableFuture<List<PathElement>>();
-              var request =
-                  new ListResourcesRequest(requestIdGenerator.nextLong(), evaluatorId, uri);
-              try {
-                transport.send(
-                    request,
-                    (response) -> {
-                      if (response instanceof ListResourcesResponse resp) {
-                        if (resp.error() != null) {
-                          future.completeExceptionally(new IOException(resp.error()));
-                        } else {
-                          future.complete(
-                              Objects.requireNonNullElseGet(resp.pathElements(), List::of));
-                        }
-                      } else {
-                        future.completeExceptionally(new ProtocolException("unexpected response"));
-                      }
-                    });
-              } catch (ProtocolException | IOException e) {
-                future.completeExceptionally(e);
-              }
+              sendListRequest(uri, future);
               return future;
             }));
   }
@@ -104,28 +181,109 @@ final class ExternalResourceResolverImpl implements ExternalResourceResolver {
             baseUri,
             (uri) -> {
               var future = new CompletableFuture<byte[]>();
-              var request =
-                  new ReadResourceRequest(requestIdGenerator.nextLong(), evaluatorId, uri);
-              try {
-                transport.send(
-                    request,
-                    (response) -> {
-                      if (response instanceof ReadResourceResponse resp) {
-                        if (resp.error() != null) {
-                          future.completeExceptionally(new IOException(resp.error()));
-                        } else if (resp.contents() != null) {
-                          future.complete(resp.contents());
-                        } else {
-                          future.complete(new byte[0]);
-                        }
-                      } else {
-                        future.completeExceptionally(new ProtocolException("unexpected response"));
-                      }
-                    });
-              } catch (ProtocolException | IOException e) {
-                future.completeExceptionally(e);
-              }
+              sendReadRequest(uri, future);
               return future;
             }));
   }
+
+  private void sendListRequest(URI uri, CompletableFuture<List<PathElement>> future) {
+    var request = new ListResourcesRequest(requestIdGenerator.nextLong(), evaluatorId, uri);
+    try {
+      transport.send(
+          request,
+          (response) -> {
+            if (response instanceof ListResourcesResponse resp) {
+              completeList(future, resp.pathElements(), resp.error());
+            } else {
+              future.completeExceptionally(new ProtocolException("unexpected response"));
+            }
+          });
+    } catch (ProtocolException | IOException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
+  private void sendListBatchRequest(
+      List<URI> uris, List<CompletableFuture<List<PathElement>>> futures) {
+    var request = new ListResourcesBatchRequest(requestIdGenerator.nextLong(), evaluatorId, uris);
+    try {
+      transport.send(
+          request,
+          (response) -> {
+            if (response instanceof ListResourcesBatchResponse resp
+                && resp.results().size() == futures.size()) {
+              for (var i = 0; i < futures.size(); i++) {
+                var result = resp.results().get(i);
+                completeList(futures.get(i), result.pathElements(), result.error());
+              }
+            } else {
+              var e = new ProtocolException("unexpected response");
+              for (var future : futures) future.completeExceptionally(e);
+            }
+          });
+    } catch (ProtocolException | IOException e) {
+      for (var future : futures) future.completeExceptionally(e);
+    }
+  }
+
+  private void sendReadRequest(URI uri, CompletableFuture<byte[]> future) {
+    var request = new ReadResourceRequest(requestIdGenerator.nextLong(), evaluatorId, uri);
+    try {
+      transport.send(
+          request,
+          (response) -> {
+            if (response instanceof ReadResourceResponse resp) {
+              completeRead(future, resp.contents(), resp.error());
+            } else {
+              future.completeExceptionally(new ProtocolException("unexpected response"));
+            }
+          });
+    } catch (ProtocolException | IOException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
+  private void sendReadBatchRequest(List<URI> uris, List<CompletableFuture<byte[]>> futures) {
+    var request = new ReadResourceBatchRequest(requestIdGenerator.nextLong(), evaluatorId, uris);
+    try {
+      transport.send(
+          request,
+          (response) -> {
+            if (response instanceof ReadResourceBatchResponse resp
+                && resp.results().size() == futures.size()) {
+              for (var i = 0; i < futures.size(); i++) {
+                var result = resp.results().get(i);
+                completeRead(futures.get(i), result.contents(), result.error());
+              }
+            } else {
+              var e = new ProtocolException("unexpected response");
+              for (var future : futures) future.completeExceptionally(e);
+            }
+          });
+    } catch (ProtocolException | IOException e) {
+      for (var future : futures) future.completeExceptionally(e);
+    }
+  }
+
+  private static void completeList(
+      CompletableFuture<List<PathElement>> future,
+      @Nullable List<PathElement> pathElements,
+      @Nullable String error) {
+    if (error != null) {
+      future.completeExceptionally(new IOException(error));
+    } else {
+      future.complete(Objects.requireNonNullElseGet(pathElements, List::of));
+    }
+  }
+
+  private static void completeRead(
+      CompletableFuture<byte[]> future, byte @Nullable [] contents, @Nullable String error) {
+    if (error != null) {
+      future.completeExceptionally(new IOException(error));
+    } else if (contents != null) {
+      future.complete(contents);
+    } else {
+      future.complete(new byte[0]);
+    }
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,4 +15,12 @@
  */
 package org.pkl.core.externalreader;
 
-public record ResourceReaderSpec(String scheme, boolean hasHierarchicalUris, boolean isGlobbable) {}
+public record ResourceReaderSpec(
+    String scheme,
+    boolean hasHierarchicalUris,
+    boolean isGlobbable,
+    boolean supportsBatchRequests) {
+  public ResourceReaderSpec(String scheme, boolean hasHierarchicalUris, boolean isGlobbable) {
+    this(scheme, hasHierarchicalUris, isGlobbable, false);
+  }
+}
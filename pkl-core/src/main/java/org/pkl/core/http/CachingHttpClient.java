@@ -0,0 +1,440 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.http;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.net.ssl.SSLSession;
+import org.pkl.core.util.ByteArrayUtils;
+import org.pkl.core.util.Nullable;
+
+/**
+ * An {@code HttpClient} decorator that caches responses to {@code GET} requests on disk.
+ *
+ * <ul>
+ *   <li>A cached response is reused without contacting the server while it is fresh according to
+ *       its {@code Cache-Control: max-age} directive.
+ *   <li>Once stale, a cached response is revalidated with a conditional request based on its
+ *       {@code ETag} and {@code Last-Modified} headers, and reused if the server responds with
+ *       {@code 304 Not Modified}.
+ *   <li>Responses and requests with a {@code Cache-Control: no-store} directive, requests with an
+ *       {@code Authorization} header, responses with a {@code Vary} header, and requests sent with
+ *       {@link #sendUncached} bypass the cache.
+ *   <li>Concurrent equal requests are sent to the server only once if their response is cached.
+ *   <li>In offline mode, cached responses are reused regardless of their freshness, and all other
+ *       requests fail with an {@link IOException}.
+ * </ul>
+ *
+ * <p>Only {@code 200 OK} responses are cached, and only their bodies are buffered in memory. Other
+ * response bodies are passed to the caller's body handler as they are received. The cache is
+ * best-effort: cache files that cannot be read or written are ignored. Cache files are replaced
+ * atomically, which makes it safe to share a cache directory between processes.
+ */
+@ThreadSafe
+final class CachingHttpClient implements HttpClient {
+  private static final int FORMAT_VERSION = 1;
+
+  private static final List<String> CACHED_HEADERS =
+      List.of("cache-control", "content-type", "etag", "last-modified");
+
+  // non-private for testing
+  final HttpClient delegate;
+  final @Nullable Path cacheDir;
+  final boolean offline;
+
+  // request -> response that can be shared with equal requests, or `null` if it can't be shared
+  private final Map<HttpRequest, CompletableFuture<@Nullable Fetched>> inFlight =
+      new ConcurrentHashMap<>();
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  CachingHttpClient(HttpClient delegate, @Nullable Path cacheDir, boolean offline) {
+    this.delegate = delegate;
+    this.cacheDir = cacheDir;
+    this.offline = offline;
+  }
+
+  @Override
+  public <T> HttpResponse<T> send(HttpRequest request, BodyHandler<T> responseBodyHandler)
+      throws IOException {
+    if (!isCacheable(request)) return sendUncached(request, responseBodyHandler);
+    checkNotClosed(request);
+
+    var future = new CompletableFuture<@Nullable Fetched>();
+    var existing = inFlight.putIfAbsent(request, future);
+    if (existing != null) {
+      // another thread is sending an equal request
+      var fetched = join(existing);
+      if (fetched != null) return toResponse(request, fetched, responseBodyHandler);
+      // the response was streamed to the other thread
+      return delegate.send(request, responseBodyHandler);
+    }
+    try {
+      return fetch(request, responseBodyHandler, future);
+    } catch (IOException | RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      // no-op if already completed
+      future.complete(null);
+      inFlight.remove(request, future);
+    }
+  }
+
+  @Override
+  public <T> HttpResponse<T> sendUncached(HttpRequest request, BodyHandler<T> responseBodyHandler)
+      throws IOException {
+    checkNotClosed(request);
+    if (offline) throw offlineError(request.uri());
+    return delegate.send(request, responseBodyHandler);
+  }
+
+  @Override
+  public void close() {
+    if (!closed.getAndSet(true)) delegate.close();
+  }
+
+  private void checkNotClosed(HttpRequest request) {
+    if (closed.get()) {
+      throw new IllegalStateException(
+          "Cannot send request " + request + " because this client has already been closed.");
+    }
+  }
+
+  /**
+   * Fetches a response from the cache or the server, and completes {@code shared} with the response
+   * if it can be shared with equal requests.
+   *
+   * <p>Only response bodies that are stored in the cache are buffered. All other response bodies
+   * are passed to the caller's body handler as they are received.
+   */
+  private <T> HttpResponse<T> fetch(
+      HttpRequest request,
+      BodyHandler<T> responseBodyHandler,
+      CompletableFuture<@Nullable Fetched> shared)
+      throws IOException {
+    var uri = request.uri();
+    var entry = readEntry(uri);
+    if (entry != null && (offline || entry.isFresh())) {
+      return share(request, entry.toFetched(), responseBodyHandler, shared);
+    }
+    if (offline) throw offlineError(uri);
+
+    var conditionalRequest = entry == null ? request : entry.addValidators(request);
+    BodyHandler<Object> bodyHandler =
+        (responseInfo) -> {
+          if ((entry != null && responseInfo.statusCode() == 304) || isCacheable(responseInfo)) {
+            return BodySubscribers.mapping(BodySubscribers.ofByteArray(), BufferedBody::new);
+          }
+          return BodySubscribers.mapping(responseBodyHandler.apply(responseInfo), (it) -> it);
+        };
+    var response = delegate.send(conditionalRequest, bodyHandler);
+    if (!(response.body() instanceof BufferedBody bufferedBody)) {
+      @SuppressWarnings("unchecked")
+      var streamedBody = (T) response.body();
+      return new CachedResponse<>(
+          request, response.statusCode(), response.headers(), response.version(), streamedBody);
+    }
+    if (response.statusCode() == 304) {
+      assert entry != null;
+      var revalidated = entry.revalidate(response.headers());
+      writeEntry(revalidated);
+      return share(request, revalidated.toFetched(), responseBodyHandler, shared);
+    }
+    var body = bufferedBody.bytes();
+    writeEntry(CacheEntry.create(uri, response.headers(), body));
+    var fetched = new Fetched(response.statusCode(), response.headers(), response.version(), body);
+    return share(request, fetched, responseBodyHandler, shared);
+  }
+
+  private static <T> HttpResponse<T> share(
+      HttpRequest request,
+      Fetched fetched,
+      BodyHandler<T> responseBodyHandler,
+      CompletableFuture<@Nullable Fetched> shared)
+      throws IOException {
+    shared.complete(fetched);
+    return toResponse(request, fetched, responseBodyHandler);
+  }
+
+  private static <T> HttpResponse<T> toResponse(
+      HttpRequest request, Fetched fetched, BodyHandler<T> responseBodyHandler)
+      throws IOException {
+    return new CachedResponse<>(
+        request,
+        fetched.statusCode,
+        fetched.headers,
+        fetched.version,
+        adaptBody(fetched, responseBodyHandler));
+  }
+
+  private static boolean isCacheable(HttpRequest request) {
+    return request.method().equals("GET")
+        && request.bodyPublisher().map((it) -> it.contentLength() <= 0).orElse(true)
+        && request.headers().firstValue("authorization").isEmpty()
+        && !hasDirective(request.headers(), "no-store");
+  }
+
+  private boolean isCacheable(ResponseInfo response) {
+    var headers = response.headers();
+    return cacheDir != null
+        && response.statusCode() == 200
+        // responses that vary by request headers are not worth keying by those headers
+        && headers.firstValue("vary").isEmpty()
+        && !hasDirective(headers, "no-store")
+        && (headers.firstValue("etag").isPresent()
+            || headers.firstValue("last-modified").isPresent()
+            || getMaxAge(headers) > 0);
+  }
+
+  private static boolean hasDirective(HttpHeaders headers, String directive) {
+    for (var value : headers.allValues("cache-control")) {
+      for (var part : value.split(",")) {
+        if (part.trim().equalsIgnoreCase(directive)) return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the {@code max-age} in seconds, or {@code 0} if there is none. */
+  private static long getMaxAge(HttpHeaders headers) {
+    if (hasDirective(headers, "no-cache")) return 0;
+    for (var value : headers.allValues("cache-control")) {
+      for (var part : value.split(",")) {
+        var directive = part.trim();
+        if (directive.regionMatches(true, 0, "max-age=", 0, 8)) {
+          try {
+            return Math.max(0, Long.parseLong(directive.substring(8).trim()));
+          } catch (NumberFormatException e) {
+            return 0;
+          }
+        }
+      }
+    }
+    return 0;
+  }
+
+  private static IOException offlineError(URI uri) {
+    return new IOException(
+        "Cannot fetch `" + uri + "` in offline mode because no cached response is available.");
+  }
+
+  private static @Nullable Fetched join(CompletableFuture<@Nullable Fetched> future)
+      throws IOException {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      var cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw new IOException(ioException.getMessage(), ioException);
+      }
+      if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+      throw e;
+    }
+  }
+
+  /** Feeds a fetched body to the caller's body handler. */
+  private static <T> T adaptBody(Fetched fetched, BodyHandler<T> responseBodyHandler)
+      throws IOException {
+    var subscriber = responseBodyHandler.apply(fetched);
+    subscriber.onSubscribe(
+        new Flow.Subscription() {
+          private boolean done;
+
+          @Override
+          public void request(long n) {
+            if (done || n <= 0) return;
+            done = true;
+            subscriber.onNext(List.of(ByteBuffer.wrap(fetched.body)));
+            subscriber.onComplete();
+          }
+
+          @Override
+          public void cancel() {
+            done = true;
+          }
+        });
+    try {
+      return subscriber.getBody().toCompletableFuture().join();
+    } catch (CompletionException e) {
+      var cause = e.getCause();
+      if (cause instanceof IOException ioException) throw ioException;
+      if (cause instanceof UncheckedIOException uncheckedException) {
+        throw uncheckedException.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private @Nullable CacheEntry readEntry(URI uri) {
+    if (cacheDir == null) return null;
+    var path = getPath(uri);
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != FORMAT_VERSION) return null;
+      // guard against hash collisions
+      if (!in.readUTF().equals(uri.toString())) return null;
+      var storedAtMillis = in.readLong();
+      var headerCount = in.readInt();
+      var headers = new HashMap<String, List<String>>();
+      for (var i = 0; i < headerCount; i++) {
+        headers.computeIfAbsent(in.readUTF(), (name) -> new ArrayList<>()).add(in.readUTF());
+      }
+      var body = in.readNBytes(in.readInt());
+      return new CacheEntry(uri, storedAtMillis, HttpHeaders.of(headers, (k, v) -> true), body);
+    } catch (IOException | IllegalArgumentException e) {
+      // treat missing, unreadable, or truncated cache files as cache misses
+      return null;
+    }
+  }
+
+  private void writeEntry(CacheEntry entry) {
+    if (cacheDir == null) return;
+    var path = getPath(entry.uri);
+    @Nullable Path tmpPath = null;
+    try {
+      Files.createDirectories(cacheDir);
+      tmpPath = Files.createTempFile(cacheDir, path.getFileName().toString(), ".tmp");
+      var outputStream = new BufferedOutputStream(Files.newOutputStream(tmpPath));
+      try (var out = new DataOutputStream(outputStream)) {
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(entry.uri.toString());
+        out.writeLong(entry.storedAtMillis);
+        var headers = entry.headers.map();
+        out.writeInt(headers.values().stream().mapToInt(List::size).sum());
+        for (var header : headers.entrySet()) {
+          for (var value : header.getValue()) {
+            out.writeUTF(header.getKey());
+            out.writeUTF(value);
+          }
+        }
+        out.writeInt(entry.body.length);
+        out.write(entry.body);
+      }
+      Files.move(
+          tmpPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException ignored) {
+      // caching is best-effort
+    } finally {
+      if (tmpPath != null) {
+        try {
+          Files.deleteIfExists(tmpPath);
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  private Path getPath(URI uri) {
+    assert cacheDir != null;
+    var hash = ByteArrayUtils.sha256(uri.toString().getBytes(StandardCharsets.UTF_8));
+    return cacheDir.resolve(hash + ".bin");
+  }
+
+  /** A response body that has been received in full, to be stored in the cache. */
+  private record BufferedBody(byte[] bytes) {}
+
+  /** A response whose body has been received in full. */
+  private record Fetched(int statusCode, HttpHeaders headers, Version version, byte[] body)
+      implements ResponseInfo {}
+
+  private record CacheEntry(URI uri, long storedAtMillis, HttpHeaders headers, byte[] body) {
+    static CacheEntry create(URI uri, HttpHeaders responseHeaders, byte[] body) {
+      return new CacheEntry(uri, System.currentTimeMillis(), selectHeaders(responseHeaders), body);
+    }
+
+    private static HttpHeaders selectHeaders(HttpHeaders responseHeaders) {
+      var headers = new HashMap<String, List<String>>();
+      for (var name : CACHED_HEADERS) {
+        var values = responseHeaders.allValues(name);
+        if (!values.isEmpty()) headers.put(name, values);
+      }
+      return HttpHeaders.of(headers, (k, v) -> true);
+    }
+
+    boolean isFresh() {
+      var ageMillis = System.currentTimeMillis() - storedAtMillis;
+      return ageMillis >= 0 && ageMillis < getMaxAge(headers) * 1000;
+    }
+
+    HttpRequest addValidators(HttpRequest request) {
+      var etag = headers.firstValue("etag");
+      var lastModified = headers.firstValue("last-modified");
+      if (etag.isEmpty() && lastModified.isEmpty()) return request;
+      var builder = HttpRequest.newBuilder(request, (name, value) -> true);
+      etag.ifPresent((it) -> builder.setHeader("If-None-Match", it));
+      lastModified.ifPresent((it) -> builder.setHeader("If-Modified-Since", it));
+      return builder.build();
+    }
+
+    /** Returns this entry, updated with the headers of a {@code 304 Not Modified} response. */
+    CacheEntry revalidate(HttpHeaders notModifiedHeaders) {
+      var headers = new HashMap<>(this.headers.map());
+      headers.putAll(selectHeaders(notModifiedHeaders).map());
+      return new CacheEntry(
+          uri, System.currentTimeMillis(), HttpHeaders.of(headers, (k, v) -> true), body);
+    }
+
+    Fetched toFetched() {
+      return new Fetched(200, headers, Version.HTTP_1_1, body);
+    }
+  }
+
+  private record CachedResponse<T>(
+      HttpRequest request, int statusCode, HttpHeaders headers, Version version, T body)
+      implements HttpResponse<T> {
+    @Override
+    public Optional<HttpResponse<T>> previousResponse() {
+      return Optional.empty();
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+      return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+      return request.uri();
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -150,6 +150,35 @@ public interface HttpClient extends AutoCloseable {
      */
     Builder addRewrite(URI sourcePrefix, URI targetPrefix);
 
+    /**
+     * Sets the directory in which responses to {@code GET} requests are cached.
+     *
+     * <p>A cached response is reused without contacting the server while it is fresh according to
+     * its {@code Cache-Control} header. Once stale, it is revalidated with a conditional request
+     * based on its {@code ETag} and {@code Last-Modified} headers. Requests and responses with a
+     * {@code Cache-Control: no-store} header, requests with an {@code Authorization} header, and
+     * responses with a {@code Vary} header are not cached.
+     *
+     * <p>If {@code null}, responses are not cached. Defaults to {@code null}.
+     *
+     * @since 0.31.0
+     */
+    Builder setResponseCacheDir(@Nullable Path cacheDir);
+
+    /**
+     * Sets whether the client is offline.
+     *
+     * <p>An offline client never contacts a server. It answers {@code GET} requests with cached
+     * responses regardless of their freshness, and fails all other requests with an {@link
+     * IOException}.
+     *
+     * <p>Defaults to {@code false}.
+     *
+     * @see #setResponseCacheDir
+     * @since 0.31.0
+     */
+    Builder setOffline(boolean offline);
+
     /**
      * Creates a new {@code HttpClient} from the current state of this builder.
      *
@@ -211,6 +240,26 @@ public interface HttpClient extends AutoCloseable {
   <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
       throws IOException;
 
+  /**
+   * Sends an HTTP request without consulting or populating the client's {@linkplain
+   * Builder#setResponseCacheDir response cache}.
+   *
+   * <p>Use this method for responses that the caller caches itself. Unlike a {@code Cache-Control:
+   * no-store} request header, this does not affect how the server or intermediaries handle the
+   * request. An {@linkplain Builder#setOffline offline} client fails all uncached requests.
+   *
+   * <p>Defaults to {@link #send}, which is correct for clients without a response cache.
+   *
+   * @throws IOException if an I/O error occurs when sending or receiving
+   * @throws HttpClientInitException if an error occurs while initializing a {@linkplain
+   *     Builder#buildLazily lazy} client
+   * @since 0.31.0
+   */
+  default <T> HttpResponse<T> sendUncached(
+      HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) throws IOException {
+    return send(request, responseBodyHandler);
+  }
+
   /**
    * Closes this client.
    *
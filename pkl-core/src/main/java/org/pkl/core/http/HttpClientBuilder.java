@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.function.Supplier;
 import org.pkl.core.Release;
 import org.pkl.core.http.HttpClient.Builder;
+import org.pkl.core.util.Nullable;
 
 final class HttpClientBuilder implements HttpClient.Builder {
   private String userAgent;
@@ -39,6 +40,8 @@ final class HttpClientBuilder implements HttpClient.Builder {
   private int testPort = -1;
   private ProxySelector proxySelector;
   private Map<URI, URI> rewrites = new HashMap<>();
+  private @Nullable Path responseCacheDir;
+  private boolean offline;
 
   HttpClientBuilder() {
     var release = Release.current();
@@ -110,6 +113,18 @@ final class HttpClientBuilder implements HttpClient.Builder {
     return this;
   }
 
+  @Override
+  public Builder setResponseCacheDir(@Nullable Path cacheDir) {
+    this.responseCacheDir = cacheDir;
+    return this;
+  }
+
+  @Override
+  public Builder setOffline(boolean offline) {
+    this.offline = offline;
+    return this;
+  }
+
   @Override
   public HttpClient build() {
     return doBuild().get();
@@ -125,10 +140,15 @@ final class HttpClientBuilder implements HttpClient.Builder {
     var certificateFiles = List.copyOf(this.certificateFiles);
     var proxySelector =
         this.proxySelector != null ? this.proxySelector : java.net.ProxySelector.getDefault();
+    var responseCacheDir = this.responseCacheDir;
+    var offline = this.offline;
     return () -> {
       var jdkClient =
           new JdkHttpClient(certificateFiles, certificateBytes, connectTimeout, proxySelector);
-      return new RequestRewritingClient(userAgent, requestTimeout, testPort, jdkClient, rewrites);
+      var client =
+          new RequestRewritingClient(userAgent, requestTimeout, testPort, jdkClient, rewrites);
+      if (responseCacheDir == null && !offline) return client;
+      return new CachingHttpClient(client, responseCacheDir, offline);
     };
   }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,6 +49,12 @@ final class LazyHttpClient implements HttpClient {
     return getOrCreateClient().send(request, responseBodyHandler);
   }
 
+  @Override
+  public <T> HttpResponse<T> sendUncached(HttpRequest request, BodyHandler<T> responseBodyHandler)
+      throws IOException {
+    return getOrCreateClient().sendUncached(request, responseBodyHandler);
+  }
+
   @Override
   public void close() {
     getClient().ifPresent(HttpClient::close);
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -50,6 +50,22 @@ public class BaseMessagePackDecoder extends AbstractMessagePackDecoder {
               unpackLong(map, "evaluatorId"),
               unpackByteArray(map, "contents"),
               unpackStringOrNull(map, "error"));
+      case READ_RESOURCE_BATCH_REQUEST ->
+          new ReadResourceBatchRequest(
+              unpackLong(map, "requestId"),
+              unpackLong(map, "evaluatorId"),
+              unpackUris(map, "uris"));
+      case READ_RESOURCE_BATCH_RESPONSE ->
+          new ReadResourceBatchResponse(
+              unpackLong(map, "requestId"),
+              unpackLong(map, "evaluatorId"),
+              unpackList(
+                  map,
+                  "results",
+                  (result) ->
+                      new ReadResourceResult(
+                          unpackByteArray(result, "contents"),
+                          unpackStringOrNull(result, "error"))));
       case READ_MODULE_REQUEST ->
           new ReadModuleRequest(
               unpackLong(map, "requestId"),
@@ -72,6 +88,22 @@ public class BaseMessagePackDecoder extends AbstractMessagePackDecoder {
               unpackLong(map, "evaluatorId"),
               unpackPathElements(map, "pathElements"),
               unpackStringOrNull(map, "error"));
+      case LIST_RESOURCES_BATCH_REQUEST ->
+          new ListResourcesBatchRequest(
+              unpackLong(map, "requestId"),
+              unpackLong(map, "evaluatorId"),
+              unpackUris(map, "uris"));
+      case LIST_RESOURCES_BATCH_RESPONSE ->
+          new ListResourcesBatchResponse(
+              unpackLong(map, "requestId"),
+              unpackLong(map, "evaluatorId"),
+              unpackList(
+                  map,
+                  "results",
+                  (result) ->
+                      new ListResourcesResult(
+                          unpackPathElements(result, "pathElements"),
+                          unpackStringOrNull(result, "error"))));
       case LIST_MODULES_REQUEST ->
           new ListModulesRequest(
               unpackLong(map, "requestId"),
@@ -106,10 +138,36 @@ public class BaseMessagePackDecoder extends AbstractMessagePackDecoder {
       return null;
     }
     var map = value.asMapValue().map();
+    var supportsBatchRequests = getNullable(map, "supportsBatchRequests");
     return new ResourceReaderSpec(
         unpackString(map, "scheme"),
         unpackBoolean(map, "hasHierarchicalUris"),
-        unpackBoolean(map, "isGlobbable"));
+        unpackBoolean(map, "isGlobbable"),
+        supportsBatchRequests != null && supportsBatchRequests.asBooleanValue().getBoolean());
+  }
+
+  protected static List<URI> unpackUris(Map<Value, Value> map, String key)
+      throws DecodeException, URISyntaxException {
+    var value = get(map, key);
+    var result = new ArrayList<URI>(value.asArrayValue().size());
+    for (var uri : value.asArrayValue()) {
+      result.add(new URI(uri.asStringValue().asString()));
+    }
+    return result;
+  }
+
+  protected interface ElementDecoder<T> {
+    T decode(Map<Value, Value> map) throws DecodeException;
+  }
+
+  protected static <T> List<T> unpackList(
+      Map<Value, Value> map, String key, ElementDecoder<T> elementDecoder) throws DecodeException {
+    var value = get(map, key);
+    var result = new ArrayList<T>(value.asArrayValue().size());
+    for (var element : value.asArrayValue()) {
+      result.add(elementDecoder.decode(element.asMapValue().map()));
+    }
+    return result;
   }
 
   protected static @Nullable List<PathElement> unpackPathElements(Map<Value, Value> map, String key)
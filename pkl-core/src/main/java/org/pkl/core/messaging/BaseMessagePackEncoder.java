@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@ package org.pkl.core.messaging;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.URI;
+import java.util.List;
 import org.msgpack.core.MessagePacker;
 import org.pkl.core.messaging.Messages.*;
 import org.pkl.core.module.PathElement;
@@ -42,10 +44,14 @@ public class BaseMessagePackEncoder extends AbstractMessagePackEncoder {
   }
 
   protected void packResourceReaderSpec(ResourceReaderSpec reader) throws IOException {
-    packer.packMapHeader(3);
+    packer.packMapHeader(reader.supportsBatchRequests() ? 4 : 3);
     packKeyValue("scheme", reader.scheme());
     packKeyValue("hasHierarchicalUris", reader.hasHierarchicalUris());
     packKeyValue("isGlobbable", reader.isGlobbable());
+    // omitted unless set to stay compatible with readers that don't know this property
+    if (reader.supportsBatchRequests()) {
+      packKeyValue("supportsBatchRequests", true);
+    }
   }
 
   protected void packPathElement(PathElement pathElement) throws IOException {
@@ -54,6 +60,13 @@ public class BaseMessagePackEncoder extends AbstractMessagePackEncoder {
     packKeyValue("isDirectory", pathElement.isDirectory());
   }
 
+  protected void packPathElements(List<PathElement> pathElements) throws IOException {
+    packer.packArrayHeader(pathElements.size());
+    for (var pathElement : pathElements) {
+      packPathElement(pathElement);
+    }
+  }
+
   protected @Nullable void encodeMessage(Message msg) throws ProtocolException, IOException {
     switch (msg.type()) {
       case READ_RESOURCE_REQUEST -> {
@@ -71,6 +84,26 @@ public class BaseMessagePackEncoder extends AbstractMessagePackEncoder {
         packKeyValue("contents", m.contents());
         packKeyValue("error", m.error());
       }
+      case READ_RESOURCE_BATCH_REQUEST -> {
+        var m = (ReadResourceBatchRequest) msg;
+        packer.packMapHeader(3);
+        packKeyValue("requestId", m.requestId());
+        packKeyValue("evaluatorId", m.evaluatorId());
+        packKeyValue("uris", m.uris(), URI::toString);
+      }
+      case READ_RESOURCE_BATCH_RESPONSE -> {
+        var m = (ReadResourceBatchResponse) msg;
+        packer.packMapHeader(3);
+        packKeyValue("requestId", m.requestId());
+        packKeyValue("evaluatorId", m.evaluatorId());
+        packer.packString("results");
+        packer.packArrayHeader(m.results().size());
+        for (var result : m.results()) {
+          packMapHeader(0, result.contents(), result.error());
+          packKeyValue("contents", result.contents());
+          packKeyValue("error", result.error());
+        }
+      }
       case READ_MODULE_REQUEST -> {
         var m = (ReadModuleRequest) msg;
         packer.packMapHeader(3);
@@ -107,6 +140,29 @@ public class BaseMessagePackEncoder extends AbstractMessagePackEncoder {
         }
         packKeyValue("error", m.error());
       }
+      case LIST_RESOURCES_BATCH_REQUEST -> {
+        var m = (ListResourcesBatchRequest) msg;
+        packer.packMapHeader(3);
+        packKeyValue("requestId", m.requestId());
+        packKeyValue("evaluatorId", m.evaluatorId());
+        packKeyValue("uris", m.uris(), URI::toString);
+      }
+      case LIST_RESOURCES_BATCH_RESPONSE -> {
+        var m = (ListResourcesBatchResponse) msg;
+        packer.packMapHeader(3);
+        packKeyValue("requestId", m.requestId());
+        packKeyValue("evaluatorId", m.evaluatorId());
+        packer.packString("results");
+        packer.packArrayHeader(m.results().size());
+        for (var result : m.results()) {
+          packMapHeader(0, result.pathElements(), result.error());
+          if (result.pathElements() != null) {
+            packer.packString("pathElements");
+            packPathElements(result.pathElements());
+          }
+          packKeyValue("error", result.error());
+        }
+      }
       case LIST_MODULES_REQUEST -> {
         var m = (ListModulesRequest) msg;
         packer.packMapHeader(3);
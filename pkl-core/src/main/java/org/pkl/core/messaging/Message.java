@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,7 +38,12 @@ public interface Message {
     INITIALIZE_MODULE_READER_RESPONSE(0x2f),
     INITIALIZE_RESOURCE_READER_REQUEST(0x30),
     INITIALIZE_RESOURCE_READER_RESPONSE(0x31),
-    CLOSE_EXTERNAL_PROCESS(0x32);
+    CLOSE_EXTERNAL_PROCESS(0x32),
+    INVALIDATE_MODULES(0x33),
+    READ_RESOURCE_BATCH_REQUEST(0x34),
+    READ_RESOURCE_BATCH_RESPONSE(0x35),
+    LIST_RESOURCES_BATCH_REQUEST(0x36),
+    LIST_RESOURCES_BATCH_RESPONSE(0x37);
 
     private final int code;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -92,7 +92,10 @@ public final class MessageTransports {
 
     @Override
     protected void doSend(Message message) throws ProtocolException, IOException {
-      encoder.encode(message);
+      // messages may be sent from several evaluation threads at once
+      synchronized (encoder) {
+        encoder.encode(message);
+      }
     }
   }
 
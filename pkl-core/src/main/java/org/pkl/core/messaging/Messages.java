@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,8 +29,19 @@ public final class Messages {
   public record ModuleReaderSpec(
       String scheme, boolean hasHierarchicalUris, boolean isLocal, boolean isGlobbable) {}
 
+  /**
+   * @param supportsBatchRequests whether the reader understands {@link ReadResourceBatchRequest}
+   *     and {@link ListResourcesBatchRequest}
+   */
   public record ResourceReaderSpec(
-      String scheme, boolean hasHierarchicalUris, boolean isGlobbable) {}
+      String scheme,
+      boolean hasHierarchicalUris,
+      boolean isGlobbable,
+      boolean supportsBatchRequests) {
+    public ResourceReaderSpec(String scheme, boolean hasHierarchicalUris, boolean isGlobbable) {
+      this(scheme, hasHierarchicalUris, isGlobbable, false);
+    }
+  }
 
   public record ListResourcesRequest(long requestId, long evaluatorId, URI uri)
       implements Server.Request {
@@ -104,6 +115,62 @@ public final class Messages {
     }
   }
 
+  public record ReadResourceBatchRequest(long requestId, long evaluatorId, List<URI> uris)
+      implements Server.Request {
+    public Type type() {
+      return Type.READ_RESOURCE_BATCH_REQUEST;
+    }
+  }
+
+  /** The result of reading one resource of a {@link ReadResourceBatchRequest}. */
+  public record ReadResourceResult(byte @Nullable [] contents, @Nullable String error) {
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ReadResourceResult that = (ReadResourceResult) o;
+      return Objects.equals(error, that.error) && Arrays.equals(contents, that.contents);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(Arrays.hashCode(contents), error);
+    }
+  }
+
+  /** Holds one result for each URI of the request, in the same order. */
+  public record ReadResourceBatchResponse(
+      long requestId, long evaluatorId, List<ReadResourceResult> results)
+      implements Client.Response {
+    public Type type() {
+      return Type.READ_RESOURCE_BATCH_RESPONSE;
+    }
+  }
+
+  public record ListResourcesBatchRequest(long requestId, long evaluatorId, List<URI> uris)
+      implements Server.Request {
+    public Type type() {
+      return Type.LIST_RESOURCES_BATCH_REQUEST;
+    }
+  }
+
+  /** The result of listing one base URI of a {@link ListResourcesBatchRequest}. */
+  public record ListResourcesResult(
+      @Nullable List<PathElement> pathElements, @Nullable String error) {}
+
+  /** Holds one result for each URI of the request, in the same order. */
+  public record ListResourcesBatchResponse(
+      long requestId, long evaluatorId, List<ListResourcesResult> results)
+      implements Client.Response {
+    public Type type() {
+      return Type.LIST_RESOURCES_BATCH_RESPONSE;
+    }
+  }
+
   public record ReadModuleRequest(long requestId, long evaluatorId, URI uri)
       implements Message.Request {
     public Type type() {
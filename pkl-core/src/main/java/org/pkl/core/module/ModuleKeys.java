@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -335,6 +335,11 @@ public final class ModuleKeys {
       return FileResolver.listElements(baseUri);
     }
 
+    @Override
+    public boolean isListElementsThreadSafe() {
+      return true;
+    }
+
     @Override
     public ResolvedModuleKey resolve(SecurityManager securityManager)
         throws IOException, SecurityManagerException {
@@ -505,7 +510,7 @@ public final class ModuleKeys {
     @Override
     public ResolvedModuleKey resolve(SecurityManager securityManager)
         throws IOException, SecurityManagerException {
-      var httpClient = VmContext.get(null).getHttpClient();
+      var httpClient = VmContext.getForModuleResolution().getHttpClient();
       var request = HttpRequest.newBuilder(uri).build();
       var response = httpClient.send(request, BodyHandlers.ofInputStream());
       try (var body = response.body()) {
@@ -632,7 +637,7 @@ public final class ModuleKeys {
     }
 
     private PackageResolver getPackageResolver() {
-      var packageResolver = VmContext.get(null).getPackageResolver();
+      var packageResolver = VmContext.getForModuleResolution().getPackageResolver();
       assert packageResolver != null;
       return packageResolver;
     }
@@ -688,13 +693,13 @@ public final class ModuleKeys {
     }
 
     private PackageResolver getPackageResolver() {
-      var packageResolver = VmContext.get(null).getPackageResolver();
+      var packageResolver = VmContext.getForModuleResolution().getPackageResolver();
       assert packageResolver != null;
       return packageResolver;
     }
 
     private ProjectDependenciesManager getProjectDependenciesManager() {
-      var projectDepsManager = VmContext.get(null).getProjectDependenciesManager();
+      var projectDepsManager = VmContext.getForModuleResolution().getProjectDependenciesManager();
       assert projectDepsManager != null;
       return projectDepsManager;
     }
@@ -721,7 +726,10 @@ public final class ModuleKeys {
       var local = getLocalUri(dependency);
       if (local != null) {
         var resolved =
-            VmContext.get(null).getModuleResolver().resolve(local).resolve(securityManager);
+            VmContext.getForModuleResolution()
+                .getModuleResolver()
+                .resolve(local)
+                .resolve(securityManager);
         return ResolvedModuleKeys.delegated(resolved, this);
       }
       var dep = (Dependency.RemoteDependency) dependency;
@@ -739,7 +747,7 @@ public final class ModuleKeys {
           getProjectDependenciesManager().getResolvedDependency(packageAssetUri.getPackageUri());
       var local = getLocalUri(dependency, packageAssetUri);
       if (local != null) {
-        var moduleKey = VmContext.get(null).getModuleResolver().resolve(local);
+        var moduleKey = VmContext.getForModuleResolution().getModuleResolver().resolve(local);
         if (!moduleKey.isGlobbable()) {
           throw new PackageLoadError(
               "cannotResolveInLocalDependencyNotGlobbable", local.getScheme());
@@ -760,7 +768,7 @@ public final class ModuleKeys {
           getProjectDependenciesManager().getResolvedDependency(packageAssetUri.getPackageUri());
       var local = getLocalUri(dependency, packageAssetUri);
       if (local != null) {
-        var moduleKey = VmContext.get(null).getModuleResolver().resolve(local);
+        var moduleKey = VmContext.getForModuleResolution().getModuleResolver().resolve(local);
         if (!moduleKey.isGlobbable() && !moduleKey.isLocal()) {
           throw new PackageLoadError(
               "cannotResolveInLocalDependencyNotGlobbableNorLocal", local.getScheme());
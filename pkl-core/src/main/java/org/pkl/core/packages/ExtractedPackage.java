@@ -0,0 +1,187 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.packages;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.ZipInputStream;
+import org.graalvm.collections.EconomicMap;
+import org.pkl.core.module.PathElement.TreePathElement;
+import org.pkl.core.util.EconomicMaps;
+import org.pkl.core.util.IoUtils;
+import org.pkl.core.util.Nullable;
+
+/**
+ * The uncompressed contents of a package zip archive, stored next to the archive in the package
+ * cache directory.
+ *
+ * <p>The file starts with an index of all entries, followed by the uncompressed bytes of all files.
+ * It is memory-mapped as a whole, and file contents are served as slices of the mapping. This
+ * avoids opening a zip file system and inflating entries every time a package is read.
+ *
+ * <p>An extracted package is only created from a zip archive whose checksum has been verified, and
+ * records that checksum. If the file cannot be read, or records a different checksum, callers
+ * should fall back to reading the zip archive.
+ */
+final class ExtractedPackage {
+  private static final int MAGIC = 0x506B6C50; // "PklP"
+  private static final int FORMAT_VERSION = 1;
+
+  private final TreePathElement root;
+
+  // keys are normalized absolute paths, values are read-only slices of the mapped file
+  private final EconomicMap<String, ByteBuffer> entries;
+
+  private ExtractedPackage(TreePathElement root, EconomicMap<String, ByteBuffer> entries) {
+    this.root = root;
+    this.entries = entries;
+  }
+
+  TreePathElement getRoot() {
+    return root;
+  }
+
+  /** Returns the contents of the file at {@code path}, or {@code null} if there is no such file. */
+  @Nullable ByteBuffer getFile(String path) {
+    var normalized = IoUtils.toNormalizedPathString(Path.of(path).normalize());
+    var buffer = entries.get(normalized);
+    return buffer == null ? null : buffer.duplicate();
+  }
+
+  /**
+   * Maps the extracted package at {@code path}.
+   *
+   * <p>Returns {@code null} if the file does not exist, is corrupt, or was not extracted from a zip
+   * archive with checksum {@code zipChecksum}.
+   */
+  static @Nullable ExtractedPackage open(Path path, String zipChecksum) {
+    ByteBuffer buffer;
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      var size = channel.size();
+      if (size > Integer.MAX_VALUE) return null;
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    } catch (IOException e) {
+      return null;
+    }
+    try {
+      if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) return null;
+      if (!readString(buffer).equals(zipChecksum)) return null;
+      var count = buffer.getInt();
+      if (count < 0 || count > buffer.remaining()) return null;
+      var names = new ArrayList<String>(count);
+      var lengths = new int[count];
+      for (var i = 0; i < count; i++) {
+        names.add(readString(buffer));
+        lengths[i] = buffer.getInt();
+      }
+      var root = new TreePathElement("", true);
+      var entries = EconomicMaps.<String, ByteBuffer>create(count);
+      var offset = buffer.position();
+      for (var i = 0; i < count; i++) {
+        var name = names.get(i);
+        var length = lengths[i];
+        var isDirectory = length < 0;
+        addToTree(root, name, isDirectory);
+        if (!isDirectory) {
+          entries.put("/" + name, buffer.slice(offset, length).asReadOnlyBuffer());
+          offset += length;
+        }
+      }
+      if (offset != buffer.limit()) return null;
+      return new ExtractedPackage(root, entries);
+    } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Extracts the zip archive at {@code zipPath} to {@code path}.
+   *
+   * <p>The file is first written to {@code tmpDir}, and then atomically moved into place.
+   */
+  static void extract(Path zipPath, String zipChecksum, Path path, Path tmpDir)
+      throws IOException {
+    var names = new ArrayList<String>();
+    var contents = new ArrayList<byte @Nullable []>();
+    try (var zipInputStream = new ZipInputStream(Files.newInputStream(zipPath))) {
+      for (var entry = zipInputStream.getNextEntry();
+          entry != null;
+          entry = zipInputStream.getNextEntry()) {
+        names.add(entry.getName());
+        contents.add(entry.isDirectory() ? null : zipInputStream.readAllBytes());
+      }
+    }
+    Files.createDirectories(tmpDir);
+    var tmpPath = Files.createTempFile(tmpDir, path.getFileName().toString(), ".tmp");
+    try {
+      try (var out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpPath)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writeString(out, zipChecksum);
+        out.writeInt(names.size());
+        for (var i = 0; i < names.size(); i++) {
+          writeString(out, names.get(i));
+          var bytes = contents.get(i);
+          out.writeInt(bytes == null ? -1 : bytes.length);
+        }
+        for (var bytes : contents) {
+          if (bytes != null) out.write(bytes);
+        }
+      }
+      // concurrent extractions produce identical files, so it doesn't matter which one wins
+      Files.move(
+          tmpPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tmpPath);
+    }
+  }
+
+  private static void addToTree(TreePathElement root, String entryName, boolean isDirectory) {
+    var pathElement = root;
+    var nameParts = entryName.split("/");
+    var nameCount = nameParts.length;
+    for (var i = 0; i < nameCount; i++) {
+      var name = nameParts[i];
+      var isDirectoryPart = isDirectory || i < (nameCount - 1);
+      pathElement = pathElement.putIfAbsent(name, new TreePathElement(name, isDirectoryPart));
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    var length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) throw new IllegalArgumentException();
+    var bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeString(DataOutputStream out, String str) throws IOException {
+    var bytes = str.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.packages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.pkl.core.packages.Dependency.RemoteDependency;
+import org.pkl.core.util.EconomicSets;
+import org.pkl.core.util.Nullable;
+
+/**
+ * Fetches the packages of a dependency graph concurrently.
+ *
+ * <p>The graph is discovered breadth-first: all packages at the same depth are fetched
+ * concurrently, and their dependencies make up the next depth. Each package is fetched at most
+ * once, and at most {@code parallelism} packages are fetched at a time.
+ *
+ * <p>Prefetching only warms caches. Packages that fail to fetch are skipped, together with their
+ * dependencies; the failure is expected to resurface when the package is subsequently resolved.
+ */
+public final class PackagePrefetcher {
+  private PackagePrefetcher() {}
+
+  /** Fetches a single package. */
+  @FunctionalInterface
+  public interface Fetcher {
+    /** Fetches the package {@code packageUri}, and returns its metadata. */
+    DependencyMetadata fetch(PackageUri packageUri, @Nullable Checksums checksums)
+        throws Exception;
+  }
+
+  /**
+   * Fetches {@code roots} and, if {@code transitive} is {@code true}, their transitive
+   * dependencies.
+   *
+   * <p>Returns when all reachable packages have been fetched. Does nothing if {@code parallelism}
+   * is 1.
+   */
+  public static void prefetch(
+      List<RemoteDependency> roots, boolean transitive, int parallelism, Fetcher fetcher) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("`parallelism` must be positive, but was " + parallelism);
+    }
+    if (parallelism == 1) return;
+
+    var executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            runnable -> {
+              var thread = new Thread(runnable, "Pkl Package Prefetcher");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      var seen = EconomicSets.<PackageUri>create();
+      var level = new ArrayList<RemoteDependency>();
+      for (var root : roots) {
+        if (seen.add(root.getPackageUri())) level.add(root);
+      }
+      while (!level.isEmpty()) {
+        var futures = new ArrayList<Future<DependencyMetadata>>(level.size());
+        for (var dependency : level) {
+          futures.add(
+              executor.submit(
+                  () -> fetcher.fetch(dependency.getPackageUri(), dependency.getChecksums())));
+        }
+        var nextLevel = new ArrayList<RemoteDependency>();
+        for (var future : futures) {
+          DependencyMetadata metadata;
+          try {
+            metadata = future.get();
+          } catch (ExecutionException e) {
+            continue;
+          }
+          if (!transitive) continue;
+          for (var dependency : metadata.getDependencies().values()) {
+            if (seen.add(dependency.getPackageUri())) nextLevel.add(dependency);
+          }
+        }
+        level = nextLevel;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
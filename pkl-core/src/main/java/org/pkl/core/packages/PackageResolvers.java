@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
@@ -38,12 +39,15 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import java.util.zip.ZipInputStream;
 import javax.annotation.concurrent.GuardedBy;
 import org.graalvm.collections.EconomicMap;
+import org.pkl.core.PklBugException;
 import org.pkl.core.SecurityManager;
 import org.pkl.core.SecurityManagerException;
 import org.pkl.core.http.HttpClient;
@@ -64,8 +68,9 @@ final class PackageResolvers {
   private PackageResolvers() {}
 
   abstract static class AbstractPackageResolver implements PackageResolver {
+    // a pending or completed fetch of each package's metadata
     @GuardedBy("lock")
-    private final EconomicMap<PackageUri, DependencyMetadata> cachedDependencyMetadata;
+    private final EconomicMap<PackageUri, FutureTask<DependencyMetadata>> cachedDependencyMetadata;
 
     private final SecurityManager securityManager;
 
@@ -81,17 +86,48 @@ final class PackageResolvers {
       cachedDependencyMetadata = EconomicMaps.create();
     }
 
-    /** Retrieves a dependency's metadata file. */
+    /**
+     * Retrieves a dependency's metadata file.
+     *
+     * <p>The metadata of different packages can be fetched concurrently. Concurrent calls for the
+     * same package share a single fetch.
+     */
     public DependencyMetadata getDependencyMetadata(PackageUri uri, @Nullable Checksums checksums)
         throws IOException, SecurityManagerException {
       checkNotClosed();
+      FutureTask<DependencyMetadata> task;
+      var isNewTask = false;
       synchronized (lock) {
-        var metadata = cachedDependencyMetadata.get(uri);
-        if (metadata == null) {
-          metadata = doGetDependencyMetadata(uri, checksums);
-          cachedDependencyMetadata.put(uri, metadata);
+        task = cachedDependencyMetadata.get(uri);
+        if (task == null) {
+          task = new FutureTask<>(() -> doGetDependencyMetadata(uri, checksums));
+          cachedDependencyMetadata.put(uri, task);
+          isNewTask = true;
         }
-        return metadata;
+      }
+      if (isNewTask) {
+        task.run();
+      }
+      try {
+        return task.get();
+      } catch (ExecutionException e) {
+        if (isNewTask) {
+          // don't cache failures
+          synchronized (lock) {
+            if (cachedDependencyMetadata.get(uri) == task) {
+              cachedDependencyMetadata.removeKey(uri);
+            }
+          }
+        }
+        var cause = e.getCause();
+        if (cause instanceof IOException ioException) throw ioException;
+        if (cause instanceof SecurityManagerException securityException) throw securityException;
+        if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+        if (cause instanceof Error error) throw error;
+        throw new PklBugException(cause);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
       }
     }
 
@@ -196,10 +232,11 @@ final class PackageResolvers {
 
       // treat package assets as resources instead of modules
       securityManager.checkReadResource(uri);
+      // packages are cached by package resolvers, not by the HTTP client
       var request = HttpRequest.newBuilder(uri).build();
       HttpResponse<InputStream> response;
       try {
-        response = httpClient.send(request, BodyHandlers.ofInputStream());
+        response = httpClient.sendUncached(request, BodyHandlers.ofInputStream());
       } catch (IOException e) {
         throw new PackageLoadError(e, "ioErrorMakingHttpGet", uri, e.getMessage());
       }
@@ -404,8 +441,10 @@ final class PackageResolvers {
   /**
    * Resolves packages, caching them to disk.
    *
-   * <p>Uses the built-in zip file system in {@link jdk.nio.zipfs} for reading files from the zip
-   * archive.
+   * <p>The first time a package is read, its zip archive is extracted into an {@link
+   * ExtractedPackage} next to it, which is memory-mapped and serves all further reads. If the
+   * archive cannot be extracted, falls back to the built-in zip file system in {@link
+   * jdk.nio.zipfs} for reading files from the zip archive.
    */
   static final class DiskCachedPackageResolver extends AbstractPackageResolver {
     private final Path cacheDir;
@@ -414,6 +453,10 @@ final class PackageResolvers {
 
     private static final String CACHE_DIR_PREFIX = "package-2";
 
+    @GuardedBy("lock")
+    private final EconomicMap<PackageUri, ExtractedPackage> extractedPackages =
+        EconomicMaps.create();
+
     @GuardedBy("lock")
     private final EconomicMap<PackageUri, FileSystem> fileSystems = EconomicMaps.create();
 
@@ -560,6 +603,49 @@ final class PackageResolvers {
       }
     }
 
+    /**
+     * Returns the extracted contents of a package, or {@code null} if the package's zip archive
+     * needs to be read through a zip file system instead.
+     *
+     * <p>Downloads and extracts the package if not available within {@link
+     * DiskCachedPackageResolver#cacheDir}. The package zip checksum is verified when the package
+     * is downloaded, and recorded in the extracted package.
+     */
+    private @Nullable ExtractedPackage getExtractedPackage(
+        PackageAssetUri uri, @Nullable Checksums checksums)
+        throws IOException, SecurityManagerException {
+      var packageUri = uri.getPackageUri();
+      synchronized (lock) {
+        var extracted = extractedPackages.get(packageUri);
+        if (extracted != null || fileSystems.containsKey(packageUri)) {
+          return extracted;
+        }
+        var metadata = getDependencyMetadata(packageUri, checksums);
+        var zipFilePath = getZipFilePath(packageUri, metadata);
+        var zipChecksum = metadata.getPackageZipChecksums().getSha256();
+        var extractedPath =
+            zipFilePath.resolveSibling(getLastSegmentName(packageUri) + ".extracted");
+        extracted = ExtractedPackage.open(extractedPath, zipChecksum);
+        if (extracted == null) {
+          try {
+            ExtractedPackage.extract(zipFilePath, zipChecksum, extractedPath, tmpDir);
+            if (!IoUtils.isWindows()) {
+              Files.setPosixFilePermissions(extractedPath, FILE_PERMISSIONS);
+            }
+          } catch (IOException e) {
+            // fall back to reading the zip archive
+            return null;
+          }
+          extracted = ExtractedPackage.open(extractedPath, zipChecksum);
+          if (extracted == null) {
+            return null;
+          }
+        }
+        extractedPackages.put(packageUri, extracted);
+        return extracted;
+      }
+    }
+
     /**
      * Returns a file system that backs the zip archive for a package.
      *
@@ -611,6 +697,28 @@ final class PackageResolvers {
     public byte[] getBytes(
         PackageAssetUri uri, boolean allowDirectories, @Nullable Checksums checksums)
         throws IOException, SecurityManagerException {
+      var extracted = getExtractedPackage(uri, checksums);
+      if (extracted != null) {
+        var element = extracted.getRoot().getElement(uri.getAssetPath());
+        if (element == null) {
+          throw new FileNotFoundException();
+        } else if (element.isDirectory()) {
+          if (allowDirectories) {
+            var text =
+                StreamSupport.stream(element.getChildren().getKeys().spliterator(), false)
+                        .sorted()
+                        .collect(Collectors.joining("\n"))
+                    + "\n";
+            return text.getBytes(StandardCharsets.UTF_8);
+          }
+          throw fileIsADirectory();
+        }
+        var buffer = extracted.getFile(uri.getAssetPath());
+        assert buffer != null;
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+      }
       var path = getZipFileSystem(uri, checksums).getPath(uri.getUri().getFragment());
       if (Files.isDirectory(path)) {
         if (allowDirectories) {
@@ -637,6 +745,11 @@ final class PackageResolvers {
     @Override
     protected List<PathElement> doListElements(PackageAssetUri uri, @Nullable Checksums checksums)
         throws IOException, SecurityManagerException {
+      var extracted = getExtractedPackage(uri, checksums);
+      if (extracted != null) {
+        var element = extracted.getRoot().getElement(uri.getAssetPath());
+        return element == null ? Collections.emptyList() : element.getChildrenValues();
+      }
       var path = getZipFileSystem(uri, checksums).getPath(uri.getUri().getFragment());
       return FileResolver.listElements(path);
     }
@@ -644,6 +757,10 @@ final class PackageResolvers {
     @Override
     public boolean doHasElement(PackageAssetUri uri, @Nullable Checksums checksums)
         throws IOException, SecurityManagerException {
+      var extracted = getExtractedPackage(uri, checksums);
+      if (extracted != null) {
+        return extracted.getRoot().getElement(uri.getAssetPath()) != null;
+      }
       var path = getZipFileSystem(uri, checksums).getPath(uri.getUri().getFragment());
       return FileResolver.hasElement(path);
     }
@@ -657,6 +774,7 @@ final class PackageResolvers {
           cursor.getValue().close();
         }
         fileSystems.clear();
+        extractedPackages.clear();
       }
     }
   }
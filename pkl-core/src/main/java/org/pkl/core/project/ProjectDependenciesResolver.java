@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,10 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.graalvm.collections.EconomicMap;
 import org.graalvm.collections.EconomicSet;
 import org.pkl.core.PklException;
@@ -27,7 +31,9 @@ import org.pkl.core.packages.Checksums;
 import org.pkl.core.packages.Dependency;
 import org.pkl.core.packages.Dependency.LocalDependency;
 import org.pkl.core.packages.Dependency.RemoteDependency;
+import org.pkl.core.packages.DependencyMetadata;
 import org.pkl.core.packages.PackageLoadError;
+import org.pkl.core.packages.PackagePrefetcher;
 import org.pkl.core.packages.PackageResolver;
 import org.pkl.core.packages.PackageUri;
 import org.pkl.core.util.EconomicMaps;
@@ -35,6 +41,7 @@ import org.pkl.core.util.EconomicSets;
 import org.pkl.core.util.ErrorMessages;
 import org.pkl.core.util.IoUtils;
 import org.pkl.core.util.Nullable;
+import org.pkl.core.util.Pair;
 
 /**
  * Given a project's dependencies, build the dependency list.
@@ -43,24 +50,38 @@ import org.pkl.core.util.Nullable;
  * href="https://research.swtch.com/vgo-mvs#algorithm_1">Construct Build List</a> algorithm.
  *
  * <p>Resolved dependencies have URI `projectpackage` to indicate that they should be project-local.
+ *
+ * <p>If {@code parallelism} is greater than 1, the metadata of all transitive dependencies is first
+ * fetched concurrently with {@link PackagePrefetcher}.
  */
 public final class ProjectDependenciesResolver {
   private final Project project;
   private final PackageResolver packageResolver;
   private final Writer logWriter;
+  private final int parallelism;
   private final EconomicMap<CanonicalPackageUri, Dependency> resolvedDependencies =
       EconomicMaps.create();
 
   private final EconomicSet<PackageUri> alreadyHandledDependencies = EconomicSets.create();
 
+  private final Map<PackageUri, Pair<DependencyMetadata, Checksums>> prefetchedMetadata =
+      new ConcurrentHashMap<>();
+
   public ProjectDependenciesResolver(
       Project project, PackageResolver packageResolver, Writer logWriter) {
+    this(project, packageResolver, logWriter, 1);
+  }
+
+  public ProjectDependenciesResolver(
+      Project project, PackageResolver packageResolver, Writer logWriter, int parallelism) {
     this.project = project;
     this.packageResolver = packageResolver;
     this.logWriter = logWriter;
+    this.parallelism = parallelism;
   }
 
   public ProjectDeps resolve() {
+    prefetchDependencyMetadata();
     buildResolvedDependencies(project.getDependencies());
     for (var localProject : project.getDependencies().localDependencies().values()) {
       var packageUri = localProject.myPackageUri();
@@ -85,6 +106,29 @@ public final class ProjectDependenciesResolver {
     }
   }
 
+  private void prefetchDependencyMetadata() {
+    var roots = new ArrayList<RemoteDependency>();
+    collectRemoteDependencies(project.getDependencies(), roots);
+    PackagePrefetcher.prefetch(
+        roots,
+        true,
+        parallelism,
+        (packageUri, checksums) -> {
+          var projectPackageUri = packageUri.toProjectPackageUri();
+          var pair = packageResolver.getDependencyMetadataAndComputeChecksum(projectPackageUri);
+          prefetchedMetadata.put(projectPackageUri, pair);
+          return pair.first;
+        });
+  }
+
+  private static void collectRemoteDependencies(
+      DeclaredDependencies declaredDependencies, List<RemoteDependency> result) {
+    result.addAll(declaredDependencies.remoteDependencies().values());
+    for (var localDeclaredDependencies : declaredDependencies.localDependencies().values()) {
+      collectRemoteDependencies(localDeclaredDependencies, result);
+    }
+  }
+
   private void buildResolvedDependencies(DeclaredDependencies declaredDependencies) {
     for (var dependency : declaredDependencies.remoteDependencies().values()) {
       resolveDependenciesOfPackageUri(
@@ -101,7 +145,10 @@ public final class ProjectDependenciesResolver {
       if (alreadyHandledDependencies.contains(packageUri)) {
         return;
       }
-      var pair = packageResolver.getDependencyMetadataAndComputeChecksum(packageUri);
+      var pair = prefetchedMetadata.get(packageUri);
+      if (pair == null) {
+        pair = packageResolver.getDependencyMetadataAndComputeChecksum(packageUri);
+      }
       var metadata = pair.first;
       var computedChecksums = pair.second;
       if (expectedChecksums != null) {
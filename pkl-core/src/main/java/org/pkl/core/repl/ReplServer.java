@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,7 +20,11 @@ import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.nodes.IndirectCallNode;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.graalvm.collections.UnmodifiableEconomicMap;
@@ -59,6 +63,9 @@ import org.pkl.parser.syntax.ModuleDecl;
 import org.pkl.parser.syntax.ReplInput;
 
 public class ReplServer implements AutoCloseable {
+  // file systems may record modification times with coarse granularity
+  private static final Duration MODIFIED_TIME_TOLERANCE = Duration.ofSeconds(2);
+
   private final IndirectCallNode callNode = Truffle.getRuntime().createIndirectCallNode();
   private final Context polyglotContext;
   private final VmLanguage language;
@@ -69,6 +76,8 @@ public class ReplServer implements AutoCloseable {
   private final VmExceptionRenderer errorRenderer;
   private final PackageResolver packageResolver;
   private final @Nullable ProjectDependenciesManager projectDependenciesManager;
+  // local files modified after this time (minus tolerance) may be stale in the module cache
+  private Instant lastChangeCheck = Instant.now();
 
   public ReplServer(
       SecurityManager securityManager,
@@ -117,7 +126,11 @@ public class ReplServer implements AutoCloseable {
                       outputFormat,
                       packageResolver,
                       projectDependenciesManager,
-                      traceMode));
+                      traceMode,
+                      false,
+                      null,
+                      null,
+                      null));
             });
     language = languageRef.get();
   }
@@ -317,6 +330,7 @@ public class ReplServer implements AutoCloseable {
     try {
       var uri = IoUtils.resolve(workingDir.toUri(), request.uri);
       var moduleToLoad = moduleResolver.resolve(uri);
+      invalidateChangedModules(moduleToLoad.getUri());
       var loadedModule = language.loadModule(moduleToLoad);
       replState.module =
           createReplModule(
@@ -330,6 +344,39 @@ public class ReplServer implements AutoCloseable {
     }
   }
 
+  /**
+   * Discards the cached module to load, and all cached modules affected by local files that may
+   * have changed since the last check. Unaffected modules stay cached, which keeps reloading fast.
+   */
+  private void invalidateChangedModules(URI moduleUri) {
+    var now = Instant.now();
+    var vmContext = VmContext.get(null);
+    var moduleCache = vmContext.getModuleCache();
+    var changedUris = new ArrayList<URI>();
+    changedUris.add(moduleUri);
+    var threshold = lastChangeCheck.minus(MODIFIED_TIME_TOLERANCE);
+    for (var uri : moduleCache.getDependencyUris()) {
+      if (!"file".equalsIgnoreCase(uri.getScheme())) continue;
+      var modifiedTime = getLastModifiedTime(uri);
+      if (modifiedTime == null || !modifiedTime.toInstant().isBefore(threshold)) {
+        changedUris.add(uri);
+      }
+    }
+    moduleCache.invalidate(changedUris);
+    vmContext.getResourceManager().invalidate(changedUris);
+    // directories aren't checked for changes
+    vmContext.getListingCache().clear();
+    lastChangeCheck = now;
+  }
+
+  private static @Nullable FileTime getLastModifiedTime(URI fileUri) {
+    try {
+      return Files.getLastModifiedTime(Path.of(fileUri));
+    } catch (IOException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
   private List<ReplResponse> handleCompletion(ReplRequest.Completion request) {
     var members = new HashSet<String>();
 
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.pkl.core.resource;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
 import java.util.Optional;
 import org.pkl.core.SecurityManagerException;
 import org.pkl.core.externalreader.ExternalReaderProcessException;
@@ -61,6 +62,16 @@ public interface ResourceReader extends ReaderBase, AutoCloseable {
           SecurityManagerException,
           ExternalReaderProcessException;
 
+  /**
+   * Hints that {@link #read} is about to be called for each of {@code uris}.
+   *
+   * <p>Readers that incur a round trip for each call to {@link #read} can use this hint to read
+   * resources ahead of time. The default implementation does nothing.
+   *
+   * @since 0.31.0
+   */
+  default void prefetch(List<URI> uris) throws IOException, ExternalReaderProcessException {}
+
   /**
    * Closes this reader, releasing any resources held. See the documentation of factory methods in
    * {@link ResourceReaders} for which factories need to be closed.
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -288,6 +288,11 @@ public final class ResourceReaders {
       securityManager.checkResolveResource(baseUri);
       return FileResolver.listElements(baseUri);
     }
+
+    @Override
+    public boolean isListElementsThreadSafe() {
+      return true;
+    }
   }
 
   private static final class HttpResource extends UrlResource {
@@ -692,6 +697,17 @@ public final class ResourceReaders {
       return getUnderlyingReader().listElements(securityManager, baseUri);
     }
 
+    @Override
+    public void prefetch(List<URI> uris) throws IOException, ExternalReaderProcessException {
+      getUnderlyingReader().prefetch(uris);
+    }
+
+    @Override
+    public void prefetchListElements(SecurityManager securityManager, List<URI> baseUris)
+        throws IOException, ExternalReaderProcessException {
+      getUnderlyingReader().prefetchListElements(securityManager, baseUris);
+    }
+
     @Override
     public void close() {
       process.close();
@@ -738,5 +754,18 @@ public final class ResourceReaders {
         throws IOException, SecurityManagerException {
       return resolver.listElements(securityManager, baseUri);
     }
+
+    @Override
+    public void prefetch(List<URI> uris) {
+      // reading ahead one request per resource costs the reader more than it saves
+      if (readerSpec.supportsBatchRequests()) {
+        resolver.prefetch(uris, true);
+      }
+    }
+
+    @Override
+    public void prefetchListElements(SecurityManager securityManager, List<URI> baseUris) {
+      resolver.prefetchListElements(securityManager, baseUris, readerSpec.supportsBatchRequests());
+    }
   }
 }
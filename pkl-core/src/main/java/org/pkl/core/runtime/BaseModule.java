@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -203,6 +203,14 @@ public final class BaseModule extends StdLibModule {
     return ResourceClass.instance;
   }
 
+  public static VmClass getFileOutputClass() {
+    return FileOutputClass.instance;
+  }
+
+  public static VmClass getBytesRendererClass() {
+    return BytesRendererClass.instance;
+  }
+
   public static VmTypeAlias getNonNullTypeAlias() {
     return NonNullTypeAlias.instance;
   }
@@ -351,6 +359,14 @@ public final class BaseModule extends StdLibModule {
     static final VmClass instance = loadClass("Resource");
   }
 
+  private static final class FileOutputClass {
+    static final VmClass instance = loadClass("FileOutput");
+  }
+
+  private static final class BytesRendererClass {
+    static final VmClass instance = loadClass("BytesRenderer");
+  }
+
   private static final class FunctionClass {
     static final VmClass instance = loadClass("Function");
   }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -79,6 +79,7 @@ public final class Identifier implements Comparable<Identifier> {
 
   // members of pkl.base#{FileOutput}
   public static final Identifier BYTES = get("bytes");
+  public static final Identifier RENDERER = get("renderer");
 
   // members of pkl.base#ModuleOutput, pkl.base#Resource, pkl.base#String
   public static final Identifier BASE64 = get("base64");
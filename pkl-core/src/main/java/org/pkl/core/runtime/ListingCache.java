@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.pkl.core.SecurityManager;
+import org.pkl.core.SecurityManagerException;
+import org.pkl.core.externalreader.ExternalReaderProcessException;
+import org.pkl.core.module.ModuleKey;
+import org.pkl.core.module.PathElement;
+import org.pkl.core.util.Nullable;
+
+/**
+ * Caches the sorted elements listed by module keys and resource readers when resolving glob
+ * patterns, so that a directory is listed at most once per evaluator.
+ *
+ * <p>Listings are keyed by directory URI, and by whether they were listed by a module key or a
+ * resource reader. Like modules and resources, they are cached until they are invalidated.
+ *
+ * <p>Directories that a glob pattern is about to walk can be listed ahead of time. If a reader's
+ * {@link ReaderBase#isListElementsThreadSafe() listElements} is thread-safe, they are listed in
+ * parallel on background threads. Otherwise, the reader is {@linkplain
+ * ReaderBase#prefetchListElements hinted} to list them.
+ */
+public final class ListingCache {
+  // listing directories is I/O bound
+  private static final int PARALLELISM = 8;
+
+  private record Key(boolean isModuleKey, String directory) {}
+
+  private final Map<Key, Future<List<PathElement>>> listings = new HashMap<>();
+
+  private @Nullable ExecutorService executor;
+
+  /** Returns the elements within {@code baseUri}, sorted by {@link PathElement#comparator}. */
+  @TruffleBoundary
+  public List<PathElement> listElements(
+      SecurityManager securityManager, ReaderBase reader, URI baseUri)
+      throws IOException, SecurityManagerException, ExternalReaderProcessException {
+    var key = toKey(reader, baseUri);
+    var future = listings.get(key);
+    if (future != null) {
+      try {
+        return future.get();
+      } catch (ExecutionException e) {
+        // list again below to report the error
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    var elements = sorted(reader.listElements(securityManager, baseUri));
+    listings.put(key, CompletableFuture.completedFuture(elements));
+    return elements;
+  }
+
+  /** Lists the elements within {@code baseUris} ahead of time. */
+  @TruffleBoundary
+  public void prefetch(SecurityManager securityManager, ReaderBase reader, List<URI> baseUris)
+      throws IOException, ExternalReaderProcessException {
+    var uncachedUris = new ArrayList<URI>();
+    for (var baseUri : baseUris) {
+      if (!listings.containsKey(toKey(reader, baseUri))) uncachedUris.add(baseUri);
+    }
+    if (uncachedUris.isEmpty()) return;
+    if (!reader.isListElementsThreadSafe()) {
+      reader.prefetchListElements(securityManager, uncachedUris);
+      return;
+    }
+    var executor = getExecutor();
+    for (var baseUri : uncachedUris) {
+      listings.put(
+          toKey(reader, baseUri),
+          executor.submit(() -> sorted(reader.listElements(securityManager, baseUri))));
+    }
+  }
+
+  /** Discards all cached listings. */
+  @TruffleBoundary
+  public void clear() {
+    for (var future : listings.values()) {
+      future.cancel(true);
+    }
+    listings.clear();
+  }
+
+  /**
+   * Discards the cached listings of the given URIs and their parent directories, which may have
+   * changed if elements with the given URIs were created, modified, or deleted.
+   */
+  @TruffleBoundary
+  public void invalidate(Collection<URI> changedUris) {
+    var directories = new HashSet<String>();
+    for (var uri : changedUris) {
+      directories.add(toDirectory(uri));
+      var path = uri.getPath();
+      if (!uri.isOpaque() && path != null) {
+        directories.add(toDirectory(uri.resolve(path.endsWith("/") ? ".." : ".")));
+      }
+    }
+    listings.keySet().removeIf((key) -> directories.contains(key.directory()));
+  }
+
+  private static Key toKey(ReaderBase reader, URI baseUri) {
+    return new Key(reader instanceof ModuleKey, toDirectory(baseUri));
+  }
+
+  private static String toDirectory(URI uri) {
+    var str = uri.normalize().toString();
+    return str.endsWith("/") ? str.substring(0, str.length() - 1) : str;
+  }
+
+  private static List<PathElement> sorted(List<PathElement> elements) {
+    var result = new ArrayList<>(elements);
+    result.sort(PathElement.comparator);
+    return Collections.unmodifiableList(result);
+  }
+
+  private ExecutorService getExecutor() {
+    if (executor == null) {
+      var threadPool =
+          new ThreadPoolExecutor(
+              PARALLELISM,
+              PARALLELISM,
+              10,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              runnable -> {
+                var thread = new Thread(runnable, "Pkl Directory Lister");
+                thread.setDaemon(true);
+                return thread;
+              });
+      // no need to shut down the executor once idle threads have terminated
+      threadPool.allowCoreThreadTimeOut(true);
+      executor = threadPool;
+    }
+    return executor;
+  }
+}
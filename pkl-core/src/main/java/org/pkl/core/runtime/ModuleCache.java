@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,7 +22,11 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -36,6 +40,7 @@ import org.pkl.core.module.ModuleKeys;
 import org.pkl.core.module.ResolvedModuleKey;
 import org.pkl.core.packages.PackageLoadError;
 import org.pkl.core.util.Nullable;
+import org.pkl.parser.syntax.Module;
 
 /**
  * Caches modules by the URI originally specified in the importing module, and also by the resolved
@@ -43,6 +48,10 @@ import org.pkl.core.util.Nullable;
  * incurred by resolving a module multiple times. Caching by resolved URI avoids any overhead
  * incurred by evaluating a module multiple times, and also avoids any inconsistencies caused by
  * module contents changing during evaluation.
+ *
+ * <p>Also records which modules import which modules and read which resources. This dependency
+ * graph allows {@link #invalidate} to discard only the modules affected by a change, keeping all
+ * other modules warm.
  */
 public final class ModuleCache {
   private static final Set<URI> STDLIB_MODULE_URIS =
@@ -50,14 +59,24 @@ public final class ModuleCache {
           .map(URI::create)
           .collect(Collectors.toSet());
 
-  public ModuleCache() {}
+  private final @Nullable ModulePrefetcher prefetcher;
+
+  public ModuleCache(@Nullable ModulePrefetcher prefetcher) {
+    this.prefetcher = prefetcher;
+  }
 
   public interface ModuleInitializer {
+    /**
+     * Initializes {@code emptyModule}.
+     *
+     * <p>If {@code parsedModule} is non-null, it is the result of parsing {@code source}.
+     */
     void initialize(
         ModuleKey moduleKey,
         ResolvedModuleKey resolvedModuleKey,
         ModuleResolver moduleResolver,
         Source source,
+        @Nullable Module parsedModule,
         VmTyped emptyModule,
         @Nullable Node importNode);
   }
@@ -70,6 +89,11 @@ public final class ModuleCache {
   private final Map<URI, Object> modulesByOriginalUri = new HashMap<>();
   private final Map<URI, Object> modulesByResolvedUri = new HashMap<>();
 
+  // module or resource URI -> URIs of modules that imported or read it
+  private final Map<URI, Set<URI>> dependents = new HashMap<>();
+  // resolved module URI -> original module URIs, and vice versa
+  private final Map<URI, Set<URI>> aliases = new HashMap<>();
+
   @TruffleBoundary
   public synchronized VmTyped getOrLoad(
       ModuleKey moduleKey,
@@ -126,11 +150,19 @@ public final class ModuleCache {
       }
     }
 
+    if (importNode != null) {
+      var importingSection = importNode.getSourceSection();
+      if (importingSection != null) {
+        doRecordDependency(importingSection.getSource().getURI(), moduleKey.getUri());
+      }
+    }
+
     if (!moduleKey.isCached()) {
       var resolvedKey = resolve(moduleKey, securityManager, importNode);
       return doLoad(
           moduleKey,
           resolvedKey,
+          null,
           moduleResolver,
           moduleInstantiator,
           moduleInitializer,
@@ -146,7 +178,11 @@ public final class ModuleCache {
       throw (RuntimeException) module1;
     }
 
-    var resolvedKey = resolve(moduleKey, securityManager, importNode);
+    var prefetched = prefetcher == null ? null : prefetcher.take(moduleKey);
+    var resolvedKey =
+        prefetched != null
+            ? prefetched.resolvedKey()
+            : resolve(moduleKey, securityManager, importNode);
     var module2 = modulesByResolvedUri.get(resolvedKey.getUri());
     if (module2 != null) {
       if (module2 instanceof VmTyped typed) return typed;
@@ -157,28 +193,124 @@ public final class ModuleCache {
     }
 
     return doLoad(
-        moduleKey, resolvedKey, moduleResolver, moduleInstantiator, moduleInitializer, importNode);
+        moduleKey,
+        resolvedKey,
+        prefetched,
+        moduleResolver,
+        moduleInstantiator,
+        moduleInitializer,
+        importNode);
+  }
+
+  /** Discards all cached modules. */
+  @TruffleBoundary
+  public synchronized void clear() {
+    if (prefetcher != null) prefetcher.clear();
+    modulesByOriginalUri.clear();
+    modulesByResolvedUri.clear();
+    dependents.clear();
+    aliases.clear();
+  }
+
+  /**
+   * Records that the module with URI {@code dependentModuleUri} imported the module or read the
+   * resource with URI {@code dependencyUri}.
+   */
+  @TruffleBoundary
+  public synchronized void recordDependency(URI dependentModuleUri, URI dependencyUri) {
+    doRecordDependency(dependentModuleUri, dependencyUri);
+  }
+
+  /**
+   * Discards the cached modules with the given original or resolved URIs, and all cached modules
+   * that directly or transitively import them or read resources with the given URIs.
+   *
+   * <p>Returns the URIs of the discarded modules, as originally specified by their importers.
+   */
+  @TruffleBoundary
+  public synchronized Set<URI> invalidate(Collection<URI> changedUris) {
+    // prefetched modules aren't part of the dependency graph yet
+    if (prefetcher != null) prefetcher.clear();
+    var result = new LinkedHashSet<URI>();
+    var visited = new HashSet<URI>();
+    var queue = new ArrayDeque<URI>();
+    for (var uri : changedUris) {
+      queue.add(uri.normalize());
+    }
+    while (!queue.isEmpty()) {
+      var uri = queue.remove();
+      if (!visited.add(uri)) continue;
+
+      if (modulesByOriginalUri.remove(uri) != null) {
+        result.add(uri);
+      }
+      modulesByResolvedUri.remove(uri);
+      var uriAliases = aliases.remove(uri);
+      if (uriAliases != null) queue.addAll(uriAliases);
+      var uriDependents = dependents.remove(uri);
+      if (uriDependents != null) queue.addAll(uriDependents);
+    }
+    return result;
+  }
+
+  /** Returns the URIs of all modules and resources that cached modules are known to depend on. */
+  @TruffleBoundary
+  public synchronized Set<URI> getDependencyUris() {
+    var result = new HashSet<URI>(dependents.keySet());
+    result.addAll(aliases.keySet());
+    return result;
+  }
+
+  private void doRecordDependency(URI dependentModuleUri, URI dependencyUri) {
+    if (dependentModuleUri.equals(dependencyUri)) return;
+    dependents
+        .computeIfAbsent(dependencyUri.normalize(), (uri) -> new HashSet<>())
+        .add(dependentModuleUri);
+  }
+
+  private void recordAlias(URI originalUri, URI resolvedUri) {
+    if (originalUri.equals(resolvedUri)) return;
+    aliases.computeIfAbsent(originalUri, (uri) -> new HashSet<>()).add(resolvedUri);
+    aliases.computeIfAbsent(resolvedUri, (uri) -> new HashSet<>()).add(originalUri);
   }
 
   private VmTyped doLoad(
       ModuleKey moduleKey,
       ResolvedModuleKey resolvedKey,
+      ModulePrefetcher.@Nullable Prefetched prefetched,
       ModuleResolver moduleResolver,
       Supplier<VmTyped> moduleInstantiator,
       ModuleInitializer moduleInitializer,
       @Nullable Node importNode) {
 
     VmTyped module = moduleInstantiator.get();
+    recordAlias(moduleKey.getUri(), resolvedKey.getUri());
 
     try {
-      var result = VmUtils.loadSource(resolvedKey);
+      Source result;
+      if (prefetched != null) {
+        assert prefetcher != null;
+        result = prefetched.source();
+        prefetcher.prefetchResources(prefetched);
+      } else {
+        result = VmUtils.loadSource(resolvedKey);
+        if (prefetcher != null && moduleKey.isCached()) {
+          prefetcher.prefetchDependencies(resolvedKey, result);
+        }
+      }
 
       // cache module before initializing it to handle recursive module dependencies (cf. ClassNode)
       modulesByOriginalUri.put(moduleKey.getUri(), module);
       modulesByResolvedUri.put(resolvedKey.getUri(), module);
 
       moduleInitializer.initialize(
-          moduleKey, resolvedKey, moduleResolver, result, module, importNode);
+          moduleKey,
+          resolvedKey,
+          moduleResolver,
+          result,
+          prefetched == null ? null : prefetched.parsedModule(),
+          module,
+          importNode);
     } catch (Exception e) {
       // handle error deterministically by caching it and rethrowing it when the module is loaded
       // again
@@ -0,0 +1,242 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.Source;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import org.pkl.core.ast.builder.ImportsAndReadsParser;
+import org.pkl.core.module.ModuleKey;
+import org.pkl.core.module.ModuleKeys;
+import org.pkl.core.module.ResolvedModuleKey;
+import org.pkl.core.resource.ResourceReader;
+import org.pkl.core.util.IoUtils;
+import org.pkl.core.util.Nullable;
+import org.pkl.parser.Parser;
+import org.pkl.parser.ParserError;
+import org.pkl.parser.syntax.Module;
+
+/**
+ * Loads and parses the static dependencies of modules on background threads, so that evaluation
+ * only blocks on dependencies that haven't finished loading by the time they are imported.
+ *
+ * <p>Whenever {@link ModuleCache} loads a module, the targets of the module's {@code amends} and
+ * {@code extends} clauses and non-glob imports are determined with {@link ImportsAndReadsParser}.
+ * These modules are then resolved, loaded, and parsed in the background, and so are their
+ * dependencies, transitively. Once a prefetched module is loaded by evaluation, the resources that
+ * it statically reads are hinted to their resource readers.
+ *
+ * <p>Prefetching is speculative: a module is prefetched even if the expression that imports it is
+ * never evaluated. Failures are ignored; they resurface if and when the module is loaded by
+ * evaluation. Module key factories and module keys are used from multiple threads, and must
+ * therefore be thread-safe.
+ */
+public final class ModulePrefetcher implements AutoCloseable {
+  private final ExecutorService executor;
+
+  // original module URI -> prefetched module
+  private final Map<URI, Future<Prefetched>> modules = new ConcurrentHashMap<>();
+
+  // original URIs of all modules ever scheduled, to avoid prefetching a module more than once
+  private final Set<URI> scheduledUris = ConcurrentHashMap.newKeySet();
+
+  /**
+   * A module loaded ahead of time.
+   *
+   * @param parsedModule The parsed module, or {@code null} if the module failed to parse.
+   * @param resourceUris The resolved URIs of the resources that the module statically reads.
+   */
+  record Prefetched(
+      ResolvedModuleKey resolvedKey,
+      Source source,
+      @Nullable Module parsedModule,
+      List<URI> resourceUris) {}
+
+  public ModulePrefetcher(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("`parallelism` must be positive, but was " + parallelism);
+    }
+    executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            runnable -> {
+              var thread = new Thread(runnable, "Pkl Module Prefetcher");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Returns the prefetched module with the given key, waiting for it to finish loading if
+   * necessary, or {@code null} if the module hasn't been prefetched or failed to load.
+   */
+  @TruffleBoundary
+  @Nullable
+  Prefetched take(ModuleKey moduleKey) {
+    // don't prefetch a module that is already being loaded by evaluation
+    scheduledUris.add(moduleKey.getUri());
+    var future = modules.remove(moduleKey.getUri());
+    if (future == null) return null;
+    try {
+      return future.get();
+    } catch (ExecutionException | CancellationException e) {
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  /** Starts prefetching the dependencies of a module that was loaded by evaluation. */
+  @TruffleBoundary
+  void prefetchDependencies(ResolvedModuleKey resolvedKey, Source source) {
+    var context = VmContext.get(null);
+    execute(
+        newTask(
+            context,
+            () -> {
+              var parsedModule = parse(source);
+              if (parsedModule != null) {
+                doPrefetchDependencies(context, resolvedKey, source, parsedModule);
+              }
+              return null;
+            }));
+  }
+
+  /** Hints the resources statically read by {@code module} to their resource readers. */
+  @TruffleBoundary
+  void prefetchResources(Prefetched module) {
+    if (module.resourceUris().isEmpty()) return;
+    var resourceManager = VmContext.get(null).getResourceManager();
+    var urisByReader = new LinkedHashMap<ResourceReader, List<URI>>();
+    for (var uri : module.resourceUris()) {
+      var reader = resourceManager.getResourceReader(uri);
+      if (reader == null) continue;
+      urisByReader.computeIfAbsent(reader, (r) -> new ArrayList<>()).add(uri);
+    }
+    for (var entry : urisByReader.entrySet()) {
+      resourceManager.prefetch(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /** Discards all prefetched modules. */
+  void clear() {
+    for (var future : modules.values()) {
+      future.cancel(true);
+    }
+    modules.clear();
+    scheduledUris.clear();
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    clear();
+  }
+
+  private void schedule(VmContext context, ModuleKey moduleKey) {
+    if (ModuleKeys.isStdLibModule(moduleKey) || !moduleKey.isCached()) return;
+    var uri = moduleKey.getUri();
+    if (!scheduledUris.add(uri)) return;
+    // publish the future before running it, so that `take` and `clear` can't miss it
+    var future = newTask(context, () -> load(context, moduleKey));
+    modules.put(uri, future);
+    if (!execute(future)) modules.remove(uri, future);
+  }
+
+  private static <T> FutureTask<T> newTask(VmContext context, Callable<T> task) {
+    return new FutureTask<>(
+        () -> {
+          VmContext.setPrefetchingContext(context);
+          try {
+            return task.call();
+          } finally {
+            VmContext.setPrefetchingContext(null);
+          }
+        });
+  }
+
+  private boolean execute(FutureTask<?> task) {
+    try {
+      executor.execute(task);
+      return true;
+    } catch (RejectedExecutionException e) {
+      // prefetcher has been closed
+      return false;
+    }
+  }
+
+  private Prefetched load(VmContext context, ModuleKey moduleKey) throws Exception {
+    var resolvedKey = moduleKey.resolve(context.getSecurityManager());
+    var source = VmUtils.createSource(moduleKey, resolvedKey.loadSource());
+    var parsedModule = parse(source);
+    var resourceUris =
+        parsedModule == null
+            ? List.<URI>of()
+            : doPrefetchDependencies(context, resolvedKey, source, parsedModule);
+    return new Prefetched(resolvedKey, source, parsedModule, resourceUris);
+  }
+
+  /** Schedules the modules imported by a module, and returns the resources it reads. */
+  private List<URI> doPrefetchDependencies(
+      VmContext context, ResolvedModuleKey resolvedKey, Source source, Module parsedModule) {
+    var entries = parsedModule.accept(new ImportsAndReadsParser(source));
+    if (entries == null) return List.of();
+
+    var securityManager = context.getSecurityManager();
+    var moduleKey = resolvedKey.getOriginal();
+    var resourceUris = new ArrayList<URI>();
+    for (var entry : entries) {
+      if (entry.isGlob()) continue;
+      try {
+        var uri = IoUtils.resolve(securityManager, moduleKey, IoUtils.toUri(entry.stringValue()));
+        if (!uri.isAbsolute()) continue;
+        if (entry.isModule()) {
+          securityManager.checkImportModule(resolvedKey.getUri(), uri);
+          schedule(context, context.getModuleResolver().resolve(uri));
+        } else {
+          resourceUris.add(uri);
+        }
+      } catch (Exception ignored) {
+        // reported if and when the import or read is evaluated
+      }
+    }
+    return resourceUris;
+  }
+
+  private static @Nullable Module parse(Source source) {
+    try {
+      return new Parser().parseModule(source.getCharacters().toString());
+    } catch (ParserError e) {
+      // reported when the module is loaded
+      return null;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Caches compiled regular expressions across all evaluators of this process.
+ *
+ * <p>{@link Pattern}s are immutable and thread-safe, and compiling them is expensive. Caching them
+ * process-wide avoids compiling the same regular expression anew for every evaluation, for example
+ * when a type constraint calls {@code Regex()} for every element of a listing.
+ */
+public final class PatternCache {
+  private static final int MAX_SIZE = 512;
+
+  private static final PatternCache instance = new PatternCache();
+
+  private record Key(String regex, int flags) {}
+
+  private final Map<Key, Pattern> patterns =
+      // only LRU cache available in JDK
+      new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Pattern> eldest) {
+          return size() > MAX_SIZE;
+        }
+      };
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  private PatternCache() {}
+
+  public static PatternCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Returns the compiled form of {@code regex} with the given {@link Pattern} flags, compiling it
+   * if it isn't cached.
+   *
+   * @throws PatternSyntaxException if {@code regex} is not a valid regular expression
+   */
+  @TruffleBoundary
+  public Pattern compile(String regex, int flags) {
+    var key = new Key(regex, flags);
+    Pattern pattern;
+    synchronized (patterns) {
+      pattern = patterns.get(key);
+    }
+    if (pattern != null) {
+      hitCount.incrementAndGet();
+      return pattern;
+    }
+    missCount.incrementAndGet();
+    // compile outside the lock; racing threads compile equivalent patterns
+    pattern = Pattern.compile(regex, flags);
+    synchronized (patterns) {
+      patterns.put(key, pattern);
+    }
+    return pattern;
+  }
+
+  /** Returns the number of times a cached pattern was reused. */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /** Returns the number of times a pattern had to be compiled. */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public int size() {
+    synchronized (patterns) {
+      return patterns.size();
+    }
+  }
+
+  public void clear() {
+    synchronized (patterns) {
+      patterns.clear();
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -71,6 +71,25 @@ public interface ReaderBase {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Hints that {@link #listElements} is about to be called for each of {@code baseUris}.
+   *
+   * <p>Readers that incur a round trip for each call to {@link #listElements} can use this hint to
+   * list elements ahead of time. The default implementation does nothing.
+   */
+  default void prefetchListElements(SecurityManager securityManager, List<URI> baseUris)
+      throws IOException, ExternalReaderProcessException {}
+
+  /**
+   * Tells if {@link #listElements} may be called concurrently from multiple threads.
+   *
+   * <p>If {@code true}, glob patterns containing {@code **} list sibling directories in parallel.
+   * The default implementation returns {@code false}.
+   */
+  default boolean isListElementsThreadSafe() {
+    return false;
+  }
+
   default URI resolveUri(URI baseUri, URI uri) throws IOException, SecurityManagerException {
     return IoUtils.resolve(this, baseUri, uri);
   }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,10 +20,14 @@ import com.oracle.truffle.api.nodes.Node;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import org.pkl.core.ResourceCacheStats;
 import org.pkl.core.SecurityManager;
 import org.pkl.core.SecurityManagerException;
 import org.pkl.core.externalreader.ExternalReaderProcessException;
@@ -32,18 +36,61 @@ import org.pkl.core.packages.PackageLoadError;
 import org.pkl.core.resource.Resource;
 import org.pkl.core.resource.ResourceReader;
 import org.pkl.core.stdlib.VmObjectFactory;
+import org.pkl.core.util.ByteArrayUtils;
 import org.pkl.core.util.Nullable;
 
+/**
+ * Reads resources and caches them until they are invalidated, which makes resource reads
+ * deterministic.
+ *
+ * <p>The cache can be limited to a number of bytes, estimated from the size of resource contents.
+ * Once the limit is exceeded, the least recently read resources are evicted. For each evicted
+ * resource, the SHA-256 hash of its contents is retained. If an evicted resource is read again,
+ * and its contents no longer match the retained hash, the read fails instead of returning contents
+ * that differ from those observed earlier.
+ */
 public final class ResourceManager {
   private final Map<String, ResourceReader> resourceReaders = new HashMap<>();
   private final SecurityManager securityManager;
   private final VmObjectFactory<Resource> resourceFactory;
+  private final long maxBytes;
+
+  // in access order, from least to most recently read
+  private final Map<URI, CachedResource> resources = new LinkedHashMap<>(16, 0.75f, true);
 
-  // cache resources indefinitely to make resource reads deterministic
-  private final Map<URI, Optional<Object>> resources = new HashMap<>();
+  // content hashes of evicted resources
+  private final Map<URI, String> evictedHashes = new HashMap<>();
+
+  // only written by the thread that evaluates in this manager's context
+  private volatile long bytesHeld;
+  private volatile long hitCount;
+  private volatile long missCount;
+  private volatile long evictionCount;
+
+  /**
+   * @param value The resource as returned by {@link #read}.
+   * @param content The resource's contents (a {@link String} or {@code byte[]}), or {@code null} if
+   *     the resource doesn't exist.
+   * @param size The estimated size of {@code content} in bytes.
+   */
+  private record CachedResource(Optional<Object> value, @Nullable Object content, long size) {
+    String hash() {
+      if (content == null) return "";
+      if (content instanceof String string) {
+        return ByteArrayUtils.sha256(string.getBytes(StandardCharsets.UTF_8));
+      }
+      return ByteArrayUtils.sha256((byte[]) content);
+    }
+  }
 
   public ResourceManager(SecurityManager securityManager, Collection<ResourceReader> readers) {
+    this(securityManager, readers, Long.MAX_VALUE);
+  }
+
+  public ResourceManager(
+      SecurityManager securityManager, Collection<ResourceReader> readers, long maxBytes) {
     this.securityManager = securityManager;
+    this.maxBytes = maxBytes;
 
     for (var reader : readers) {
       resourceReaders.put(reader.getUriScheme(), reader);
@@ -95,36 +142,125 @@ public final class ResourceManager {
 
   @TruffleBoundary
   public Optional<Object> read(URI resourceUri, @Nullable Node readNode) {
-    return resources.computeIfAbsent(
-        resourceUri.normalize(),
-        (uri) -> {
-          try {
-            securityManager.checkReadResource(uri);
-          } catch (SecurityManagerException e) {
-            throw new VmExceptionBuilder().withCause(e).withOptionalLocation(readNode).build();
-          }
-          var reader = getResourceReader(uri);
-          if (reader == null) {
-            throw new VmExceptionBuilder()
-                .withOptionalLocation(readNode)
-                .evalError("noResourceReaderRegistered", uri.getScheme())
-                .build();
-          }
-          var resource = doRead(reader, uri, readNode);
-          if (resource.isEmpty()) return resource;
-
-          var res = resource.get();
-          if (res instanceof String) return resource;
-
-          if (res instanceof Resource r) {
-            return Optional.of(resourceFactory.create(r));
-          }
-
-          throw new VmExceptionBuilder()
-              .evalError("unsupportedResourceType", reader.getClass().getName(), res.getClass())
-              .withOptionalLocation(readNode)
-              .build();
-        });
+    var uri = resourceUri.normalize();
+    var cached = resources.get(uri);
+    if (cached != null) {
+      hitCount++;
+      return cached.value();
+    }
+    missCount++;
+    var resource = load(uri, readNode);
+    var evictedHash = evictedHashes.get(uri);
+    if (evictedHash != null) {
+      if (!evictedHash.equals(resource.hash())) {
+        throw new VmExceptionBuilder()
+            .evalError("resourceChangedSinceFirstRead", uri)
+            .withOptionalLocation(readNode)
+            .build();
+      }
+      evictedHashes.remove(uri);
+    }
+    resources.put(uri, resource);
+    bytesHeld += resource.size();
+    evictIfNecessary();
+    return resource.value();
+  }
+
+  private CachedResource load(URI uri, @Nullable Node readNode) {
+    try {
+      securityManager.checkReadResource(uri);
+    } catch (SecurityManagerException e) {
+      throw new VmExceptionBuilder().withCause(e).withOptionalLocation(readNode).build();
+    }
+    var reader = getResourceReader(uri);
+    if (reader == null) {
+      throw new VmExceptionBuilder()
+          .withOptionalLocation(readNode)
+          .evalError("noResourceReaderRegistered", uri.getScheme())
+          .build();
+    }
+    var resource = doRead(reader, uri, readNode);
+    if (resource.isEmpty()) return new CachedResource(resource, null, 0);
+
+    var res = resource.get();
+    if (res instanceof String string) {
+      // strings are stored in UTF-16 in the worst case
+      return new CachedResource(resource, string, 2L * string.length());
+    }
+
+    if (res instanceof Resource r) {
+      return new CachedResource(
+          Optional.of(resourceFactory.create(r)), r.bytes(), r.bytes().length);
+    }
+
+    throw new VmExceptionBuilder()
+        .evalError("unsupportedResourceType", reader.getClass().getName(), res.getClass())
+        .withOptionalLocation(readNode)
+        .build();
+  }
+
+  private void evictIfNecessary() {
+    if (bytesHeld <= maxBytes) return;
+    var iterator = resources.entrySet().iterator();
+    while (bytesHeld > maxBytes && iterator.hasNext()) {
+      var entry = iterator.next();
+      var resource = entry.getValue();
+      // keep empty and nonexistent resources, which are cheap to hold
+      if (resource.size() == 0) continue;
+      iterator.remove();
+      bytesHeld -= resource.size();
+      evictedHashes.put(entry.getKey(), resource.hash());
+      evictionCount++;
+    }
+  }
+
+  /**
+   * Hints that the resources with the given URIs, which are read by {@code reader}, are about to be
+   * read. Resources that are already cached or may not be read are skipped.
+   */
+  @TruffleBoundary
+  public void prefetch(ResourceReader reader, Collection<URI> resourceUris) {
+    var uris = new ArrayList<URI>();
+    for (var uri : resourceUris) {
+      var normalized = uri.normalize();
+      if (resources.containsKey(normalized)) continue;
+      try {
+        securityManager.checkReadResource(normalized);
+      } catch (SecurityManagerException e) {
+        continue;
+      }
+      uris.add(normalized);
+    }
+    if (uris.isEmpty()) return;
+    try {
+      reader.prefetch(uris);
+    } catch (IOException | ExternalReaderProcessException ignored) {
+      // reported if and when a resource is read
+    }
+  }
+
+  /** Discards all cached resources. */
+  @TruffleBoundary
+  public void clearCache() {
+    resources.clear();
+    evictedHashes.clear();
+    bytesHeld = 0;
+  }
+
+  /** Discards the cached resources with the given URIs. */
+  @TruffleBoundary
+  public void invalidate(Collection<URI> resourceUris) {
+    for (var uri : resourceUris) {
+      var normalized = uri.normalize();
+      var resource = resources.remove(normalized);
+      if (resource != null) bytesHeld -= resource.size();
+      evictedHashes.remove(normalized);
+    }
+  }
+
+  /** Returns statistics of this manager's resource cache. Can be called from any thread. */
+  public ResourceCacheStats getCacheStats() {
+    return new ResourceCacheStats(bytesHeld, maxBytes, hitCount, missCount, evictionCount);
   }
 
   /**
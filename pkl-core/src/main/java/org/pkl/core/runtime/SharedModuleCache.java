@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.runtime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.Source;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.pkl.core.module.ResolvedModuleKey;
+import org.pkl.core.util.Nullable;
+import org.pkl.parser.syntax.Module;
+
+/**
+ * Caches parsed modules across all evaluators that share a {@link VmLanguage} instance, that is,
+ * across all evaluators created from the same Truffle engine.
+ *
+ * <p>Only modules whose source cannot change over the lifetime of the process are cached: standard
+ * library modules and modules of (checksummed) packages. Entries are keyed by resolved module URI
+ * and are only reused if the module's source text is identical.
+ *
+ * <p>This cache only holds {@link Source}s and parse trees, which are immutable. Each evaluator
+ * still builds its own Truffle AST and module objects, which keeps module identity scoped to an
+ * evaluator.
+ */
+public final class SharedModuleCache {
+  private static final int MAX_SIZE = 1024;
+
+  public record Entry(Source source, Module module) {}
+
+  private final Map<URI, Entry> entries =
+      // only LRU cache available in JDK
+      new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<URI, SharedModuleCache.Entry> eldest) {
+          return size() > MAX_SIZE;
+        }
+      };
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  /** Tells if the module with the given resolved key is eligible for caching. */
+  public static boolean isCacheable(ResolvedModuleKey resolvedKey) {
+    var scheme = resolvedKey.getUri().getScheme();
+    return "pkl".equalsIgnoreCase(scheme)
+        || "package".equalsIgnoreCase(scheme)
+        || "projectpackage".equalsIgnoreCase(scheme);
+  }
+
+  /**
+   * Returns the cached entry for the given module, or {@code null} if the module hasn't been cached
+   * or its source text has changed.
+   */
+  @TruffleBoundary
+  public @Nullable Entry get(URI resolvedUri, String sourceText) {
+    Entry entry;
+    synchronized (entries) {
+      entry = entries.get(resolvedUri);
+    }
+    if (entry == null || !entry.source.getCharacters().toString().equals(sourceText)) {
+      missCount.incrementAndGet();
+      return null;
+    }
+    hitCount.incrementAndGet();
+    return entry;
+  }
+
+  @TruffleBoundary
+  public void put(URI resolvedUri, Source source, Module module) {
+    synchronized (entries) {
+      entries.put(resolvedUri, new Entry(source, module));
+    }
+  }
+
+  /** Returns the number of times a cached parse result was reused. */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /** Returns the number of times a cacheable module had to be parsed. */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -51,7 +51,11 @@ public abstract class StdLibModule {
                       null,
                       null,
                       null,
-                      TraceMode.COMPACT));
+                      TraceMode.COMPACT,
+                      false,
+                      null,
+                      null,
+                      null));
               var language = VmLanguage.get(null);
               var moduleKey = ModuleKeys.standardLibrary(uri);
               var source = VmUtils.loadSource((ResolvedModuleKey) moduleKey);
@@ -60,6 +64,7 @@ public abstract class StdLibModule {
                   (ResolvedModuleKey) moduleKey,
                   vmContext.getModuleResolver(),
                   source,
+                  null,
                   instance,
                   null);
               // evaluate eagerly to increase thread safety
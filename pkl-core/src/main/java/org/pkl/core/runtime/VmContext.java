@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.Map;
 import org.pkl.core.Logger;
 import org.pkl.core.SecurityManager;
 import org.pkl.core.StackFrameTransformer;
+import org.pkl.core.ast.builder.ImportsAndReadsCache;
 import org.pkl.core.evaluatorSettings.TraceMode;
 import org.pkl.core.http.HttpClient;
 import org.pkl.core.module.ProjectDependenciesManager;
@@ -34,6 +35,9 @@ public final class VmContext {
   private static final ContextReference<VmContext> REFERENCE =
       ContextReference.create(VmLanguage.class);
 
+  // the context that the current thread prefetches modules for (see ModulePrefetcher)
+  private static final ThreadLocal<@Nullable VmContext> prefetchingContext = new ThreadLocal<>();
+
   @LateInit private Holder holder;
 
   public static final class Holder {
@@ -49,9 +53,14 @@ public final class VmContext {
     private final Path moduleCacheDir;
     private final Map<String, String> externalProperties;
     private final ModuleCache moduleCache;
+    private final ListingCache listingCache = new ListingCache();
     private final @Nullable PackageResolver packageResolver;
     private final @Nullable ProjectDependenciesManager projectDependenciesManager;
     private final TraceMode traceMode;
+    private final boolean sharedModuleCacheEnabled;
+    private final @Nullable ImportsAndReadsCache importsAndReadsCache;
+    private final @Nullable VmProfiler profiler;
+    private final @Nullable ModulePrefetcher modulePrefetcher;
 
     public Holder(
         StackFrameTransformer frameTransformer,
@@ -66,7 +75,11 @@ public final class VmContext {
         @Nullable String outputFormat,
         @Nullable PackageResolver packageResolver,
         @Nullable ProjectDependenciesManager projectDependenciesManager,
-        TraceMode traceMode) {
+        TraceMode traceMode,
+        boolean sharedModuleCacheEnabled,
+        @Nullable ImportsAndReadsCache importsAndReadsCache,
+        @Nullable VmProfiler profiler,
+        @Nullable ModulePrefetcher modulePrefetcher) {
 
       this.frameTransformer = frameTransformer;
       this.securityManager = securityManager;
@@ -84,10 +97,14 @@ public final class VmContext {
       }
       this.externalProperties = props;
 
-      moduleCache = new ModuleCache();
+      moduleCache = new ModuleCache(modulePrefetcher);
       this.packageResolver = packageResolver;
       this.projectDependenciesManager = projectDependenciesManager;
       this.traceMode = traceMode;
+      this.sharedModuleCacheEnabled = sharedModuleCacheEnabled;
+      this.importsAndReadsCache = importsAndReadsCache;
+      this.profiler = profiler;
+      this.modulePrefetcher = modulePrefetcher;
     }
   }
 
@@ -95,6 +112,25 @@ public final class VmContext {
     return REFERENCE.get(node);
   }
 
+  /**
+   * Like {@link #get}, but also works on threads that prefetch modules on behalf of a context.
+   *
+   * <p>Intended for module resolution code that may run on such a thread. This code may only use
+   * the context's thread-safe services, such as its HTTP client and package resolver.
+   */
+  public static VmContext getForModuleResolution() {
+    var context = prefetchingContext.get();
+    return context != null ? context : get(null);
+  }
+
+  static void setPrefetchingContext(@Nullable VmContext context) {
+    if (context == null) {
+      prefetchingContext.remove();
+    } else {
+      prefetchingContext.set(context);
+    }
+  }
+
   public void initialize(Holder holder) {
     assert this.holder == null;
     this.holder = holder;
@@ -104,6 +140,10 @@ public final class VmContext {
     return holder.moduleCache;
   }
 
+  public ListingCache getListingCache() {
+    return holder.listingCache;
+  }
+
   public @Nullable Path getModuleCacheDir() {
     return holder.moduleCacheDir;
   }
@@ -151,4 +191,26 @@ public final class VmContext {
   public TraceMode getTraceMode() {
     return holder.traceMode;
   }
+
+  /**
+   * Tells if parsed modules may be shared with other contexts through {@link SharedModuleCache}.
+   */
+  public boolean isSharedModuleCacheEnabled() {
+    return holder.sharedModuleCacheEnabled;
+  }
+
+  /** Returns the persistent cache for import analysis, or {@code null} if disabled. */
+  public @Nullable ImportsAndReadsCache getImportsAndReadsCache() {
+    return holder.importsAndReadsCache;
+  }
+
+  /** Returns the profiler that evaluation time is attributed to, or {@code null} if disabled. */
+  public @Nullable VmProfiler getProfiler() {
+    return holder.profiler;
+  }
+
+  /** Returns the prefetcher for module dependencies, or {@code null} if disabled. */
+  public @Nullable ModulePrefetcher getModulePrefetcher() {
+    return holder.modulePrefetcher;
+  }
 }
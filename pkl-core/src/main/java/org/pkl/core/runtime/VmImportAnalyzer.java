@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ import org.pkl.core.ImportGraph;
 import org.pkl.core.ImportGraph.Import;
 import org.pkl.core.SecurityManager;
 import org.pkl.core.SecurityManagerException;
+import org.pkl.core.ast.builder.ImportsAndReadsCache;
 import org.pkl.core.ast.builder.ImportsAndReadsParser;
 import org.pkl.core.ast.builder.ImportsAndReadsParser.Entry;
 import org.pkl.core.externalreader.ExternalReaderProcessException;
@@ -39,6 +40,7 @@ import org.pkl.core.packages.PackageLoadError;
 import org.pkl.core.util.GlobResolver;
 import org.pkl.core.util.GlobResolver.InvalidGlobPatternException;
 import org.pkl.core.util.IoUtils;
+import org.pkl.core.util.Nullable;
 
 public class VmImportAnalyzer {
   @TruffleBoundary
@@ -63,7 +65,13 @@ public class VmImportAnalyzer {
       Map<URI, URI> resolvedImports) {
     var moduleResolver = context.getModuleResolver();
     var securityManager = context.getSecurityManager();
-    var collectedImports = collectImports(resolvedModuleKey, moduleResolver, securityManager);
+    var collectedImports =
+        collectImports(
+            resolvedModuleKey,
+            moduleResolver,
+            securityManager,
+            context.getListingCache(),
+            context.getImportsAndReadsCache());
     var importsInModule = new TreeSet<Import>();
     for (var imprt : collectedImports) {
       importsInModule.add(imprt.toImport());
@@ -81,11 +89,13 @@ public class VmImportAnalyzer {
   private static Set<ImportEntry> collectImports(
       ResolvedModuleKey resolvedModuleKey,
       ModuleResolver moduleResolver,
-      SecurityManager securityManager) {
+      SecurityManager securityManager,
+      ListingCache listingCache,
+      @Nullable ImportsAndReadsCache cache) {
     List<Entry> importsAndReads;
     var moduleKey = resolvedModuleKey.getOriginal();
     try {
-      importsAndReads = ImportsAndReadsParser.parse(moduleKey, resolvedModuleKey);
+      importsAndReads = ImportsAndReadsParser.parse(moduleKey, resolvedModuleKey, cache);
     } catch (VmException err) {
       throw new VmExceptionBuilder()
           .evalError("cannotAnalyzeBecauseSyntaxError", moduleKey.getUri())
@@ -110,6 +120,7 @@ public class VmImportAnalyzer {
               GlobResolver.resolveGlob(
                   securityManager,
                   theModuleKey,
+                  listingCache,
                   moduleKey,
                   moduleKey.getUri(),
                   entry.stringValue());
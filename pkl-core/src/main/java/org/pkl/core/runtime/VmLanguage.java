@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,6 +49,9 @@ public final class VmLanguage extends TruffleLanguage<VmContext> {
   public final ContextThreadLocal<VmLocalContext> localContext =
       locals.createContextThreadLocal((ignoredCtx, ignoredThread) -> new VmLocalContext());
 
+  // shared by all contexts of this language's engine
+  private final SharedModuleCache sharedModuleCache = new SharedModuleCache();
+
   @Override
   protected VmContext createContext(Env env) {
     return new VmContext();
@@ -87,22 +90,50 @@ public final class VmLanguage extends TruffleLanguage<VmContext> {
             importNode);
   }
 
+  public SharedModuleCache getSharedModuleCache() {
+    return sharedModuleCache;
+  }
+
   void initializeModule(
       ModuleKey moduleKey,
       ResolvedModuleKey resolvedModuleKey,
       ModuleResolver moduleResolver,
       Source source,
+      @Nullable Module parsedModule,
       VmTyped emptyModule,
       @Nullable Node importNode) {
-    var parser = new Parser();
-    Module moduleContext;
     var sourceStr = source.getCharacters().toString();
-    try {
-      moduleContext = parser.parseModule(sourceStr);
-    } catch (ParserError e) {
-      var moduleName = IoUtils.inferModuleName(moduleKey);
-      MinPklVersionChecker.check(moduleName, e.getPartialParseResult(), importNode, sourceStr);
-      throw VmUtils.toVmException(e, source, moduleName);
+    var useSharedCache =
+        VmContext.get(null).isSharedModuleCacheEnabled()
+            && SharedModuleCache.isCacheable(resolvedModuleKey);
+    var cached =
+        useSharedCache ? sharedModuleCache.get(resolvedModuleKey.getUri(), sourceStr) : null;
+
+    Module moduleContext;
+    if (cached != null) {
+      // source URIs are derived from the original (unresolved) module key
+      if (cached.source().getURI().equals(source.getURI())) {
+        source = cached.source();
+      }
+      moduleContext = cached.module();
+    } else if (parsedModule != null) {
+      // parsed ahead of time by ModulePrefetcher
+      moduleContext = parsedModule;
+      if (useSharedCache) {
+        sharedModuleCache.put(resolvedModuleKey.getUri(), source, moduleContext);
+      }
+    } else {
+      var parser = new Parser();
+      try {
+        moduleContext = parser.parseModule(sourceStr);
+      } catch (ParserError e) {
+        var moduleName = IoUtils.inferModuleName(moduleKey);
+        MinPklVersionChecker.check(moduleName, e.getPartialParseResult(), importNode, sourceStr);
+        throw VmUtils.toVmException(e, source, moduleName);
+      }
+      if (useSharedCache) {
+        sharedModuleCache.put(resolvedModuleKey.getUri(), source, moduleContext);
+      }
     }
 
     var builder =
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,10 +15,13 @@
  */
 package org.pkl.core.runtime;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import org.organicdesign.fp.collections.UnmodCollection;
 import org.organicdesign.fp.collections.UnmodIterable;
 import org.pkl.core.ast.ConstantNode;
@@ -38,12 +41,40 @@ import org.pkl.core.util.paguro.RrbTree.MutRrbt;
 public final class VmList extends VmCollection {
   public static final VmList EMPTY = new VmList(RrbTree.empty());
 
-  private final ImRrbt<Object> rrbt;
+  // the maximum length of a list, which is also the maximum length of an array on common JVMs
+  private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+  // A list whose elements are all `Int`s or all `Float`s is backed by a slice of a `long[]` or
+  // `double[]` instead of an RRB tree. This avoids boxing elements, and makes sublists cheap.
+  // Operations without a fast path use `rrbt()`, which creates an RRB tree on first use.
+  private @Nullable ImRrbt<Object> rrbt;
+  private final long @Nullable [] longs;
+  private final double @Nullable [] doubles;
+  private final int offset;
+  private final int length;
 
   private boolean forced;
 
   private VmList(ImRrbt<Object> rrbt) {
     this.rrbt = rrbt;
+    longs = null;
+    doubles = null;
+    offset = 0;
+    length = rrbt.size();
+  }
+
+  private VmList(long[] longs, int offset, int length) {
+    this.longs = longs;
+    doubles = null;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  private VmList(double[] doubles, int offset, int length) {
+    longs = null;
+    this.doubles = doubles;
+    this.offset = offset;
+    this.length = length;
   }
 
   @TruffleBoundary
@@ -90,41 +121,75 @@ public final class VmList extends VmCollection {
 
   @TruffleBoundary
   public static VmList create(Object[] elements) {
-    if (elements.length == 0) return EMPTY;
-    var vector = RrbTree.emptyMutable();
-    for (var elem : elements) {
-      vector.append(elem);
-    }
-    return new VmList(vector.immutable());
+    return create(elements, elements.length);
   }
 
   @TruffleBoundary
   public static VmList create(byte[] elements) {
     if (elements.length == 0) return EMPTY;
-    var vector = RrbTree.emptyMutable();
-    for (var elem : elements) {
-      vector.append(Byte.toUnsignedLong(elem));
+    var longs = new long[elements.length];
+    for (var i = 0; i < elements.length; i++) {
+      longs[i] = Byte.toUnsignedLong(elements[i]);
     }
-    return new VmList(vector.immutable());
+    return new VmList(longs, 0, longs.length);
+  }
+
+  /**
+   * Returns {@code length} as an {@code int}, or throws a Pkl error if a list cannot have this many
+   * elements. A negative {@code length} stands for a length that doesn't fit into a {@code long}.
+   */
+  public static int checkLength(long length) {
+    if (length < 0 || length > MAX_LENGTH) {
+      CompilerDirectives.transferToInterpreter();
+      throw new VmExceptionBuilder().evalError("listTooLong", String.valueOf(MAX_LENGTH)).build();
+    }
+    return (int) length;
+  }
+
+  /** Creates a list of {@code Int}s that takes ownership of {@code elements}. */
+  public static VmList create(long[] elements) {
+    if (elements.length == 0) return EMPTY;
+    return new VmList(elements, 0, elements.length);
   }
 
   @TruffleBoundary
   public static VmList create(Object[] elements, int length) {
-    if (elements.length == 0) return EMPTY;
-    var vector = RrbTree.emptyMutable();
-    for (var i = 0; i < length; i++) {
-      vector.append(elements[i]);
+    if (length == 0) return EMPTY;
+
+    var first = elements[0];
+    if (first instanceof Long) {
+      var longs = new long[length];
+      for (var i = 0; i < length; i++) {
+        if (!(elements[i] instanceof Long l)) return createTree(elements, length);
+        longs[i] = l;
+      }
+      return new VmList(longs, 0, length);
     }
-    return new VmList(vector.immutable());
+    if (first instanceof Double) {
+      var doubles = new double[length];
+      for (var i = 0; i < length; i++) {
+        if (!(elements[i] instanceof Double d)) return createTree(elements, length);
+        doubles[i] = d;
+      }
+      return new VmList(doubles, 0, length);
+    }
+    return createTree(elements, length);
   }
 
   @TruffleBoundary
   public static VmList createFromConstantNodes(ExpressionNode[] elements) {
-    if (elements.length == 0) return EMPTY;
+    var values = new Object[elements.length];
+    for (var i = 0; i < elements.length; i++) {
+      assert elements[i] instanceof ConstantNode;
+      values[i] = ((ConstantNode) elements[i]).getValue();
+    }
+    return create(values);
+  }
+
+  private static VmList createTree(Object[] elements, int length) {
     var vector = RrbTree.emptyMutable();
-    for (var elem : elements) {
-      assert elem instanceof ConstantNode;
-      vector.append(((ConstantNode) elem).getValue());
+    for (var i = 0; i < length; i++) {
+      vector.append(elements[i]);
     }
     return new VmList(vector.immutable());
   }
@@ -135,36 +200,33 @@ public final class VmList extends VmCollection {
   }
 
   @Override
-  @TruffleBoundary
   public int getLength() {
-    return rrbt.size();
+    return length;
   }
 
   @Override
-  @TruffleBoundary
   public boolean isEmpty() {
-    return rrbt.isEmpty();
+    return length == 0;
   }
 
   @Override
-  @TruffleBoundary
   public boolean isLengthOne() {
-    return rrbt.size() == 1;
+    return length == 1;
   }
 
   public long getLastIndex() {
-    return rrbt.size() - 1;
+    return length - 1;
   }
 
   @Override
   @TruffleBoundary
   public VmList add(Object element) {
-    return VmList.create(rrbt.append(element));
+    return VmList.create(rrbt().append(element));
   }
 
   @TruffleBoundary
   public VmList replace(long index, Object element) {
-    return VmList.create(rrbt.replace((int) index, element));
+    return VmList.create(rrbt().replace((int) index, element));
   }
 
   @TruffleBoundary
@@ -172,18 +234,18 @@ public final class VmList extends VmCollection {
     if (index < 0 || index >= getLength()) {
       return VmNull.withoutDefault();
     }
-    return VmList.create(rrbt.replace((int) index, element));
+    return VmList.create(rrbt().replace((int) index, element));
   }
 
   @Override
   @TruffleBoundary
   public VmList concatenate(VmCollection other) {
-    return other.isEmpty() ? this : VmList.create(rrbt.concat(other));
+    return other.isEmpty() ? this : VmList.create(rrbt().concat(other));
   }
 
   @TruffleBoundary
   public Object get(long index) {
-    return rrbt.get((int) index);
+    return getElement((int) index);
   }
 
   @TruffleBoundary
@@ -191,12 +253,12 @@ public final class VmList extends VmCollection {
     if (index < 0 || index >= getLength()) {
       return VmNull.withoutDefault();
     }
-    return rrbt.get((int) index);
+    return getElement((int) index);
   }
 
   @TruffleBoundary
   public VmList subList(long start, long exclusiveEnd) {
-    return VmList.create(rrbt.subList((int) start, (int) exclusiveEnd));
+    return slice((int) start, (int) exclusiveEnd);
   }
 
   @TruffleBoundary
@@ -209,19 +271,21 @@ public final class VmList extends VmCollection {
     if (exclusiveEnd < start || exclusiveEnd > length) {
       return VmNull.withoutDefault();
     }
-    return VmList.create(rrbt.subList((int) start, (int) exclusiveEnd));
+    return slice((int) start, (int) exclusiveEnd);
   }
 
   @Override
   public Iterator<Object> iterator() {
-    if (rrbt.isEmpty()) return Iterators.emptyTruffleIterator();
-    return new TruffleIterator<>(rrbt);
+    if (length == 0) return Iterators.emptyTruffleIterator();
+    if (isPrimitive()) return new SliceIterator(0, 1);
+    return new TruffleIterator<>(rrbt());
   }
 
   @Override
   public Iterator<Object> reverseIterator() {
-    if (rrbt.isEmpty()) return Iterators.emptyTruffleIterator();
-    return new ReverseTruffleIterator<>(rrbt);
+    if (length == 0) return Iterators.emptyTruffleIterator();
+    if (isPrimitive()) return new SliceIterator(length - 1, -1);
+    return new ReverseTruffleIterator<>(rrbt());
   }
 
   @Override
@@ -233,84 +297,116 @@ public final class VmList extends VmCollection {
   @TruffleBoundary
   public Object getFirst() {
     checkNonEmpty();
-    return rrbt.get(0);
+    return getElement(0);
   }
 
   @TruffleBoundary
   public Object getFirstOrNull() {
-    if (rrbt.isEmpty()) return VmNull.withoutDefault();
-    return rrbt.get(0);
+    if (isEmpty()) return VmNull.withoutDefault();
+    return getElement(0);
   }
 
   @TruffleBoundary
   public VmList getRest() {
     checkNonEmpty();
-    return VmList.create(rrbt.drop(1));
+    return slice(1, length);
   }
 
   @TruffleBoundary
   public Object getRestOrNull() {
-    if (rrbt.isEmpty()) return VmNull.withoutDefault();
-    return VmList.create(rrbt.drop(1));
+    if (isEmpty()) return VmNull.withoutDefault();
+    return slice(1, length);
   }
 
   @TruffleBoundary
   public Object getLast() {
     checkNonEmpty();
-    return rrbt.get(rrbt.size() - 1);
+    return getElement(length - 1);
   }
 
   @TruffleBoundary
   public Object getLastOrNull() {
     if (isEmpty()) return VmNull.withoutDefault();
-    return rrbt.get(rrbt.size() - 1);
+    return getElement(length - 1);
   }
 
   @TruffleBoundary
   public Object getSingle() {
     checkLengthOne();
-    return rrbt.get(0);
+    return getElement(0);
   }
 
   @TruffleBoundary
   public Object getSingleOrNull() {
     if (!isLengthOne()) return VmNull.withoutDefault();
-    return rrbt.get(0);
+    return getElement(0);
   }
 
   @TruffleBoundary
   @SuppressWarnings("deprecation")
   public boolean contains(Object element) {
-    return rrbt.contains(element);
+    if (isPrimitive()) return indexOf(element) != -1;
+    return rrbt().contains(element);
   }
 
   @TruffleBoundary
   public long indexOf(Object elem) {
-    return rrbt.indexOf(elem);
+    if (longs != null) {
+      if (!(elem instanceof Long l)) return -1;
+      for (var i = 0; i < length; i++) {
+        if (longs[offset + i] == l) return i;
+      }
+      return -1;
+    }
+    if (doubles != null) {
+      if (!(elem instanceof Double d)) return -1;
+      for (var i = 0; i < length; i++) {
+        if (Double.valueOf(doubles[offset + i]).equals(d)) return i;
+      }
+      return -1;
+    }
+    return rrbt().indexOf(elem);
   }
 
   @TruffleBoundary
   public Object indexOfOrNull(Object elem) {
-    long result = rrbt.indexOf(elem);
+    long result = indexOf(elem);
     if (result == -1) return VmNull.withoutDefault();
     return result;
   }
 
   @TruffleBoundary
   public long lastIndexOf(Object elem) {
-    return rrbt.lastIndexOf(elem);
+    if (longs != null) {
+      if (!(elem instanceof Long l)) return -1;
+      for (var i = length - 1; i >= 0; i--) {
+        if (longs[offset + i] == l) return i;
+      }
+      return -1;
+    }
+    if (doubles != null) {
+      if (!(elem instanceof Double d)) return -1;
+      for (var i = length - 1; i >= 0; i--) {
+        if (Double.valueOf(doubles[offset + i]).equals(d)) return i;
+      }
+      return -1;
+    }
+    return rrbt().lastIndexOf(elem);
   }
 
   @TruffleBoundary
   public Object lastIndexOfOrNull(Object elem) {
-    long result = rrbt.lastIndexOf(elem);
+    long result = lastIndexOf(elem);
     if (result == -1) return VmNull.withoutDefault();
     return result;
   }
 
   @TruffleBoundary
   public VmPair split(long index) {
-    var tuple = rrbt.split((int) index);
+    if (isPrimitive()) {
+      return new VmPair(slice(0, (int) index), slice((int) index, length));
+    }
+    var tuple = rrbt().split((int) index);
     return new VmPair(VmList.create(tuple._1()), VmList.create(tuple._2()));
   }
 
@@ -325,46 +421,64 @@ public final class VmList extends VmCollection {
   @TruffleBoundary
   public VmList take(long n) {
     if (n == 0) return EMPTY;
-    if (n >= rrbt.size()) return this;
+    if (n >= length) return this;
 
     checkPositive(n);
-    return VmList.create(rrbt.take(n));
+    return slice(0, (int) n);
   }
 
   @TruffleBoundary
   public VmList takeLast(long n) {
     if (n == 0) return EMPTY;
-    if (n >= rrbt.size()) return this;
+    if (n >= length) return this;
 
     checkPositive(n);
-    return VmList.create(rrbt.drop(rrbt.size() - n));
+    return slice(length - (int) n, length);
   }
 
   @TruffleBoundary
   public VmList drop(long n) {
     if (n == 0) return this;
-    if (n >= rrbt.size()) return EMPTY;
+    if (n >= length) return EMPTY;
 
     checkPositive(n);
-    return VmList.create(rrbt.drop(n));
+    return slice((int) n, length);
   }
 
   @TruffleBoundary
   public VmList dropLast(long n) {
     if (n == 0) return this;
-    if (n >= rrbt.size()) return EMPTY;
+    if (n >= length) return EMPTY;
 
     checkPositive(n);
-    return VmList.create(rrbt.take(rrbt.size() - n));
+    return slice(0, length - (int) n);
   }
 
   @TruffleBoundary
   public VmList repeat(long n) {
     if (n == 0) return EMPTY;
-    if (n == 1) return this;
+    if (n == 1 || length == 0) return this;
 
     checkPositive(n);
+    // `length * n` can't overflow if `n` is an `int`
+    var resultLength = checkLength(n > Integer.MAX_VALUE ? -1 : length * n);
 
+    if (longs != null) {
+      var result = new long[resultLength];
+      for (var i = 0; i < n; i++) {
+        System.arraycopy(longs, offset, result, i * length, length);
+      }
+      return create(result);
+    }
+    if (doubles != null) {
+      var result = new double[resultLength];
+      for (var i = 0; i < n; i++) {
+        System.arraycopy(doubles, offset, result, i * length, length);
+      }
+      return new VmList(result, 0, result.length);
+    }
+
+    var rrbt = rrbt();
     var result = rrbt.mutable();
     for (var i = 1; i < n; i++) {
       result = result.concat(rrbt);
@@ -374,12 +488,92 @@ public final class VmList extends VmCollection {
 
   @TruffleBoundary
   public VmList reverse() {
-    return VmList.create(rrbt.reverse());
+    if (longs != null) {
+      var result = new long[length];
+      for (var i = 0; i < length; i++) {
+        result[i] = longs[offset + length - 1 - i];
+      }
+      return create(result);
+    }
+    if (doubles != null) {
+      var result = new double[length];
+      for (var i = 0; i < length; i++) {
+        result[i] = doubles[offset + length - 1 - i];
+      }
+      return new VmList(result, 0, length);
+    }
+    return VmList.create(rrbt().reverse());
   }
 
   @TruffleBoundary
   public Object[] toArray() {
-    return rrbt.toArray();
+    if (isPrimitive()) {
+      var result = new Object[length];
+      for (var i = 0; i < length; i++) {
+        result[i] = getElement(i);
+      }
+      return result;
+    }
+    return rrbt().toArray();
+  }
+
+  /** Returns a copy of this list's elements if this list is backed by {@code Int}s. */
+  @TruffleBoundary
+  public long @Nullable [] toLongArray() {
+    if (longs == null) return null;
+    return Arrays.copyOfRange(longs, offset, offset + length);
+  }
+
+  /**
+   * Returns the first element that isn't greater than any other element if this list is non-empty
+   * and backed by {@code Int}s or {@code Float}s, and {@code null} otherwise.
+   */
+  @TruffleBoundary
+  public @Nullable Object getPrimitiveMin() {
+    if (length == 0) return null;
+    if (longs != null) {
+      var result = longs[offset];
+      for (var i = 1; i < length; i++) {
+        var elem = longs[offset + i];
+        if (elem < result) result = elem;
+      }
+      return result;
+    }
+    if (doubles != null) {
+      var result = doubles[offset];
+      for (var i = 1; i < length; i++) {
+        var elem = doubles[offset + i];
+        if (elem < result) result = elem;
+      }
+      return result;
+    }
+    return null;
+  }
+
+  /**
+   * Returns the first element that isn't less than any other element if this list is non-empty and
+   * backed by {@code Int}s or {@code Float}s, and {@code null} otherwise.
+   */
+  @TruffleBoundary
+  public @Nullable Object getPrimitiveMax() {
+    if (length == 0) return null;
+    if (longs != null) {
+      var result = longs[offset];
+      for (var i = 1; i < length; i++) {
+        var elem = longs[offset + i];
+        if (elem > result) result = elem;
+      }
+      return result;
+    }
+    if (doubles != null) {
+      var result = doubles[offset];
+      for (var i = 1; i < length; i++) {
+        var elem = doubles[offset + i];
+        if (elem > result) result = elem;
+      }
+      return result;
+    }
+    return null;
   }
 
   public VmList toList() {
@@ -388,21 +582,21 @@ public final class VmList extends VmCollection {
 
   @TruffleBoundary
   public VmSet toSet() {
-    if (rrbt.isEmpty()) return VmSet.EMPTY;
-    return VmSet.create(rrbt);
+    if (isEmpty()) return VmSet.EMPTY;
+    return VmSet.create(rrbt());
   }
 
   @TruffleBoundary
   public VmListing toListing() {
-    var builder = new VmObjectBuilder(rrbt.size());
-    for (var elem : rrbt) builder.addElement(elem);
+    var builder = new VmObjectBuilder(length);
+    for (var elem : this) builder.addElement(elem);
     return builder.toListing();
   }
 
   @TruffleBoundary
   public VmDynamic toDynamic() {
-    var builder = new VmObjectBuilder(rrbt.size());
-    for (var elem : rrbt) builder.addElement(elem);
+    var builder = new VmObjectBuilder(length);
+    for (var elem : this) builder.addElement(elem);
     return builder.toDynamic();
   }
 
@@ -413,8 +607,11 @@ public final class VmList extends VmCollection {
 
     forced = true;
 
+    // Ints and Floats don't need forcing
+    if (isPrimitive()) return;
+
     try {
-      for (var elem : rrbt) {
+      for (var elem : rrbt()) {
         VmValue.force(elem, allowUndefinedValues);
       }
     } catch (Throwable t) {
@@ -426,8 +623,8 @@ public final class VmList extends VmCollection {
   @Override
   @TruffleBoundary
   public List<Object> export() {
-    var result = new ArrayList<>(rrbt.size());
-    for (var elem : rrbt) {
+    var result = new ArrayList<>(length);
+    for (var elem : this) {
       result.add(VmValue.export(elem));
     }
     return result;
@@ -447,35 +644,177 @@ public final class VmList extends VmCollection {
   @TruffleBoundary
   public boolean equals(@Nullable Object other) {
     if (this == other) return true;
-    //noinspection SimplifiableIfStatement
     if (!(other instanceof VmList list)) return false;
-    return rrbt.equals(list.rrbt);
+    if (length != list.length) return false;
+
+    if (longs != null && list.longs != null) {
+      return Arrays.equals(
+          longs, offset, offset + length, list.longs, list.offset, list.offset + length);
+    }
+    if (doubles != null && list.doubles != null) {
+      return Arrays.equals(
+          doubles, offset, offset + length, list.doubles, list.offset, list.offset + length);
+    }
+    if (!isPrimitive() && !list.isPrimitive()) {
+      return rrbt().equals(list.rrbt());
+    }
+
+    var iter = iterator();
+    var otherIter = list.iterator();
+    while (iter.hasNext()) {
+      if (!iter.next().equals(otherIter.next())) return false;
+    }
+    return true;
   }
 
   @Override
   @TruffleBoundary
   public int hashCode() {
-    return rrbt.hashCode();
+    // same as `List.hashCode()`, regardless of how this list is backed
+    if (longs != null) {
+      var result = 1;
+      for (var i = 0; i < length; i++) {
+        result = 31 * result + Long.hashCode(longs[offset + i]);
+      }
+      return result;
+    }
+    if (doubles != null) {
+      var result = 1;
+      for (var i = 0; i < length; i++) {
+        result = 31 * result + Double.hashCode(doubles[offset + i]);
+      }
+      return result;
+    }
+    return rrbt().hashCode();
   }
 
+  private boolean isPrimitive() {
+    return longs != null || doubles != null;
+  }
+
+  private Object getElement(int index) {
+    if (longs != null) return longs[offset + index];
+    if (doubles != null) return doubles[offset + index];
+    return getTreeElement(index);
+  }
+
+  @TruffleBoundary
+  private Object getTreeElement(int index) {
+    return rrbt().get(index);
+  }
+
+  private VmList slice(int start, int exclusiveEnd) {
+    if (start == 0 && exclusiveEnd == length) return this;
+    if (start == exclusiveEnd) return EMPTY;
+    if (longs != null) return new VmList(longs, offset + start, exclusiveEnd - start);
+    if (doubles != null) return new VmList(doubles, offset + start, exclusiveEnd - start);
+    return VmList.create(rrbt().subList(start, exclusiveEnd));
+  }
+
+  @TruffleBoundary
+  private ImRrbt<Object> rrbt() {
+    var result = rrbt;
+    if (result == null) {
+      var vector = RrbTree.emptyMutable();
+      for (var i = 0; i < length; i++) {
+        vector.append(getElement(i));
+      }
+      result = vector.immutable();
+      rrbt = result;
+    }
+    return result;
+  }
+
+  /** Iterates over the elements of a list backed by {@code Int}s or {@code Float}s. */
+  private final class SliceIterator implements Iterator<Object> {
+    private int nextIndex;
+    private final int step;
+
+    private SliceIterator(int nextIndex, int step) {
+      this.nextIndex = nextIndex;
+      this.step = step;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextIndex >= 0 && nextIndex < length;
+    }
+
+    @Override
+    public Object next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      var result = getElement(nextIndex);
+      nextIndex += step;
+      return result;
+    }
+  }
+
+  /**
+   * Collects elements into a {@code long[]} or {@code double[]} as long as all elements are {@code
+   * Int}s or all elements are {@code Float}s, and into an RRB tree otherwise.
+   */
   private static final class Builder implements VmCollection.Builder<VmList> {
-    private final MutRrbt<Object> list = RrbTree.emptyMutable();
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long @Nullable [] longs;
+    private double @Nullable [] doubles;
+    private int size;
+    private @Nullable MutRrbt<Object> list;
 
     @Override
     @TruffleBoundary
     public void add(Object element) {
-      list.append(element);
+      if (list != null) {
+        list.append(element);
+      } else if (element instanceof Long l && doubles == null) {
+        if (longs == null) {
+          longs = new long[INITIAL_CAPACITY];
+        } else if (size == longs.length) {
+          longs = Arrays.copyOf(longs, size * 2);
+        }
+        longs[size++] = l;
+      } else if (element instanceof Double d && longs == null) {
+        if (doubles == null) {
+          doubles = new double[INITIAL_CAPACITY];
+        } else if (size == doubles.length) {
+          doubles = Arrays.copyOf(doubles, size * 2);
+        }
+        doubles[size++] = d;
+      } else {
+        toTree().append(element);
+      }
     }
 
     @Override
     @TruffleBoundary
     public void addAll(Iterable<?> elements) {
-      list.concat(elements);
+      for (var element : elements) {
+        add(element);
+      }
     }
 
     @Override
     public VmList build() {
-      return VmList.create(list);
+      if (list != null) return VmList.create(list);
+      if (size == 0) return EMPTY;
+      if (longs != null) return new VmList(longs, 0, size);
+      assert doubles != null;
+      return new VmList(doubles, 0, size);
+    }
+
+    private MutRrbt<Object> toTree() {
+      var result = RrbTree.emptyMutable();
+      for (var i = 0; i < size; i++) {
+        if (longs != null) {
+          result.append(longs[i]);
+        } else if (doubles != null) {
+          result.append(doubles[i]);
+        }
+      }
+      longs = null;
+      doubles = null;
+      list = result;
+      return result;
     }
   }
 }
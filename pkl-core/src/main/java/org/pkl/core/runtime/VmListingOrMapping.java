@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,8 @@ public abstract class VmListingOrMapping extends VmObject {
   private final @Nullable ListingOrMappingTypeCastNode typeCastNode;
   private final @Nullable Object typeCheckReceiver;
   private final @Nullable VmObjectLike typeCheckOwner;
+  // the last type node found by isValueTypeKnownSubtypeOf() (benign race)
+  private @Nullable TypeNode knownValueSupertype;
 
   public VmListingOrMapping(
       MaterializedFrame enclosingFrame,
@@ -72,7 +74,8 @@ public abstract class VmListingOrMapping extends VmObject {
             ? value
             : ((VmListingOrMapping) parent)
                 .executeTypeCasts(value, owner, callNode, member, newNextTypeCastNode);
-    if (typeCastNode == null || typeCastNode == nextTypeCastNode) return result;
+    // the caller performs an equivalent type cast
+    if (typeCastNode == null || typeCastNode.isEquivalentTo(nextTypeCastNode)) return result;
     var callTarget = typeCastNode.getCallTarget();
     try {
       return callNode.call(callTarget, typeCheckReceiver, typeCheckOwner, result);
@@ -124,14 +127,37 @@ public abstract class VmListingOrMapping extends VmObject {
    * Tells whether the value type of this listing/mapping is known to be a subtype of {@code
    * typeNode}. If {@code true}, type checks of individual values can be elided because
    * listings/mappings are covariant in their value type.
+   *
+   * <p>Values pass unchanged through ancestors that don't define members, for example, through
+   * listings/mappings created by other type casts. Hence, their value types are considered as
+   * well.
    */
   public final boolean isValueTypeKnownSubtypeOf(TypeNode typeNode) {
-    if (typeNode.isNoopTypeCheck()) {
+    if (typeNode.isNoopTypeCheck() || typeNode == knownValueSupertype) {
       return true;
     }
-    if (typeCastNode == null) {
+    if (!isValueTypeKnownSubtypeOfSlowPath(typeNode)) {
       return false;
     }
-    return typeCastNode.getTypeNode().isEquivalentTo(typeNode);
+    knownValueSupertype = typeNode;
+    return true;
+  }
+
+  @TruffleBoundary
+  private boolean isValueTypeKnownSubtypeOfSlowPath(TypeNode typeNode) {
+    for (VmObjectLike object = this;
+        object instanceof VmListingOrMapping listingOrMapping;
+        object = object.getParent()) {
+      var objectTypeCastNode = listingOrMapping.typeCastNode;
+      if (objectTypeCastNode != null
+          && objectTypeCastNode.getTypeNode().isEquivalentTo(typeNode)) {
+        return true;
+      }
+      // members defined here haven't been checked against ancestors' value types
+      if (!listingOrMapping.members.isEmpty()) {
+        return false;
+      }
+    }
+    return false;
   }
 }
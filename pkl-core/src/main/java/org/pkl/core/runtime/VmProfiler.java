@@ -0,0 +1,266 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.runtime;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.pkl.core.ast.type.TypeConstraintNode;
+import org.pkl.core.util.Nullable;
+
+/**
+ * Attributes evaluation time to the root nodes (properties, elements, entries, methods, lambdas)
+ * and type constraints that were executed.
+ *
+ * <p>Each thread records a call tree whose nodes are keyed by the executed AST node. Labels are
+ * only computed when results are requested, and nodes with the same label are merged then.
+ * Results should only be requested once evaluations using this profiler have completed.
+ */
+public final class VmProfiler {
+  // as long as no profiler was ever created, compiled code doesn't look up the profiler
+  private static final Assumption noProfilerCreated =
+      Truffle.getRuntime().createAssumption("no profiler created");
+
+  private static final int MAX_CONSTRAINT_LENGTH = 60;
+
+  private final ThreadLocal<ThreadState> threadState =
+      ThreadLocal.withInitial(
+          () -> {
+            var state = new ThreadState();
+            threadStates.add(state);
+            return state;
+          });
+
+  private final ConcurrentLinkedQueue<ThreadState> threadStates = new ConcurrentLinkedQueue<>();
+
+  public VmProfiler() {
+    noProfilerCreated.invalidate();
+  }
+
+  /** Returns the profiler of the current context, or {@code null} if profiling is disabled. */
+  public static @Nullable VmProfiler get(Node node) {
+    if (noProfilerCreated.isValid()) return null;
+    return VmContext.get(node).getProfiler();
+  }
+
+  /**
+   * Starts timing an execution of {@code node}, which is a {@link RootNode} or {@link
+   * TypeConstraintNode}. Must be followed by a call to {@link #exit()} on the same thread.
+   */
+  @TruffleBoundary
+  public void enter(Node node) {
+    var state = threadState.get();
+    var call = state.current.getOrCreateChild(node);
+    call.startNanos = System.nanoTime();
+    state.current = call;
+  }
+
+  /** Stops timing the execution started by the last call to {@link #enter}. */
+  @TruffleBoundary
+  public void exit() {
+    var state = threadState.get();
+    var call = state.current;
+    assert call.parent != null;
+    call.totalNanos += System.nanoTime() - call.startNanos;
+    call.count += 1;
+    state.current = call.parent;
+  }
+
+  /** Discards all measurements. */
+  public void reset() {
+    for (var state : threadStates) {
+      state.root.children.clear();
+    }
+  }
+
+  /**
+   * Returns the self time of each distinct call stack, keyed by the labels of its frames, outermost
+   * first.
+   */
+  public Map<List<String>, Long> getStackSelfNanos() {
+    var result = new LinkedHashMap<List<String>, Long>();
+    var labels = new IdentityHashMap<Node, String>();
+    for (var state : threadStates) {
+      var stack = new ArrayDeque<Object>();
+      var path = new ArrayList<String>();
+      stack.push(state.root);
+      while (!stack.isEmpty()) {
+        var next = stack.pop();
+        if (next == PATH_END) {
+          path.remove(path.size() - 1);
+          continue;
+        }
+        var call = (Call) next;
+        if (call.node != null) {
+          path.add(labels.computeIfAbsent(call.node, VmProfiler::getLabel));
+          var selfNanos = call.getSelfNanos();
+          if (selfNanos > 0) {
+            result.merge(List.copyOf(path), selfNanos, Long::sum);
+          }
+          stack.push(PATH_END);
+        }
+        var children = new ArrayList<>(call.children.values());
+        for (var i = children.size() - 1; i >= 0; i--) {
+          stack.push(children.get(i));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the call count, self time, and total time of each distinct label. Time spent in
+   * recursive calls is only counted once towards the total time of a label.
+   */
+  public Map<String, LabelStats> getLabelStats() {
+    var result = new HashMap<String, LabelStats>();
+    var labels = new IdentityHashMap<Node, String>();
+    for (var state : threadStates) {
+      var stack = new ArrayDeque<Object>();
+      // labels of the calls on the current path, and how often they occur there
+      var active = new HashMap<String, Integer>();
+      stack.push(state.root);
+      while (!stack.isEmpty()) {
+        var next = stack.pop();
+        if (next instanceof CallEnd end) {
+          active.computeIfPresent(end.label, (label, count) -> count == 1 ? null : count - 1);
+          continue;
+        }
+        var call = (Call) next;
+        if (call.node != null) {
+          var label = labels.computeIfAbsent(call.node, VmProfiler::getLabel);
+          var stats =
+              result.computeIfAbsent(label, (l) -> new LabelStats(getModuleUri(call.node)));
+          stats.count += call.count;
+          stats.selfNanos += call.getSelfNanos();
+          if (!active.containsKey(label)) {
+            stats.totalNanos += call.totalNanos;
+          }
+          active.merge(label, 1, Integer::sum);
+          stack.push(new CallEnd(label));
+        }
+        for (var child : call.children.values()) {
+          stack.push(child);
+        }
+      }
+    }
+    return result;
+  }
+
+  private static String getLabel(Node node) {
+    String name;
+    if (node instanceof TypeConstraintNode constraintNode) {
+      var text = constraintNode.export().replaceAll("\\s+", " ");
+      if (text.length() > MAX_CONSTRAINT_LENGTH) {
+        text = text.substring(0, MAX_CONSTRAINT_LENGTH - 3) + "...";
+      }
+      name = "constraint `" + text + "`";
+    } else {
+      name = ((RootNode) node).getName();
+      if (name == null) name = "<unknown>";
+    }
+    var section = node.getSourceSection();
+    if (section != null && section.isAvailable()) {
+      name += " (" + section.getSource().getURI() + ":" + section.getStartLine() + ")";
+    }
+    // `;` separates frames in collapsed stacks
+    return name.replace(';', ',');
+  }
+
+  private static @Nullable String getModuleUri(Node node) {
+    SourceSection section = node.getSourceSection();
+    return section == null ? null : section.getSource().getURI().toString();
+  }
+
+  /** Aggregated measurements for a label. */
+  public static final class LabelStats {
+    private final @Nullable String moduleUri;
+    private long count;
+    private long selfNanos;
+    private long totalNanos;
+
+    private LabelStats(@Nullable String moduleUri) {
+      this.moduleUri = moduleUri;
+    }
+
+    public @Nullable String getModuleUri() {
+      return moduleUri;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getSelfNanos() {
+      return selfNanos;
+    }
+
+    public long getTotalNanos() {
+      return totalNanos;
+    }
+  }
+
+  private static final Object PATH_END = new Object();
+
+  private record CallEnd(String label) {}
+
+  private static final class ThreadState {
+    final Call root = new Call(null, null);
+    Call current = root;
+  }
+
+  private static final class Call {
+    final @Nullable Node node;
+    final @Nullable Call parent;
+    final Map<Node, Call> children = new LinkedHashMap<>();
+    long startNanos;
+    long count;
+    long totalNanos;
+
+    Call(@Nullable Node node, @Nullable Call parent) {
+      this.node = node;
+      this.parent = parent;
+    }
+
+    Call getOrCreateChild(Node node) {
+      var child = children.get(node);
+      if (child == null) {
+        child = new Call(node, this);
+        children.put(node, child);
+      }
+      return child;
+    }
+
+    long getSelfNanos() {
+      var result = totalNanos;
+      for (var child : children.values()) {
+        result -= child.totalNanos;
+      }
+      return Math.max(result, 0);
+    }
+  }
+}
@@ -782,7 +782,8 @@ public final class VmUtils {
   @TruffleBoundary
   public static Pattern compilePattern(String pattern, Node location) {
     try {
-      return Pattern.compile(pattern, Pattern.UNICODE_CHARACTER_CLASS | Pattern.UNICODE_CASE);
+      return PatternCache.getInstance()
+          .compile(pattern, Pattern.UNICODE_CHARACTER_CLASS | Pattern.UNICODE_CASE);
     } catch (PatternSyntaxException e) {
       throw new VmExceptionBuilder()
           .withLocation(location)
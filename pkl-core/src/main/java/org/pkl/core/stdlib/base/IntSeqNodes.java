@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -95,13 +95,22 @@ public final class IntSeqNodes {
     @Specialization
     @TruffleBoundary
     protected VmList eval(VmIntSeq self) {
-      var builder = VmList.EMPTY.builder();
+      if (self.isEmpty()) return VmList.EMPTY;
+
+      long length;
+      try {
+        // unlike `getLength`, doesn't wrap around for sequences such as `IntSeq(minInt, maxInt)`
+        length = Math.abs(Math.subtractExact(self.last, self.start) / self.step) + 1;
+      } catch (ArithmeticException e) {
+        length = -1;
+      }
+      var elements = new long[VmList.checkLength(length)];
       var iterator = self.iterator();
-      while (iterator.hasNext()) {
-        builder.add(iterator.nextLong());
+      for (var i = 0; i < elements.length; i++) {
+        elements[i] = iterator.nextLong();
       }
-      reportLoopCount(this, self.getLength());
-      return builder.build();
+      reportLoopCount(this, elements.length);
+      return VmList.create(elements);
     }
   }
 
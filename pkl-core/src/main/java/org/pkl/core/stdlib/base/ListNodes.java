@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -852,6 +852,9 @@ public final class ListNodes {
     protected Object eval(VmList self) {
       self.checkNonEmpty();
 
+      var primitiveMin = self.getPrimitiveMin();
+      if (primitiveMin != null) return primitiveMin;
+
       var iterator = self.iterator();
       var result = iterator.next();
 
@@ -877,6 +880,9 @@ public final class ListNodes {
     protected Object eval(VmList self) {
       if (self.isEmpty()) return VmNull.withoutDefault();
 
+      var primitiveMin = self.getPrimitiveMin();
+      if (primitiveMin != null) return primitiveMin;
+
       var iterator = self.iterator();
       var result = iterator.next();
 
@@ -902,6 +908,9 @@ public final class ListNodes {
     protected Object eval(VmList self) {
       self.checkNonEmpty();
 
+      var primitiveMax = self.getPrimitiveMax();
+      if (primitiveMax != null) return primitiveMax;
+
       var iterator = self.iterator();
       var result = iterator.next();
 
@@ -927,6 +936,9 @@ public final class ListNodes {
     protected Object eval(VmList self) {
       if (self.isEmpty()) return VmNull.withoutDefault();
 
+      var primitiveMax = self.getPrimitiveMax();
+      if (primitiveMax != null) return primitiveMax;
+
       var iterator = self.iterator();
       var result = iterator.next();
 
@@ -1155,6 +1167,8 @@ public final class ListNodes {
 
     @Specialization
     protected VmList eval(VmList self) {
+      var longs = self.toLongArray();
+      if (longs != null) return VmList.create(MergeSort.sort(longs));
       return VmList.create(MergeSort.sort(self.toArray(), compareNode, null));
     }
   }
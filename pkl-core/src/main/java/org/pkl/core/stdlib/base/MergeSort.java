@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,8 @@
  */
 package org.pkl.core.stdlib.base;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import java.util.Arrays;
 import org.pkl.core.runtime.VmFunction;
 import org.pkl.core.stdlib.base.CollectionNodes.SortComparatorNode;
 import org.pkl.core.util.Nullable;
@@ -25,6 +27,16 @@ final class MergeSort {
 
   private MergeSort() {}
 
+  /**
+   * Sorts {@code Int}s in ascending order. Equal {@code Int}s are indistinguishable, hence there is
+   * no need for a stable sort.
+   */
+  @TruffleBoundary
+  public static long[] sort(long[] array) {
+    Arrays.sort(array);
+    return array;
+  }
+
   public static Object[] sort(
       Object[] array, SortComparatorNode comparator, @Nullable VmFunction function) {
 
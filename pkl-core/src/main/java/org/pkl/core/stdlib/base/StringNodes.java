@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -143,7 +143,7 @@ public final class StringNodes {
     @TruffleBoundary
     protected boolean eval(String self) {
       try {
-        Pattern.compile(self, Pattern.UNICODE_CASE);
+        PatternCache.getInstance().compile(self, Pattern.UNICODE_CASE);
         return true;
       } catch (PatternSyntaxException e) {
         return false;
@@ -750,7 +750,7 @@ public final class StringNodes {
     @TruffleBoundary
     @Specialization
     protected VmList eval(String self, String separator) {
-      var parts = self.split(Pattern.quote(separator));
+      var parts = PatternCache.getInstance().compile(separator, Pattern.LITERAL).split(self);
       return VmList.create(parts);
     }
 
@@ -765,7 +765,8 @@ public final class StringNodes {
     @TruffleBoundary
     @Specialization
     protected VmList eval(String self, String separator, long limit) {
-      var parts = self.split(Pattern.quote(separator), (int) limit);
+      var parts =
+          PatternCache.getInstance().compile(separator, Pattern.LITERAL).split(self, (int) limit);
       return VmList.create(parts);
     }
 
@@ -975,7 +976,7 @@ public final class StringNodes {
   }
 
   private static Pattern patternOf(String regex) {
-    return Pattern.compile(regex, Pattern.LITERAL | Pattern.UNICODE_CASE);
+    return PatternCache.getInstance().compile(regex, Pattern.LITERAL | Pattern.UNICODE_CASE);
   }
 
   private static boolean findLast(Matcher m) {
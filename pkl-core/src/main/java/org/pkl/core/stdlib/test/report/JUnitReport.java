@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,10 @@ package org.pkl.core.stdlib.test.report;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.graalvm.collections.EconomicMap;
@@ -60,6 +62,8 @@ public final class JUnitReport implements TestReport {
     var totalTests = allTestResults.stream().collect(Collectors.summingLong(r -> r.totalTests()));
     var totalFailures =
         allTestResults.stream().collect(Collectors.summingLong(r -> r.totalFailures()));
+    var totalDuration =
+        allTestResults.stream().map(TestResults::duration).reduce(Duration.ZERO, Duration::plus);
 
     assert aggregateSuiteName != null;
 
@@ -67,7 +71,8 @@ public final class JUnitReport implements TestReport {
         buildAttributes(
             "name", aggregateSuiteName,
             "tests", totalTests,
-            "failures", totalFailures);
+            "failures", totalFailures,
+            "time", formatTime(totalDuration));
 
     var tests =
         allTestResults.stream()
@@ -86,7 +91,8 @@ public final class JUnitReport implements TestReport {
           buildAttributes(
               "name", results.moduleName(),
               "tests", 1,
-              "failures", 1);
+              "failures", 1,
+              "time", formatTime(results.duration()));
       return buildXmlElement("testsuite", attrs, testCase);
     }
 
@@ -106,7 +112,8 @@ public final class JUnitReport implements TestReport {
         buildAttributes(
             "name", results.moduleName(),
             "tests", (long) results.totalTests(),
-            "failures", (long) results.totalFailures());
+            "failures", (long) results.totalFailures(),
+            "time", formatTime(results.duration()));
 
     return buildXmlElement("testsuite", attrs, testCases.toArray(new VmDynamic[0]));
   }
@@ -124,7 +131,9 @@ public final class JUnitReport implements TestReport {
     for (var res : testSectionResults.results()) {
       var attrs =
           buildAttributes(
-              "classname", moduleName + "." + testSectionResults.name(), "name", res.name());
+              "classname", moduleName + "." + testSectionResults.name(),
+              "name", res.name(),
+              "time", formatTime(res.duration()));
       var failures = failures(res);
       failures.addAll(errors(res));
       var element = buildXmlElement("testcase", attrs, failures.toArray(new VmDynamic[0]));
@@ -233,6 +242,11 @@ public final class JUnitReport implements TestReport {
     return new VmTyped(VmUtils.createEmptyMaterializedFrame(), clazz.getPrototype(), clazz, attrs);
   }
 
+  // JUnit XML reports measure time in seconds
+  private static String formatTime(Duration duration) {
+    return String.format(Locale.ROOT, "%.3f", duration.toNanos() / 1_000_000_000.0);
+  }
+
   private String stripColors(String str) {
     return str.replaceAll("\033\\[[;\\d]*m", "");
   }
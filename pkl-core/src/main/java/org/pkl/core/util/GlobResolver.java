@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,13 +27,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import org.pkl.core.PklBugException;
 import org.pkl.core.SecurityManager;
 import org.pkl.core.SecurityManagerException;
 import org.pkl.core.externalreader.ExternalReaderProcessException;
 import org.pkl.core.module.ModuleKey;
-import org.pkl.core.module.PathElement;
+import org.pkl.core.runtime.ListingCache;
 import org.pkl.core.runtime.ReaderBase;
 
 public final class GlobResolver {
@@ -241,12 +240,13 @@ public final class GlobResolver {
   private static void resolveOpaqueGlob(
       SecurityManager securityManager,
       ReaderBase reader,
+      ListingCache listingCache,
       URI globUri,
       Pattern pattern,
       Map<String, ResolvedGlobElement> result)
       throws IOException, SecurityManagerException, ExternalReaderProcessException {
-    var elements = reader.listElements(securityManager, globUri);
-    for (var elem : sorted(elements)) {
+    var elements = listingCache.listElements(securityManager, reader, globUri);
+    for (var elem : elements) {
       URI resolvedUri;
       try {
         resolvedUri = new URI(globUri.getScheme(), elem.getName(), null);
@@ -260,10 +260,6 @@ public final class GlobResolver {
     }
   }
 
-  private static List<PathElement> sorted(List<PathElement> elements) {
-    return elements.stream().sorted(PathElement.comparator).collect(Collectors.toList());
-  }
-
   private static Boolean isRegularPathPart(String pathPart) {
     for (var i = 0; i < pathPart.length(); i++) {
       var c = pathPart.charAt(i);
@@ -296,10 +292,12 @@ public final class GlobResolver {
   private static List<ResolvedGlobElement> expandHierarchicalGlobPart(
       SecurityManager securityManager,
       ReaderBase reader,
+      ListingCache listingCache,
       String basePath,
       Pattern globPartPattern,
       URI baseUri,
       boolean isGlobStar,
+      boolean directoriesOnly,
       boolean hasAbsoluteGlob,
       MutableLong listElementCallCount)
       throws IOException,
@@ -310,10 +308,12 @@ public final class GlobResolver {
     doExpandHierarchicalGlobPart(
         securityManager,
         reader,
+        listingCache,
         basePath,
         globPartPattern,
         baseUri,
         isGlobStar,
+        directoriesOnly,
         hasAbsoluteGlob,
         listElementCallCount,
         result);
@@ -323,10 +323,12 @@ public final class GlobResolver {
   private static void doExpandHierarchicalGlobPart(
       SecurityManager securityManager,
       ReaderBase reader,
+      ListingCache listingCache,
       String expandedGlobSoFar,
       Pattern globPartPattern,
       URI baseUri,
       boolean isGlobStar,
+      boolean directoriesOnly,
       boolean hasAbsoluteGlob,
       MutableLong listElementCallCount,
       List<ResolvedGlobElement> result)
@@ -338,8 +340,22 @@ public final class GlobResolver {
     if (listElementCallCount.getAndIncrement() > maxListElements()) {
       throw new InvalidGlobPatternException(ErrorMessages.create("invalidGlobTooComplex"));
     }
-    var elements = reader.listElements(securityManager, baseUri);
-    for (var element : sorted(elements)) {
+    var elements = listingCache.listElements(securityManager, reader, baseUri);
+    if (isGlobStar) {
+      // all subdirectories will be listed next
+      var directoryUris = new ArrayList<URI>();
+      for (var element : elements) {
+        if (element.isDirectory()) {
+          directoryUris.add(IoUtils.resolve(reader, baseUri, element.getName() + "/"));
+        }
+      }
+      if (!directoryUris.isEmpty()) {
+        listingCache.prefetch(securityManager, reader, directoryUris);
+      }
+    }
+    for (var element : elements) {
+      // if more pattern parts follow, files cannot match, but directories may need to be walked
+      if (directoriesOnly && !element.isDirectory()) continue;
       var elementPath = resolvePath(expandedGlobSoFar, element.getName(), hasAbsoluteGlob);
       if (globPartPattern.matcher(element.getName()).matches()) {
         var name = element.isDirectory() ? element.getName() + "/" : element.getName();
@@ -353,10 +369,12 @@ public final class GlobResolver {
         doExpandHierarchicalGlobPart(
             securityManager,
             reader,
+            listingCache,
             newExpandedGlobPattern,
             globPartPattern,
             elementUri,
             true,
+            directoriesOnly,
             hasAbsoluteGlob,
             listElementCallCount,
             result);
@@ -367,6 +385,7 @@ public final class GlobResolver {
   private static void resolveHierarchicalGlob(
       SecurityManager securityManager,
       ReaderBase reader,
+      ListingCache listingCache,
       String[] globPatternParts,
       int idx,
       URI baseUri,
@@ -394,6 +413,7 @@ public final class GlobResolver {
         resolveHierarchicalGlob(
             securityManager,
             reader,
+            listingCache,
             globPatternParts,
             idx + 1,
             newBaseUri,
@@ -409,10 +429,12 @@ public final class GlobResolver {
           expandHierarchicalGlobPart(
               securityManager,
               reader,
+              listingCache,
               expandedGlobPatternSoFar,
               globPartPattern,
               baseUri,
               isGlobStar,
+              !isLeaf,
               hasAbsoluteGlob,
               listElementCallCount);
       for (var element : matchedElements) {
@@ -422,6 +444,7 @@ public final class GlobResolver {
           resolveHierarchicalGlob(
               securityManager,
               reader,
+              listingCache,
               globPatternParts,
               idx + 1,
               element.uri(),
@@ -471,11 +494,13 @@ public final class GlobResolver {
    * Resolves a glob expression.
    *
    * <p>Each pair is the expanded form of the glob pattern, paired with its resolved absolute URI.
+   * Directories are listed through {@code listingCache}.
    */
   @TruffleBoundary
   public static Map<String, ResolvedGlobElement> resolveGlob(
       SecurityManager securityManager,
       ReaderBase reader,
+      ListingCache listingCache,
       ModuleKey enclosingModuleKey,
       URI enclosingUri,
       String globPattern)
@@ -511,6 +536,7 @@ public final class GlobResolver {
       resolveHierarchicalGlob(
           securityManager,
           reader,
+          listingCache,
           globParts,
           0,
           baseUri,
@@ -526,7 +552,7 @@ public final class GlobResolver {
           hasAbsoluteGlob
               ? URI.create(globPattern)
               : URI.create(enclosingUri.getScheme() + ":dummy");
-      resolveOpaqueGlob(securityManager, reader, globUri, regexPattern, result);
+      resolveOpaqueGlob(securityManager, reader, listingCache, globUri, regexPattern, result);
     }
     return result;
   }
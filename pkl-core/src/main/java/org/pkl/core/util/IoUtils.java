@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -369,7 +369,8 @@ public final class IoUtils {
     var parsed = parseDependencyNotation(notation);
     var name = parsed.getFirst();
     var path = parsed.getSecond();
-    var projectDependenciesManager = VmContext.get(null).getProjectDependenciesManager();
+    var projectDependenciesManager =
+        VmContext.getForModuleResolution().getProjectDependenciesManager();
     if (!moduleKey.hasHierarchicalUris() && projectDependenciesManager != null) {
       throw new PackageLoadError(
           "cannotResolveDependencyWithoutHierarchicalUris",
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2025-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,10 +28,12 @@ import java.util.regex.Pattern;
 import org.msgpack.core.MessageInsufficientBufferException;
 import org.msgpack.core.MessagePackException;
 import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.ValueType;
 import org.pkl.core.DataSizeUnit;
 import org.pkl.core.DurationUnit;
 import org.pkl.core.Pair;
 import org.pkl.core.util.LateInit;
+import org.pkl.core.util.Nullable;
 
 /**
  * Base class for implementing a decoder/parser for the <a
@@ -53,9 +55,28 @@ public abstract class AbstractPklBinaryDecoder {
   }
 
   protected final Object decode() {
+    // an empty path selects the top-level value, which always exists
+    //noinspection DataFlowIssue
+    return decode(List.of());
+  }
+
+  /**
+   * Decodes the value at {@code memberPath}, skipping over all other values without decoding them.
+   *
+   * <p>Each element of {@code memberPath} selects a member of the value selected so far: a
+   * property name, entry key, or element index of an object, a key of a map or mapping, or an
+   * index of a list or listing. Integer indices and keys may be given as {@code int} or {@code
+   * long}.
+   *
+   * <p>Returns {@code null} if there is no value at {@code memberPath}.
+   */
+  protected final @Nullable Object decode(List<?> memberPath) {
     currPath = new ArrayDeque<>();
     try {
       try {
+        for (var segment : memberPath) {
+          if (!seekMember(segment)) return null;
+        }
         return doDecode();
       } catch (MessageInsufficientBufferException e) {
         throw new DecodeException("Unexpected EOF", e);
@@ -81,6 +102,8 @@ public abstract class AbstractPklBinaryDecoder {
 
   protected record DecodedObjectMember(PklBinaryCode type, Object key, Object value) {}
 
+  protected record SkippedObjectMember(PklBinaryCode type, Object key, long valueOffset) {}
+
   protected abstract RuntimeException doFail(Exception cause, long offset, List<String> path);
 
   protected abstract RuntimeException doIOFail(IOException cause);
@@ -146,16 +169,7 @@ public abstract class AbstractPklBinaryDecoder {
 
   private Object decodeNonPrimitive() throws IOException {
     var len = unpacker.unpackArrayHeader();
-    if (len < 1) {
-      throw new DecodeException("Unexpected empty object array value");
-    }
-
-    var codeInt = unpacker.unpackInt();
-    var code = PklBinaryCode.fromInt(codeInt);
-    if (code == null) {
-      throw new DecodeException("Unrecognized code 0x%x", (byte) codeInt);
-    }
-
+    var code = unpackCode(len);
     return switch (code) {
       case OBJECT -> decodeObject(len);
       case MAP -> decodeMap(len);
@@ -176,6 +190,107 @@ public abstract class AbstractPklBinaryDecoder {
     };
   }
 
+  private PklBinaryCode unpackCode(int len) throws IOException {
+    if (len < 1) {
+      throw new DecodeException("Unexpected empty object array value");
+    }
+
+    var codeInt = unpacker.unpackInt();
+    var code = PklBinaryCode.fromInt(codeInt);
+    if (code == null) {
+      throw new DecodeException("Unrecognized code 0x%x", (byte) codeInt);
+    }
+    return code;
+  }
+
+  /**
+   * Positions the unpacker at the value of the member selected by {@code segment} of the next
+   * value, skipping over all other members. Returns {@code false} if there is no such member.
+   */
+  private boolean seekMember(Object segment) throws IOException {
+    if (!unpacker.hasNext()) {
+      throw new DecodeException("Unexpected EOF");
+    }
+    if (unpacker.getNextFormat().getValueType() != ValueType.ARRAY) {
+      // primitives don't have members
+      return false;
+    }
+
+    var len = unpacker.unpackArrayHeader();
+    var code = unpackCode(len);
+    var key = segment instanceof Number number ? normalizeNumber(number) : segment;
+    switch (code) {
+      case OBJECT -> {
+        assertLength(code, len, 3);
+        unpacker.skipValue(2); // class name and module URI
+        var size = unpacker.unpackArrayHeader();
+        for (var i = 0; i < size; i++) {
+          if (key.equals(unpackObjectMemberKey(unpackObjectMemberCode()))) {
+            currPath.push(key);
+            return true;
+          }
+          unpacker.skipValue();
+        }
+        return false;
+      }
+      case MAP, MAPPING -> {
+        assertLength(code, len, 1);
+        var size = unpacker.unpackMapHeader();
+        for (var i = 0; i < size; i++) {
+          var entryKey = doDecode();
+          if (key.equals(entryKey instanceof Number number ? normalizeNumber(number) : entryKey)) {
+            currPath.push(key);
+            return true;
+          }
+          unpacker.skipValue();
+        }
+        return false;
+      }
+      case LIST, LISTING -> {
+        assertLength(code, len, 1);
+        var size = unpacker.unpackArrayHeader();
+        if (!(key instanceof Long index) || index < 0 || index >= size) {
+          return false;
+        }
+        unpacker.skipValue(index.intValue());
+        currPath.push(key);
+        return true;
+      }
+      default -> {
+        // other values don't have addressable members
+        return false;
+      }
+    }
+  }
+
+  private static Object normalizeNumber(Number number) {
+    return number instanceof Integer || number instanceof Short || number instanceof Byte
+        ? (Object) number.longValue()
+        : number;
+  }
+
+  private PklBinaryCode unpackObjectMemberCode() throws IOException {
+    var memberLen = unpacker.unpackArrayHeader();
+    if (memberLen != 3) {
+      throw new DecodeException("Expected 3 fields in object member, found %d", memberLen);
+    }
+    var memberCodeInt = unpacker.unpackInt();
+    var memberCode = PklBinaryCode.fromInt(memberCodeInt);
+    if (memberCode == null) {
+      throw new DecodeException("Unrecognized code 0x%x", (byte) memberCodeInt);
+    }
+    return memberCode;
+  }
+
+  private Object unpackObjectMemberKey(PklBinaryCode memberCode) throws IOException {
+    return switch (memberCode) {
+      case PROPERTY -> unpacker.unpackString();
+      case ENTRY -> doDecode();
+      case ELEMENT -> unpacker.unpackLong();
+      default -> throw new DecodeException("Unrecognized member code %s", memberCode);
+    };
+  }
+
   private Object decodeObject(int len) throws IOException {
     assertLength(PklBinaryCode.OBJECT, len, 3);
     currPath.push("'object");
@@ -407,37 +522,33 @@ public abstract class AbstractPklBinaryDecoder {
 
     @Override
     DecodedObjectMember getNext() throws IOException {
-      var memberLen = unpacker.unpackArrayHeader();
-      if (memberLen != 3) {
-        throw new DecodeException("Expected 3 fields in object member, found %d", memberLen);
-      }
-      var memberCodeInt = unpacker.unpackInt();
-      var memberCode = PklBinaryCode.fromInt(memberCodeInt);
-      if (memberCode == null) {
-        throw new DecodeException("Unrecognized code 0x%x", (byte) memberCodeInt);
-      }
-      DecodedObjectMember member;
-      switch (memberCode) {
-        case PROPERTY -> {
-          var propertyName = unpacker.unpackString();
-          currPath.push(propertyName);
-          member = new DecodedObjectMember(memberCode, propertyName, doDecode());
-        }
-        case ENTRY -> {
-          var entryKey = doDecode();
-          currPath.push(entryKey);
-          member = new DecodedObjectMember(memberCode, entryKey, doDecode());
-        }
-        case ELEMENT -> {
-          var elementIndex = unpacker.unpackLong();
-          currPath.push(elementIndex);
-          member = new DecodedObjectMember(memberCode, elementIndex, doDecode());
-        }
-        default -> throw new DecodeException("Unrecognized member code %s", memberCode);
-      }
+      var memberCode = unpackObjectMemberCode();
+      var key = unpackObjectMemberKey(memberCode);
+      currPath.push(key);
+      var member = new DecodedObjectMember(memberCode, key, doDecode());
       currPath.pop();
       return member;
     }
+
+    /**
+     * Reads the next member's key, and skips over its value without decoding it.
+     *
+     * <p>The returned member's {@link SkippedObjectMember#valueOffset() valueOffset} is the offset
+     * of the member's value relative to the start of the input.
+     */
+    public SkippedObjectMember skipNext() {
+      try {
+        var memberCode = unpackObjectMemberCode();
+        var key = unpackObjectMemberKey(memberCode);
+        var valueOffset = unpacker.getTotalReadBytes();
+        unpacker.skipValue();
+        return new SkippedObjectMember(memberCode, key, valueOffset);
+      } catch (IOException e) {
+        throw doIOFail(e);
+      } finally {
+        idx++;
+      }
+    }
   }
 
   protected class CollectionDecodeIterator extends DecodeIterator<Object> {
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.pkl.core
 
+import java.io.ByteArrayOutputStream
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.AfterAll
 import org.junit.jupiter.api.Test
@@ -134,4 +135,16 @@ class EvaluateExpressionTest {
 
     assertThat(error).hasMessageContaining("Expected value of type `String`, but got type `Int`")
   }
+
+  @Test
+  fun `evaluate expression to pkl-binary stream`() {
+    // large enough to span several encoder buffers
+    val program = "res = IntSeq(1, 10000).map((it) -> \"value-\\(it)\").toList()"
+    val bytes = evaluator.evaluateExpressionPklBinary(ModuleSource.text(program), "res")
+    val outputStream = ByteArrayOutputStream()
+    evaluator.evaluateExpressionPklBinary(ModuleSource.text(program), "res", outputStream)
+    assertThat(outputStream.toByteArray()).isEqualTo(bytes)
+    assertThat(PklBinaryDecoder.decode(outputStream.toByteArray()))
+      .isEqualTo((1..10000).map { "value-$it" })
+  }
 }
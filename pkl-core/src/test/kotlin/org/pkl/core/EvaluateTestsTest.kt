@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -58,6 +58,32 @@ class EvaluateTestsTest {
     assertThat(results.logs().isBlank()).isTrue
   }
 
+  @Test
+  fun `test results record durations`() {
+    val results =
+      evaluator.evaluateTest(
+        text(
+          """
+      amends "pkl:test"
+
+      local function fib(n) = if (n < 2) n else fib(n - 1) + fib(n - 2)
+
+      facts {
+        ["fib"] {
+          fib(15) == 610
+        }
+      }
+    """
+            .trimIndent()
+        ),
+        true,
+      )
+
+    val testDuration = results.facts().results[0].duration
+    assertThat(testDuration).isPositive
+    assertThat(results.duration).isGreaterThanOrEqualTo(testDuration)
+  }
+
   @Test
   fun `test module failure`() {
     val results =
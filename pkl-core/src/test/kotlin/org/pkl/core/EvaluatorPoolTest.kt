@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core
+
+import java.nio.file.Path
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import kotlin.io.path.writeText
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.junit.jupiter.api.io.TempDir
+
+class EvaluatorPoolTest {
+  @Test
+  fun `evaluates modules with pooled evaluators`() {
+    EvaluatorPool.create(EvaluatorBuilder.preconfigured(), 2).use { pool ->
+      assertThat(pool.idleCount).isEqualTo(2)
+      val result =
+        pool.withEvaluator { it.evaluate(ModuleSource.text("foo = 1 + 2")).getProperty("foo") }
+      assertThat(result).isEqualTo(3L)
+      assertThat(pool.idleCount).isEqualTo(2)
+    }
+  }
+
+  @Test
+  fun `resets module cache when evaluator is returned`(@TempDir tempDir: Path) {
+    val file = tempDir.resolve("test.pkl")
+    EvaluatorPool.create(EvaluatorBuilder.preconfigured(), 1).use { pool ->
+      file.writeText("foo = 1")
+      val result1 = pool.withEvaluator { it.evaluate(ModuleSource.path(file)).getProperty("foo") }
+      file.writeText("foo = 2")
+      val result2 = pool.withEvaluator { it.evaluate(ModuleSource.path(file)).getProperty("foo") }
+      assertThat(result1).isEqualTo(1L)
+      assertThat(result2).isEqualTo(2L)
+    }
+  }
+
+  @Test
+  fun `replaces evaluators that were closed`() {
+    EvaluatorPool.create(EvaluatorBuilder.preconfigured(), 1).use { pool ->
+      val evaluator = pool.borrow()
+      evaluator.close()
+      pool.release(evaluator)
+      assertThat(pool.idleCount).isEqualTo(1)
+      val result =
+        pool.withEvaluator { it.evaluate(ModuleSource.text("foo = 1")).getProperty("foo") }
+      assertThat(result).isEqualTo(1L)
+    }
+  }
+
+  @Test
+  fun `rejects evaluators that do not belong to the pool`() {
+    EvaluatorPool.create(EvaluatorBuilder.preconfigured(), 1).use { pool ->
+      Evaluator.preconfigured().use { evaluator ->
+        assertThrows<IllegalArgumentException> { pool.release(evaluator) }
+      }
+    }
+  }
+
+  @Test
+  fun `rejects evaluators that were already returned`() {
+    EvaluatorPool.create(EvaluatorBuilder.preconfigured(), 1).use { pool ->
+      val evaluator = pool.borrow()
+      pool.release(evaluator)
+      assertThrows<IllegalArgumentException> { pool.release(evaluator) }
+      assertThat(pool.idleCount).isEqualTo(1)
+    }
+  }
+
+  @Test
+  fun `wakes up waiting borrowers when closed`() {
+    val pool = EvaluatorPool.create(EvaluatorBuilder.preconfigured(), 1)
+    pool.borrow()
+    val borrower = CompletableFuture.supplyAsync { runCatching { pool.borrow() } }
+    pool.close()
+    assertThat(borrower.get(10, TimeUnit.SECONDS).exceptionOrNull())
+      .isInstanceOf(IllegalStateException::class.java)
+  }
+
+  @Test
+  fun `does not reuse evaluators returned after closing`() {
+    val pool = EvaluatorPool.create(EvaluatorBuilder.preconfigured(), 1)
+    val evaluator = pool.borrow()
+    pool.close()
+    pool.release(evaluator)
+    assertThat(pool.idleCount).isEqualTo(0)
+    assertThrows<IllegalStateException> { evaluator.evaluate(ModuleSource.text("foo = 1")) }
+  }
+
+  @Test
+  fun `rejects non-positive size`() {
+    assertThrows<IllegalArgumentException> {
+      EvaluatorPool.create(EvaluatorBuilder.preconfigured(), 0)
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package org.pkl.core
 
+import java.io.ByteArrayOutputStream
 import java.io.File
 import java.net.URI
 import java.nio.charset.StandardCharsets
@@ -22,6 +23,7 @@ import java.nio.file.FileSystems
 import java.nio.file.Files
 import java.nio.file.Path
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 import java.util.regex.Pattern
 import kotlin.io.path.createParentDirectories
 import kotlin.io.path.writeText
@@ -40,6 +42,7 @@ import org.pkl.core.module.ModuleKey
 import org.pkl.core.module.ModuleKeyFactories
 import org.pkl.core.module.ModuleKeyFactory
 import org.pkl.core.module.ResolvedModuleKey
+import org.pkl.core.module.ResolvedModuleKeys
 import org.pkl.core.project.Project
 import org.pkl.core.util.IoUtils
 
@@ -73,6 +76,23 @@ class EvaluatorTest {
       override fun resolve(securityManager: SecurityManager): ResolvedModuleKey = this
     }
 
+    private class RecordingModuleKey(
+      private val uri: URI,
+      private val text: String,
+      private val resolvingThreads: MutableMap<String, String>,
+    ) : ModuleKey {
+      override fun hasHierarchicalUris(): Boolean = true
+
+      override fun isGlobbable(): Boolean = false
+
+      override fun getUri(): URI = uri
+
+      override fun resolve(securityManager: SecurityManager): ResolvedModuleKey {
+        resolvingThreads[uri.path] = Thread.currentThread().name
+        return ResolvedModuleKeys.virtual(this, uri, text, true)
+      }
+    }
+
     @AfterAll
     @JvmStatic
     fun afterAll() {
@@ -247,6 +267,22 @@ class EvaluatorTest {
     assertThat(e.message).contains("timed out")
   }
 
+  @Test
+  fun `evaluation timeouts share one scheduler`() {
+    val scheduler = TimeoutScheduler.getInstance()
+    val firedCount = scheduler.firedCount
+    val evaluators =
+      (1..10).map {
+        EvaluatorBuilder.preconfigured().setTimeout(java.time.Duration.ofMinutes(1)).build()
+      }
+    for (evaluator in evaluators) {
+      evaluator.use { assertThat(it.evaluate(text("x = 1")).getProperty("x")).isEqualTo(1L) }
+    }
+    assertThat(scheduler.firedCount).isEqualTo(firedCount)
+    assertThat(Thread.getAllStackTraces().keys.count { it.name == "Pkl Timeout Scheduler" })
+      .isLessThanOrEqualTo(1)
+  }
+
   @Test
   fun `stack overflow`() {
     val evaluator = Evaluator.preconfigured()
@@ -300,6 +336,52 @@ class EvaluatorTest {
       )
   }
 
+  @Test
+  fun `evaluate output to stream`() {
+    // long enough to be written in several chunks, with surrogate pairs spanning chunks
+    val program =
+      """
+      output {
+        text = "a" + "🐦".repeat(10000)
+      }
+    """
+        .trimIndent()
+    val outputStream = ByteArrayOutputStream()
+    evaluator.evaluateOutputTo(text(program), outputStream)
+    assertThat(outputStream.toByteArray()).isEqualTo(evaluator.evaluateOutputBytes(text(program)))
+    assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("a" + "🐦".repeat(10000))
+  }
+
+  @Test
+  fun `evaluate output to stream with bytes output`() {
+    val program =
+      """
+      output {
+        text = "text"
+        bytes = Bytes(1, 2, 3)
+      }
+    """
+        .trimIndent()
+    val outputStream = ByteArrayOutputStream()
+    evaluator.evaluateOutputTo(text(program), outputStream)
+    assertThat(outputStream.toByteArray()).isEqualTo(byteArrayOf(1, 2, 3))
+
+    val binaryProgram =
+      """
+      import "pkl:pklbinary"
+
+      output {
+        value = 42
+        renderer = new pklbinary.Renderer {}
+      }
+    """
+        .trimIndent()
+    val binaryOutputStream = ByteArrayOutputStream()
+    evaluator.evaluateOutputTo(text(binaryProgram), binaryOutputStream)
+    assertThat(binaryOutputStream.toByteArray())
+      .isEqualTo(evaluator.evaluateOutputBytes(text(binaryProgram)))
+  }
+
   @Test
   fun `multiple-file output`() {
     val evaluator = Evaluator.preconfigured()
@@ -329,6 +411,9 @@ class EvaluatorTest {
     assertThat(output["bar.yml"]?.text).isEqualTo("bar: bar text")
     assertThat(output["bar/biz.yml"]?.text).isEqualTo("biz: bar biz")
     assertThat(output["bar/../bark.yml"]?.text).isEqualTo("bark: bark bark")
+    val outputStream = ByteArrayOutputStream()
+    output["foo.yml"]!!.writeTo(outputStream)
+    assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("foo: foo text")
   }
 
   @Test
@@ -518,4 +603,196 @@ class EvaluatorTest {
     assertThat(zipFile).exists()
     return zipFile
   }
+
+  @Test
+  fun `evaluate with shared module cache`() {
+    val builder = EvaluatorBuilder.preconfigured().setSharedModuleCache(true)
+    val moduleText =
+      """
+      import "pkl:json"
+
+      res = new json.Renderer {}.renderValue(new Dynamic { foo = 1 })
+      """
+        .trimIndent()
+    val results =
+      (1..2).map { builder.build().use { it.evaluate(text(moduleText)).getProperty("res") } }
+    assertThat(results).containsOnly("{\n  \"foo\": 1\n}")
+  }
+
+  @Test
+  fun `evaluate with force parallelism`() {
+    val moduleText =
+      """
+      first = 1
+      hosts: Mapping<String, Dynamic> = new {
+        for (i in IntSeq(1, 2500)) {
+          ["host-\(i)"] { index = i; name = "h\(i)"; tags = new Listing { "t\(i % 7)" } }
+        }
+      }
+      last = hosts.length
+      """
+        .trimIndent()
+    val properties = (1..1500).joinToString("\n") { "p$it = $it * 2" }
+    val outputValue = "output { value = new Listing { for (i in IntSeq(1, 3000)) { i * 2 } } }"
+    EvaluatorBuilder.preconfigured().setForceParallelism(4).build().use { parallelEvaluator ->
+      assertThat(parallelEvaluator.evaluate(text(moduleText)))
+        .isEqualTo(evaluator.evaluate(text(moduleText)))
+      assertThat(parallelEvaluator.evaluate(text(properties)))
+        .isEqualTo(evaluator.evaluate(text(properties)))
+      assertThat(parallelEvaluator.evaluateOutputValue(text(outputValue)))
+        .isEqualTo(evaluator.evaluateOutputValue(text(outputValue)))
+    }
+  }
+
+  @Test
+  fun `evaluate with force parallelism reports first error in member order`() {
+    val moduleText =
+      """
+      entries: Mapping<String, Int> = new {
+        for (i in IntSeq(1, 2500)) {
+          ["e\(i)"] = if (i == 1700 || i == 2300) throw("failed at \(i)") else i
+        }
+      }
+      """
+        .trimIndent()
+    EvaluatorBuilder.preconfigured().setForceParallelism(4).build().use { parallelEvaluator ->
+      repeat(3) {
+        val e = assertThrows<PklException> { parallelEvaluator.evaluate(text(moduleText)) }
+        assertThat(e.message).contains("failed at 1700").doesNotContain("failed at 2300")
+      }
+    }
+  }
+
+  @Test
+  fun `evaluate with prefetch parallelism`() {
+    val modules =
+      mapOf(
+        "/main.pkl" to
+          """
+          import "b.pkl"
+          local unused = import("c.pkl")
+          result = b.value
+          """
+            .trimIndent(),
+        "/b.pkl" to "amends \"d.pkl\"\nvalue = 42",
+        "/c.pkl" to "value = 1",
+        "/d.pkl" to "value: Int",
+      )
+    val resolvingThreads = ConcurrentHashMap<String, String>()
+    val factory = ModuleKeyFactory { uri ->
+      if (uri.scheme == "prefetch") {
+        Optional.of(RecordingModuleKey(uri, modules[uri.path]!!, resolvingThreads))
+      } else Optional.empty()
+    }
+    EvaluatorBuilder.preconfigured()
+      .setAllowedModules(SecurityManagers.defaultAllowedModules + Pattern.compile("prefetch:"))
+      .setModuleKeyFactories(listOf(factory, ModuleKeyFactories.standardLibrary))
+      .setPrefetchParallelism(2)
+      .build()
+      .use { prefetchingEvaluator ->
+        val module = prefetchingEvaluator.evaluate(uri(URI("prefetch:/main.pkl")))
+        assertThat(module.getProperty("result")).isEqualTo(42L)
+
+        // `c.pkl` is never imported by evaluation, but is prefetched nevertheless
+        val deadline = System.currentTimeMillis() + 10_000
+        while (resolvingThreads["/c.pkl"] == null && System.currentTimeMillis() < deadline) {
+          Thread.sleep(10)
+        }
+        assertThat(resolvingThreads["/c.pkl"]).isEqualTo("Pkl Module Prefetcher")
+        assertThat(resolvingThreads["/main.pkl"]).isNotEqualTo("Pkl Module Prefetcher")
+        assertThat(resolvingThreads).containsKeys("/b.pkl", "/d.pkl")
+      }
+  }
+
+  @Test
+  fun `does not repeat equivalent type checks of listing elements`() {
+    val moduleText =
+      """
+      typealias Port = Int(isBetween(1, 65535))
+      local ports: Listing<Port> = new { 80; 443; 8080 }
+      local copy1: Listing<Port> = ports
+      local copy2: Listing<Port> = copy1
+      local amended: Listing<Port> = (copy2) { 9090 }
+      result = amended.toList()
+      """
+        .trimIndent()
+    val profiler = Profiler()
+    EvaluatorBuilder.preconfigured().setProfiler(profiler).build().use { profilingEvaluator ->
+      assertThat(profilingEvaluator.evaluate(text(moduleText)).getProperty("result"))
+        .isEqualTo(listOf(80L, 443L, 8080L, 9090L))
+    }
+    val constraint =
+      profiler.entries.single { it.location.startsWith("constraint `isBetween(1, 65535)`") }
+    // each element is checked once, although it passes through four typed properties
+    assertThat(constraint.count).isEqualTo(4)
+  }
+
+  @Test
+  fun `evaluate with resource cache size`(@TempDir tempDir: Path) {
+    val fileA = tempDir.resolve("a.txt").writeString("aaaaaaaaaa")
+    val fileB = tempDir.resolve("b.txt").writeString("bbbbbbbbbb")
+    fun read(file: Path) = "read(\"${file.toUri()}\").text"
+
+    EvaluatorBuilder.preconfigured().setResourceCacheSize(15).build().use { evaluator ->
+      val module =
+        evaluator.evaluate(text("a = ${read(fileA)}\nb = ${read(fileB)}\nc = ${read(fileB)}"))
+      assertThat(module.properties)
+        .isEqualTo(mapOf("a" to "aaaaaaaaaa", "b" to "bbbbbbbbbb", "c" to "bbbbbbbbbb"))
+      val stats = evaluator.resourceCacheStats
+      assertThat(stats.bytesHeld).isEqualTo(10)
+      assertThat(stats.hitCount).isEqualTo(1)
+      assertThat(stats.missCount).isEqualTo(2)
+      assertThat(stats.evictionCount).isEqualTo(1)
+
+      // a.txt was evicted, and is read again
+      assertThat(evaluator.evaluate(text("a = ${read(fileA)}")).getProperty("a"))
+        .isEqualTo("aaaaaaaaaa")
+      assertThat(evaluator.resourceCacheStats.evictionCount).isEqualTo(2)
+
+      // b.txt was evicted, and has changed since
+      fileB.writeString("cccccccccc")
+      val e = assertThrows<PklException> { evaluator.evaluate(text("b = ${read(fileB)}")) }
+      assertThat(e).hasMessageContaining("has changed since it was first read")
+
+      // invalidation accepts the change
+      evaluator.invalidate(listOf(fileB.toUri()))
+      assertThat(evaluator.evaluate(text("b = ${read(fileB)}")).getProperty("b"))
+        .isEqualTo("cccccccccc")
+    }
+  }
+
+  @Test
+  fun `invalidate discards only modules affected by a change`(@TempDir tempDir: Path) {
+    val moduleA =
+      tempDir
+        .resolve("a.pkl")
+        .writeString(
+          """
+          import "b.pkl"
+          import "c.pkl"
+          result = "\(b.x) \(c.y) \(read("data.txt").text)"
+          """
+            .trimIndent()
+        )
+    val moduleB = tempDir.resolve("b.pkl").writeString("x = 1")
+    val moduleC = tempDir.resolve("c.pkl").writeString("y = 1")
+    val data = tempDir.resolve("data.txt").writeString("one")
+
+    Evaluator.preconfigured().use { evaluator ->
+      fun result() = evaluator.evaluate(path(moduleA)).getProperty("result")
+
+      assertThat(result()).isEqualTo("1 1 one")
+
+      moduleB.writeString("x = 2")
+      // not reported as changed, hence stays cached
+      moduleC.writeString("y = 2")
+      assertThat(evaluator.invalidate(listOf(moduleB.toUri())))
+        .containsExactlyInAnyOrder(moduleA.toUri(), moduleB.toUri())
+      assertThat(result()).isEqualTo("2 1 one")
+
+      data.writeString("two")
+      assertThat(evaluator.invalidate(listOf(data.toUri()))).containsExactly(moduleA.toUri())
+      assertThat(result()).isEqualTo("2 1 two")
+    }
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2025-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -230,4 +230,76 @@ class PklBinaryDecoderTest {
       "Unexpected blank typealias module URI",
     )
   }
+
+  @Test
+  fun `decode value at path`() {
+    val bytes = javaClass.getResourceAsStream("pklBinaryDecoderTest.msgpack")!!.readAllBytes()
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "string")).isEqualTo("foo")
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "dynamic", "hello")).isEqualTo("world")
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "dynamic", 0)).isEqualTo("hello world")
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "map", "foo")).isEqualTo("bar")
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "mapping", "foo")).isEqualTo("bar")
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "listing", 1)).isEqualTo(0L)
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "list", 1L)).isEqualTo("bar")
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "something", "indent")).isEqualTo("  ")
+    assertThat(PklBinaryDecoder.decodeAt(bytes.inputStream(), "pair"))
+      .isEqualTo(Pair("foo", "bar"))
+    assertThat((PklBinaryDecoder.decodeAt(bytes) as PObject).properties.keys)
+      .isEqualTo((PklBinaryDecoder.decode(bytes) as PObject).properties.keys)
+
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "missing")).isNull()
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "list", 2)).isNull()
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "list", -1)).isNull()
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "string", "length")).isNull()
+    assertThat(PklBinaryDecoder.decodeAt(bytes, "set", 0)).isNull()
+  }
+
+  @Test
+  fun `decode value at path without decoding siblings`() {
+    // a list whose second element is an unsupported IntSeq
+    val bytes =
+      byteArrayOf(0x92.toByte(), PklBinaryCode.LIST.code, 0x92.toByte()) +
+        strFoo +
+        byteArrayOf(0x94.toByte(), PklBinaryCode.INTSEQ.code, 0x00, 0x04, 0x02)
+    assertThat(PklBinaryDecoder.decodeAt(bytes, 0)).isEqualTo("foo")
+    val exc = assertThrows<RuntimeException> { PklBinaryDecoder.decodeAt(bytes, 1) }
+    assertThat(exc.cause).hasMessageContaining("Cannot decode IntSeq value")
+  }
+
+  @Test
+  fun `decode lazily`() {
+    val bytes = javaClass.getResourceAsStream("pklBinaryDecoderTest.msgpack")!!.readAllBytes()
+    val decoded = PklBinaryDecoder.decode(bytes) as PObject
+    val lazilyDecoded = PklBinaryDecoder.decodeLazily(bytes) as PObject
+    assertThat(lazilyDecoded.classInfo).isEqualTo(decoded.classInfo)
+    assertThat(lazilyDecoded.properties.keys).containsExactlyElementsOf(decoded.properties.keys)
+    assertThat(lazilyDecoded.getProperty("string")).isEqualTo("foo")
+    assertThat(lazilyDecoded.getProperty("dynamic")).isEqualTo(decoded.getProperty("dynamic"))
+    assertThat(lazilyDecoded.getProperty("something")).isEqualTo(decoded.getProperty("something"))
+    assertThat(lazilyDecoded.getProperty("listing")).isEqualTo(listOf("foo", 0L))
+    // decoded values are cached
+    assertThat(lazilyDecoded.getProperty("map")).isSameAs(lazilyDecoded.getProperty("map"))
+    assertThat(lazilyDecoded.getPropertyOrNull("missing")).isNull()
+    assertThrows<NoSuchPropertyException> { lazilyDecoded.getProperty("missing") }
+  }
+
+  @Test
+  fun `decode lazily defers errors`() {
+    // an object with a valid property `ok` and a property `bad` with an unsupported IntSeq value
+    val bytes =
+      byteArrayOf(0x94.toByte(), PklBinaryCode.OBJECT.code) +
+        strFoo +
+        strFoo +
+        byteArrayOf(0x92.toByte()) +
+        byteArrayOf(0x93.toByte(), PklBinaryCode.PROPERTY.code, 0xA2.toByte()) +
+        "ok".toByteArray() +
+        strFoo +
+        byteArrayOf(0x93.toByte(), PklBinaryCode.PROPERTY.code, 0xA3.toByte()) +
+        "bad".toByteArray() +
+        byteArrayOf(0x94.toByte(), PklBinaryCode.INTSEQ.code, 0x00, 0x04, 0x02)
+    val decoded = PklBinaryDecoder.decodeLazily(bytes) as PObject
+    assertThat(decoded.getProperty("ok")).isEqualTo("foo")
+    val exc = assertThrows<RuntimeException> { decoded.getProperty("bad") }
+    assertThat(exc.cause).hasMessageContaining("Cannot decode IntSeq value")
+  }
 }
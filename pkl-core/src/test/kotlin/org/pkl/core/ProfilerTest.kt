@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core
+
+import java.io.StringWriter
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.pkl.core.ModuleSource.text
+
+class ProfilerTest {
+  private val moduleText =
+    """
+    function fib(n: Int): Int = if (n < 2) n else fib(n - 1) + fib(n - 2)
+    result = fib(12)
+    doubled = List(1, 2, 3).map((it) -> it * 2)
+    checked: Listing<Int(isBetween(0, 100))> = new { 1; 2; 3 }
+    """
+      .trimIndent()
+
+  private fun profile(): Profiler {
+    val profiler = Profiler()
+    EvaluatorBuilder.preconfigured().setProfiler(profiler).build().use { evaluator ->
+      evaluator.evaluate(text(moduleText))
+    }
+    return profiler
+  }
+
+  @Test
+  fun `attributes calls to members, methods, lambdas, and type constraints`() {
+    val entries = profile().entries
+
+    // fib(12) calls fib 465 times
+    val fib = entries.single { it.location.contains("fib") }
+    assertThat(fib.count).isEqualTo(465)
+    assertThat(fib.moduleUri).isEqualTo("repl:text")
+    assertThat(fib.totalNanos).isGreaterThanOrEqualTo(fib.selfNanos)
+
+    val result = entries.single { it.location.contains("result") }
+    // recursive calls are only counted once towards total time
+    assertThat(result.totalNanos).isGreaterThanOrEqualTo(fib.totalNanos)
+
+    assertThat(entries.filter { it.location.contains("<function") }.sumOf { it.count })
+      .isEqualTo(3)
+    val constraint = entries.single { it.location.startsWith("constraint `isBetween(0, 100)`") }
+    assertThat(constraint.count).isGreaterThanOrEqualTo(3)
+    assertThat(constraint.location).endsWith("(repl:text:4)")
+  }
+
+  @Test
+  fun `writes collapsed stacks`() {
+    val profiler = profile()
+    val stacks = StringWriter().also(profiler::writeCollapsedStacks).toString()
+
+    for (line in stacks.lines().filter { it.isNotEmpty() }) {
+      assertThat(line).matches("[^;]+(;[^;]+)* [1-9][0-9]*")
+    }
+    assertThat(stacks.lines()).anyMatch { it.matches(".*result.*;.*fib.* [0-9]+") }
+  }
+
+  @Test
+  fun `writes report`() {
+    val profiler = profile()
+    val report = StringWriter().also { profiler.writeReport(it, 3) }.toString()
+
+    val lines = report.lines()
+    assertThat(lines[0]).contains("Self (ms)", "Total (ms)", "Calls", "Location")
+    assertThat(lines.subList(1, 4)).allMatch { it.matches(" +[0-9.]+ +[0-9.]+ +[0-9]+  .+") }
+    assertThat(lines[4]).isEmpty()
+    assertThat(lines[5]).contains("Self (ms)", "Module")
+    assertThat(report).contains("repl:text")
+  }
+
+  @Test
+  fun `reset discards measurements`() {
+    val profiler = profile()
+    assertThat(profiler.entries).isNotEmpty
+
+    profiler.reset()
+    assertThat(profiler.entries).isEmpty()
+  }
+}
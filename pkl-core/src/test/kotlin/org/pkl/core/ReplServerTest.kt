@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,9 +15,12 @@
  */
 package org.pkl.core
 
+import java.nio.file.Path
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
 import org.pkl.commons.toPath
+import org.pkl.commons.writeString
 import org.pkl.core.evaluatorSettings.TraceMode
 import org.pkl.core.http.HttpClient
 import org.pkl.core.module.ModuleKeyFactories
@@ -192,6 +195,19 @@ class ReplServerTest {
     assertThat(result4).contains("Expected value of type `String`, but got type `Int`.")
   }
 
+  @Test
+  fun `reload module after imported module changed`(@TempDir tempDir: Path) {
+    val moduleA = tempDir.resolve("a.pkl").writeString("import \"b.pkl\"\nresult = b.x")
+    val moduleB = tempDir.resolve("b.pkl").writeString("x = 1")
+
+    assertThat(server.handleRequest(ReplRequest.Load("id", moduleA.toUri()))).isEmpty()
+    assertThat(makeEvalRequest("result")).isEqualTo("1")
+
+    moduleB.writeString("x = 2")
+    assertThat(server.handleRequest(ReplRequest.Load("id", moduleA.toUri()))).isEmpty()
+    assertThat(makeEvalRequest("result")).isEqualTo("2")
+  }
+
   private fun makeEvalRequest(text: String): String {
     val responses = server.handleRequest(ReplRequest.Eval("id", text, false, false))
 
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.ast.builder
+
+import java.net.URI
+import java.nio.file.Path
+import kotlin.io.path.ExperimentalPathApi
+import kotlin.io.path.walk
+import kotlin.io.path.writeText
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import org.pkl.core.SecurityManagers
+import org.pkl.core.module.ModuleKeys
+import org.pkl.core.runtime.VmUtils
+
+@OptIn(ExperimentalPathApi::class)
+class ImportsAndReadsCacheTest {
+  private val moduleText =
+    """
+    amends "foo.pkl"
+
+    import* "bar/*.pkl"
+
+    res = read("baz.txt")
+    """
+      .trimIndent()
+
+  private val moduleKey = ModuleKeys.synthetic(URI("repl:text"), moduleText)
+
+  private val resolvedModuleKey = moduleKey.resolve(SecurityManagers.defaultManager)
+
+  private fun List<ImportsAndReadsParser.Entry>.describe() = map {
+    listOf(it.isModule, it.isGlob, it.isExtends, it.isAmends, it.stringValue)
+  }
+
+  @Test
+  fun `caches parse results on disk`(@TempDir tempDir: Path) {
+    val expected = ImportsAndReadsParser.parse(moduleKey, resolvedModuleKey).describe()
+
+    val cache1 = ImportsAndReadsCache(tempDir)
+    val result = ImportsAndReadsParser.parse(moduleKey, resolvedModuleKey, cache1)
+    assertThat(result.describe()).isEqualTo(expected)
+    assertThat(tempDir.walk().toList()).hasSize(1)
+
+    // a new cache instance, as if in a new process
+    val cache2 = ImportsAndReadsCache(tempDir)
+    val cached = cache2.get(VmUtils.createSource(moduleKey, moduleText))
+    assertThat(cached!!.describe()).isEqualTo(expected)
+    assertThat(cached.map { it.sourceSection.charIndex to it.sourceSection.charLength })
+      .isEqualTo(result.map { it.sourceSection.charIndex to it.sourceSection.charLength })
+  }
+
+  @Test
+  fun `does not return results for changed source text`(@TempDir tempDir: Path) {
+    val cache = ImportsAndReadsCache(tempDir)
+    val source = VmUtils.createSource(moduleKey, moduleText)
+    cache.put(source, ImportsAndReadsParser.parse(moduleKey, resolvedModuleKey))
+
+    val changedText = moduleText.replace("baz.txt", "qux.txt")
+    val changedKey = ModuleKeys.synthetic(URI("repl:text"), changedText)
+    assertThat(cache.get(VmUtils.createSource(changedKey, changedText))).isNull()
+  }
+
+  @Test
+  fun `ignores corrupt cache files`(@TempDir tempDir: Path) {
+    val cache = ImportsAndReadsCache(tempDir)
+    val source = VmUtils.createSource(moduleKey, moduleText)
+    cache.put(source, ImportsAndReadsParser.parse(moduleKey, resolvedModuleKey))
+    val cacheFile = tempDir.walk().single()
+    cacheFile.writeText("garbage")
+
+    assertThat(cache.get(source)).isNull()
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package org.pkl.core.externalreader
 
 import java.io.IOException
+import java.util.Collections
 import org.pkl.core.externalreader.ExternalReaderMessages.*
 import org.pkl.core.messaging.Message
 import org.pkl.core.messaging.MessageTransport
@@ -30,6 +31,10 @@ class ExternalReaderClient(
   private val externalResourceReaders: List<ExternalResourceReader>,
   private val transport: MessageTransport,
 ) {
+  /** The types of the requests received so far, in order. */
+  val receivedRequestTypes: MutableList<Message.Type> =
+    Collections.synchronizedList(mutableListOf())
+
   /** Close the runtime and its transport. */
   fun close() {
     transport.close()
@@ -69,6 +74,7 @@ class ExternalReaderClient(
         }
       },
       { msg: Message.Request ->
+        receivedRequestTypes.add(msg.type())
         when (msg.type()) {
           Message.Type.INITIALIZE_MODULE_READER_REQUEST -> {
             val req = msg as InitializeModuleReaderRequest
@@ -192,6 +198,40 @@ class ExternalReaderClient(
               )
             }
           }
+          Message.Type.READ_RESOURCE_BATCH_REQUEST -> {
+            val req = msg as ReadResourceBatchRequest
+            val results =
+              req.uris.map { uri ->
+                val reader = findResourceReader(uri.scheme)
+                try {
+                  if (reader == null) {
+                    ReadResourceResult(null, "No resource reader found for scheme " + uri.scheme)
+                  } else {
+                    ReadResourceResult(reader.read(uri), null)
+                  }
+                } catch (e: Exception) {
+                  ReadResourceResult(null, e.toString())
+                }
+              }
+            transport.send(ReadResourceBatchResponse(req.requestId, req.evaluatorId, results))
+          }
+          Message.Type.LIST_RESOURCES_BATCH_REQUEST -> {
+            val req = msg as ListResourcesBatchRequest
+            val results =
+              req.uris.map { uri ->
+                val reader = findResourceReader(uri.scheme)
+                try {
+                  if (reader == null) {
+                    ListResourcesResult(null, "No resource reader found for scheme " + uri.scheme)
+                  } else {
+                    ListResourcesResult(reader.listElements(uri), null)
+                  }
+                } catch (e: Exception) {
+                  ListResourcesResult(null, e.toString())
+                }
+              }
+            transport.send(ListResourcesBatchResponse(req.requestId, req.evaluatorId, results))
+          }
           else -> throw ProtocolException("Unexpected incoming request message: $msg")
         }
       },
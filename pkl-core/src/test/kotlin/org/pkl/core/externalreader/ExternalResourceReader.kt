@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,9 @@ import org.pkl.core.messaging.Messages.ResourceReaderSpec
 interface ExternalResourceReader : ExternalReaderBase {
   fun read(uri: URI): ByteArray
 
+  val supportsBatchRequests: Boolean
+    get() = false
+
   val spec: ResourceReaderSpec
-    get() = ResourceReaderSpec(scheme, hasHierarchicalUris, isGlobbable)
+    get() = ResourceReaderSpec(scheme, hasHierarchicalUris, isGlobbable, supportsBatchRequests)
 }
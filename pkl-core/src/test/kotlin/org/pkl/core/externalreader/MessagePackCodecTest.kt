@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,6 +64,12 @@ class MessagePackCodecTest {
     roundtrip(
       InitializeResourceReaderResponse(123, Messages.ResourceReaderSpec("my-scheme", true, true))
     )
+    roundtrip(
+      InitializeResourceReaderResponse(
+        123,
+        Messages.ResourceReaderSpec("my-scheme", true, true, true),
+      )
+    )
   }
 
   @Test
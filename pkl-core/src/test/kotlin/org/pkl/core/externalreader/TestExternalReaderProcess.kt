@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -89,7 +89,12 @@ class TestExternalReaderProcess(private val transport: MessageTransport) : Exter
               is InitializeResourceReaderResponse -> {
                 val spec =
                   response.spec?.let {
-                    ResourceReaderSpec(it.scheme, it.hasHierarchicalUris, it.isGlobbable)
+                    ResourceReaderSpec(
+                      it.scheme,
+                      it.hasHierarchicalUris,
+                      it.isGlobbable,
+                      it.supportsBatchRequests,
+                    )
                   }
                 complete(spec)
               }
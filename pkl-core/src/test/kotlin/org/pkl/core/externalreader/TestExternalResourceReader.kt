@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,7 +18,8 @@ package org.pkl.core.externalreader
 import java.net.URI
 import org.pkl.core.module.PathElement
 
-class TestExternalResourceReader : ExternalResourceReader {
+class TestExternalResourceReader(override val supportsBatchRequests: Boolean = false) :
+  ExternalResourceReader {
   override val scheme: String = "test"
 
   override val hasHierarchicalUris: Boolean = false
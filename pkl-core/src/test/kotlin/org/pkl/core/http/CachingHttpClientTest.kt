@@ -0,0 +1,301 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.http
+
+import java.io.IOException
+import java.net.URI
+import java.net.http.HttpClient.Version
+import java.net.http.HttpHeaders
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.net.http.HttpResponse.BodyHandlers
+import java.nio.ByteBuffer
+import java.nio.file.Path
+import java.util.Optional
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.Flow
+import java.util.concurrent.TimeUnit
+import javax.net.ssl.SSLSession
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+
+class CachingHttpClientTest {
+  @TempDir private lateinit var cacheDir: Path
+
+  private val exampleUri = URI("https://example.com/foo.pkl")
+  private val exampleRequest = HttpRequest.newBuilder(exampleUri).build()
+
+  private class ScriptedClient(
+    private val respond: (HttpRequest) -> Triple<Int, Map<String, String>, String>
+  ) : HttpClient {
+    val requests = mutableListOf<HttpRequest>()
+    val bodies = mutableListOf<Any?>()
+
+    override fun <T : Any> send(
+      request: HttpRequest,
+      responseBodyHandler: HttpResponse.BodyHandler<T>,
+    ): HttpResponse<T> {
+      synchronized(requests) { requests.add(request) }
+      val (status, headers, body) = respond(request)
+      val response =
+        ScriptedResponse<T>(
+          request,
+          status,
+          HttpHeaders.of(headers.mapValues { listOf(it.value) }) { _, _ -> true },
+        )
+      val subscriber = responseBodyHandler.apply(response)
+      subscriber.onSubscribe(
+        object : Flow.Subscription {
+          private var done = false
+
+          override fun request(n: Long) {
+            if (done) return
+            done = true
+            subscriber.onNext(listOf(ByteBuffer.wrap(body.toByteArray())))
+            subscriber.onComplete()
+          }
+
+          override fun cancel() {
+            done = true
+          }
+        }
+      )
+      response.body = subscriber.body.toCompletableFuture().get()
+      synchronized(bodies) { bodies.add(response.body) }
+      return response
+    }
+
+    override fun close() {}
+  }
+
+  private class ScriptedResponse<T>(
+    private val request: HttpRequest,
+    private val statusCode: Int,
+    private val headers: HttpHeaders,
+  ) : HttpResponse<T>, HttpResponse.ResponseInfo {
+    var body: T? = null
+
+    override fun statusCode(): Int = statusCode
+
+    override fun request(): HttpRequest = request
+
+    override fun previousResponse(): Optional<HttpResponse<T>> = Optional.empty()
+
+    override fun headers(): HttpHeaders = headers
+
+    @Suppress("UNCHECKED_CAST") override fun body(): T = body as T
+
+    override fun sslSession(): Optional<SSLSession> = Optional.empty()
+
+    override fun uri(): URI = request.uri()
+
+    override fun version(): Version = Version.HTTP_1_1
+  }
+
+  private fun HttpClient.get(): String = send(exampleRequest, BodyHandlers.ofString()).body()
+
+  @Test
+  fun `serves fresh responses from the cache`() {
+    val delegate = ScriptedClient { Triple(200, mapOf("Cache-Control" to "max-age=60"), "foo") }
+    val client = CachingHttpClient(delegate, cacheDir, false)
+
+    assertThat(client.get()).isEqualTo("foo")
+    assertThat(client.get()).isEqualTo("foo")
+    assertThat(delegate.requests).hasSize(1)
+  }
+
+  @Test
+  fun `revalidates stale responses`() {
+    var body = "foo"
+    val delegate = ScriptedClient { request ->
+      if (request.headers().firstValue("If-None-Match").orElse(null) == "\"$body\"") {
+        Triple(304, mapOf(), "")
+      } else {
+        Triple(200, mapOf("ETag" to "\"$body\"", "Cache-Control" to "no-cache"), body)
+      }
+    }
+    val client = CachingHttpClient(delegate, cacheDir, false)
+
+    assertThat(client.get()).isEqualTo("foo")
+    assertThat(delegate.requests.last().headers().firstValue("If-None-Match")).isEmpty
+
+    assertThat(client.get()).isEqualTo("foo")
+    assertThat(delegate.requests.last().headers().firstValue("If-None-Match"))
+      .hasValue("\"foo\"")
+
+    body = "bar"
+    assertThat(client.get()).isEqualTo("bar")
+    assertThat(client.get()).isEqualTo("bar")
+    assertThat(delegate.requests).hasSize(4)
+  }
+
+  @Test
+  fun `revalidates with Last-Modified`() {
+    val lastModified = "Wed, 21 Oct 2015 07:28:00 GMT"
+    val delegate = ScriptedClient { request ->
+      if (request.headers().firstValue("If-Modified-Since").isPresent) Triple(304, mapOf(), "")
+      else Triple(200, mapOf("Last-Modified" to lastModified), "foo")
+    }
+    val client = CachingHttpClient(delegate, cacheDir, false)
+
+    assertThat(client.get()).isEqualTo("foo")
+    assertThat(client.get()).isEqualTo("foo")
+    assertThat(delegate.requests.last().headers().firstValue("If-Modified-Since"))
+      .hasValue(lastModified)
+  }
+
+  @Test
+  fun `persists responses across clients`() {
+    val delegate = ScriptedClient { Triple(200, mapOf("Cache-Control" to "max-age=60"), "foo") }
+    CachingHttpClient(delegate, cacheDir, false).get()
+
+    val client = CachingHttpClient(delegate, cacheDir, false)
+    assertThat(client.send(exampleRequest, BodyHandlers.ofInputStream()).body().readAllBytes())
+      .isEqualTo("foo".toByteArray())
+    assertThat(delegate.requests).hasSize(1)
+  }
+
+  @Test
+  fun `does not cache no-store responses and requests`() {
+    val delegate = ScriptedClient {
+      Triple(200, mapOf("Cache-Control" to "max-age=60, no-store"), "foo")
+    }
+    val client = CachingHttpClient(delegate, cacheDir, false)
+    client.get()
+    client.get()
+    assertThat(delegate.requests).hasSize(2)
+
+    val cacheableDelegate = ScriptedClient {
+      Triple(200, mapOf("Cache-Control" to "max-age=60"), "foo")
+    }
+    val noStoreRequest =
+      HttpRequest.newBuilder(exampleUri).header("Cache-Control", "no-store").build()
+    val client2 = CachingHttpClient(cacheableDelegate, cacheDir, false)
+    client2.send(noStoreRequest, BodyHandlers.discarding())
+    client2.send(noStoreRequest, BodyHandlers.discarding())
+    assertThat(cacheableDelegate.requests).hasSize(2)
+  }
+
+  @Test
+  fun `sendUncached bypasses the cache`() {
+    val delegate = ScriptedClient { Triple(200, mapOf("Cache-Control" to "max-age=60"), "foo") }
+    val client = CachingHttpClient(delegate, cacheDir, false)
+    client.sendUncached(exampleRequest, BodyHandlers.discarding())
+    client.sendUncached(exampleRequest, BodyHandlers.discarding())
+    assertThat(delegate.requests).hasSize(2)
+    assertThat(delegate.requests.last().headers().firstValue("Cache-Control")).isEmpty
+
+    client.get()
+    assertThat(delegate.requests).hasSize(3)
+  }
+
+  @Test
+  fun `does not cache requests with credentials and responses that vary`() {
+    val delegate = ScriptedClient { Triple(200, mapOf("Cache-Control" to "max-age=60"), "foo") }
+    val client = CachingHttpClient(delegate, cacheDir, false)
+    val authorizedRequest =
+      HttpRequest.newBuilder(exampleUri).header("Authorization", "Bearer secret").build()
+    client.send(authorizedRequest, BodyHandlers.discarding())
+    client.send(authorizedRequest, BodyHandlers.discarding())
+    assertThat(delegate.requests).hasSize(2)
+
+    val varyingDelegate = ScriptedClient {
+      Triple(200, mapOf("Cache-Control" to "max-age=60", "Vary" to "Accept"), "foo")
+    }
+    val client2 = CachingHttpClient(varyingDelegate, cacheDir, false)
+    client2.get()
+    client2.get()
+    assertThat(varyingDelegate.requests).hasSize(2)
+  }
+
+  @Test
+  fun `streams response bodies that are not cached`() {
+    val delegate = ScriptedClient { Triple(200, mapOf(), "foo") }
+    val client = CachingHttpClient(delegate, cacheDir, false)
+    val response = client.send(exampleRequest, BodyHandlers.ofInputStream())
+    // the body created by the caller's body handler is passed through as is
+    assertThat(response.body()).isSameAs(delegate.bodies.single())
+    assertThat(response.body().readAllBytes()).isEqualTo("foo".toByteArray())
+  }
+
+  @Test
+  fun `does not cache error responses`() {
+    val delegate = ScriptedClient { Triple(404, mapOf("Cache-Control" to "max-age=60"), "") }
+    val client = CachingHttpClient(delegate, cacheDir, false)
+
+    assertThat(client.send(exampleRequest, BodyHandlers.discarding()).statusCode()).isEqualTo(404)
+    client.send(exampleRequest, BodyHandlers.discarding())
+    assertThat(delegate.requests).hasSize(2)
+  }
+
+  @Test
+  fun `offline mode serves stale responses and fails otherwise`() {
+    val delegate = ScriptedClient { Triple(200, mapOf("ETag" to "\"foo\""), "foo") }
+    CachingHttpClient(delegate, cacheDir, false).get()
+
+    val offlineClient = CachingHttpClient(delegate, cacheDir, true)
+    assertThat(offlineClient.get()).isEqualTo("foo")
+    assertThatThrownBy {
+        offlineClient.send(
+          HttpRequest.newBuilder(URI("https://example.com/bar.pkl")).build(),
+          BodyHandlers.discarding(),
+        )
+      }
+      .isInstanceOf(IOException::class.java)
+      .hasMessageContaining("offline")
+    assertThat(delegate.requests).hasSize(1)
+  }
+
+  @Test
+  fun `sends concurrent requests for the same URI only once`() {
+    val started = CountDownLatch(1)
+    val release = CountDownLatch(1)
+    val delegate = ScriptedClient {
+      started.countDown()
+      release.await(10, TimeUnit.SECONDS)
+      Triple(200, mapOf("Cache-Control" to "max-age=60"), "foo")
+    }
+    val client = CachingHttpClient(delegate, cacheDir, false)
+    val executor = Executors.newFixedThreadPool(2)
+    try {
+      val first = executor.submit<String> { client.get() }
+      started.await(10, TimeUnit.SECONDS)
+      val second = executor.submit<String> { client.get() }
+      // give the second request time to join the in-flight request
+      Thread.sleep(100)
+      release.countDown()
+
+      assertThat(first.get()).isEqualTo("foo")
+      assertThat(second.get()).isEqualTo("foo")
+      assertThat(delegate.requests).hasSize(1)
+    } finally {
+      executor.shutdownNow()
+    }
+  }
+
+  @Test
+  fun `builder wraps client if cache directory is set`() {
+    val client = HttpClient.builder().setResponseCacheDir(cacheDir).build()
+    assertThat(client).isInstanceOf(CachingHttpClient::class.java)
+    assertThat((client as CachingHttpClient).cacheDir).isEqualTo(cacheDir)
+    assertThat(client.delegate).isInstanceOf(RequestRewritingClient::class.java)
+
+    assertThat(HttpClient.builder().build()).isInstanceOf(RequestRewritingClient::class.java)
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -98,6 +98,45 @@ class BaseMessagePackCodecTest {
     roundtrip(ListResourcesResponse(3851, 3019, null, "something went wrong"))
   }
 
+  @Test
+  fun `round-trip ReadResourceBatchRequest`() {
+    roundtrip(ReadResourceBatchRequest(123, 456, listOf(URI("foo:/bar"), URI("foo:/baz"))))
+  }
+
+  @Test
+  fun `round-trip ReadResourceBatchResponse`() {
+    roundtrip(
+      ReadResourceBatchResponse(
+        123,
+        456,
+        listOf(
+          ReadResourceResult(byteArrayOf(1, 2, 3), null),
+          ReadResourceResult(null, "something went wrong"),
+          ReadResourceResult(null, null),
+        ),
+      )
+    )
+  }
+
+  @Test
+  fun `round-trip ListResourcesBatchRequest`() {
+    roundtrip(ListResourcesBatchRequest(987, 1359, listOf(URI("bar:/bazzy/"), URI("bar:/biz/"))))
+  }
+
+  @Test
+  fun `round-trip ListResourcesBatchResponse`() {
+    roundtrip(
+      ListResourcesBatchResponse(
+        3851,
+        3019,
+        listOf(
+          ListResourcesResult(listOf(PathElement("foo", true), PathElement("bar", false)), null),
+          ListResourcesResult(null, "something went wrong"),
+        ),
+      )
+    )
+  }
+
   @Test
   fun `decode request with missing request ID`() {
     val bytes =
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,13 +18,17 @@ package org.pkl.core.packages
 import java.io.FileNotFoundException
 import java.io.IOException
 import java.nio.charset.StandardCharsets
+import java.nio.file.Path
 import kotlin.io.path.ExperimentalPathApi
+import kotlin.io.path.deleteExisting
 import kotlin.io.path.deleteRecursively
 import kotlin.io.path.exists
 import kotlin.io.path.readBytes
+import kotlin.io.path.writeText
 import org.assertj.core.api.Assertions.assertThat
 import org.assertj.core.api.Assertions.assertThatCode
 import org.junit.jupiter.api.*
+import org.junit.jupiter.api.io.TempDir
 import org.junit.jupiter.api.parallel.Execution
 import org.junit.jupiter.api.parallel.ExecutionMode
 import org.pkl.commons.readString
@@ -40,7 +44,7 @@ class PackageResolversTest {
   abstract class AbstractPackageResolverTest {
     abstract val resolver: PackageResolver
 
-    private val packageRoot =
+    protected val packageRoot =
       FileTestUtils.rootProjectDir.resolve("pkl-commons-test/src/main/files/packages")
 
     // Each subclass gets its own PackageServer instance (instance property, Lifecycle.PER_CLASS).
@@ -232,6 +236,29 @@ class PackageResolversTest {
         httpClient,
         cacheDir,
       )
+
+    @Test
+    fun `reads packages from extracted package files`(@TempDir tempDir: Path) {
+      val assetUri = PackageAssetUri("package://localhost:0/birds@0.5.0#/Bird.pkl")
+      val expected = packageRoot.resolve("birds@0.5.0/package/Bird.pkl").readBytes()
+      val newResolver = {
+        PackageResolvers.DiskCachedPackageResolver(
+          SecurityManagers.defaultManager,
+          httpClient,
+          tempDir,
+        )
+      }
+      newResolver().use { assertThat(it.getBytes(assetUri, false, null)).isEqualTo(expected) }
+      val extracted =
+        tempDir.resolve("package-2/localhost(3a)0/birds@0.5.0/birds@0.5.0.extracted")
+      assertThat(extracted).exists()
+
+      // corrupt extracted packages are extracted again
+      extracted.deleteExisting()
+      extracted.writeText("garbage")
+      newResolver().use { assertThat(it.getBytes(assetUri, false, null)).isEqualTo(expected) }
+      assertThat(extracted.readBytes().size).isGreaterThan(expected.size)
+    }
   }
 
   class InMemoryPackageResolverTest : AbstractPackageResolverTest() {
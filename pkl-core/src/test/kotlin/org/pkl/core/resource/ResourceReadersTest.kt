@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,16 +18,27 @@ package org.pkl.core.resource
 import java.net.URI
 import java.net.URISyntaxException
 import java.nio.file.Path
+import java.util.regex.Pattern
 import kotlin.io.path.outputStream
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.api.io.TempDir
+import org.pkl.core.SecurityManagers
 import org.pkl.core.externalreader.TestExternalReaderProcess
 import org.pkl.core.externalreader.TestExternalResourceReader
+import org.pkl.core.messaging.Message
 import org.pkl.core.module.ModulePathResolver
 
 class ResourceReadersTest {
+  private val securityManager =
+    SecurityManagers.standard(
+      listOf(),
+      listOf(Pattern.compile("test:")),
+      SecurityManagers.defaultTrustLevels,
+      null,
+    )
+
   @Test
   fun `class path - present resource`() {
     val reader = ResourceReaders.classPath(this::class.java.classLoader)
@@ -151,4 +162,50 @@ class ResourceReadersTest {
     proc.close()
     runtime.close()
   }
+
+  @Test
+  fun `externalProcess - prefetch with batch requests`() {
+    val extReader = TestExternalResourceReader(supportsBatchRequests = true)
+    val (proc, runtime) =
+      TestExternalReaderProcess.initializeTestHarness(emptyList(), listOf(extReader))
+
+    val reader = ResourceReaders.externalProcess(extReader.scheme, proc)
+    reader.prefetch(listOf(URI("test:foo"), URI("test:bar")))
+    reader.prefetchListElements(securityManager, listOf(URI("test:/baz/"), URI("test:/qux/")))
+
+    assertThat((reader.read(URI("test:foo")).get() as Resource).text).isEqualTo("success")
+    assertThat((reader.read(URI("test:bar")).get() as Resource).text).isEqualTo("success")
+    assertThat(reader.listElements(securityManager, URI("test:/baz/"))).isEmpty()
+    assertThat(runtime.receivedRequestTypes)
+      .containsExactly(
+        Message.Type.INITIALIZE_RESOURCE_READER_REQUEST,
+        Message.Type.READ_RESOURCE_BATCH_REQUEST,
+        Message.Type.LIST_RESOURCES_BATCH_REQUEST,
+      )
+
+    proc.close()
+    runtime.close()
+  }
+
+  @Test
+  fun `externalProcess - prefetch without batch requests`() {
+    val extReader = TestExternalResourceReader()
+    val (proc, runtime) =
+      TestExternalReaderProcess.initializeTestHarness(emptyList(), listOf(extReader))
+
+    val reader = ResourceReaders.externalProcess(extReader.scheme, proc)
+    reader.prefetch(listOf(URI("test:foo"), URI("test:bar")))
+
+    assertThat((reader.read(URI("test:foo")).get() as Resource).text).isEqualTo("success")
+    assertThat((reader.read(URI("test:bar")).get() as Resource).text).isEqualTo("success")
+    assertThat(runtime.receivedRequestTypes)
+      .containsExactly(
+        Message.Type.INITIALIZE_RESOURCE_READER_REQUEST,
+        Message.Type.READ_RESOURCE_REQUEST,
+        Message.Type.READ_RESOURCE_REQUEST,
+      )
+
+    proc.close()
+    runtime.close()
+  }
 }
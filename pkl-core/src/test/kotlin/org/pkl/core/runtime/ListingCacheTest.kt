@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.runtime
+
+import java.net.URI
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.pkl.core.SecurityManager
+import org.pkl.core.SecurityManagers
+import org.pkl.core.module.PathElement
+
+class ListingCacheTest {
+  private val cache = ListingCache()
+
+  private val securityManager = SecurityManagers.defaultManager
+
+  private class CountingReader(private val threadSafe: Boolean) : ReaderBase {
+    val listedUris: MutableList<URI> = Collections.synchronizedList(mutableListOf())
+    val listingThreads: MutableSet<String> = ConcurrentHashMap.newKeySet()
+    val prefetchedUris = mutableListOf<URI>()
+
+    override fun hasHierarchicalUris(): Boolean = true
+
+    override fun isGlobbable(): Boolean = true
+
+    override fun isListElementsThreadSafe(): Boolean = threadSafe
+
+    override fun listElements(securityManager: SecurityManager, baseUri: URI): List<PathElement> {
+      listedUris.add(baseUri)
+      listingThreads.add(Thread.currentThread().name)
+      return listOf(
+        PathElement("b.pkl", false),
+        PathElement("a", true),
+        PathElement("a.pkl", false),
+      )
+    }
+
+    override fun prefetchListElements(securityManager: SecurityManager, baseUris: List<URI>) {
+      prefetchedUris.addAll(baseUris)
+    }
+  }
+
+  @Test
+  fun `lists each directory once and sorts elements`() {
+    val reader = CountingReader(false)
+    val elements = cache.listElements(securityManager, reader, URI("test:/foo/"))
+    assertThat(elements.map { it.name }).containsExactly("a", "a.pkl", "b.pkl")
+
+    assertThat(cache.listElements(securityManager, reader, URI("test:/foo"))).isSameAs(elements)
+    assertThat(cache.listElements(securityManager, reader, URI("test:/bar/"))).isEqualTo(elements)
+    assertThat(reader.listedUris).containsExactly(URI("test:/foo/"), URI("test:/bar/"))
+  }
+
+  @Test
+  fun `lists directories in parallel if reader is thread-safe`() {
+    val reader = CountingReader(true)
+    val uris = (1..20).map { URI("test:/dir$it/") }
+    cache.prefetch(securityManager, reader, uris)
+    for (uri in uris) {
+      assertThat(cache.listElements(securityManager, reader, uri)).hasSize(3)
+    }
+    assertThat(reader.listedUris).containsExactlyInAnyOrderElementsOf(uris)
+    assertThat(reader.listingThreads).containsOnly("Pkl Directory Lister")
+  }
+
+  @Test
+  fun `hints reader if it is not thread-safe`() {
+    val reader = CountingReader(false)
+    cache.listElements(securityManager, reader, URI("test:/dir1/"))
+    cache.prefetch(securityManager, reader, listOf(URI("test:/dir1/"), URI("test:/dir2/")))
+    assertThat(reader.prefetchedUris).containsExactly(URI("test:/dir2/"))
+    assertThat(reader.listedUris).containsExactly(URI("test:/dir1/"))
+  }
+
+  @Test
+  fun `invalidates listings of changed elements and their parents`() {
+    val reader = CountingReader(false)
+    for (dir in listOf("test:/foo/", "test:/foo/bar/", "test:/baz/")) {
+      cache.listElements(securityManager, reader, URI(dir))
+    }
+    cache.invalidate(listOf(URI("test:/foo/bar/new.pkl")))
+    for (dir in listOf("test:/foo/", "test:/foo/bar/", "test:/baz/")) {
+      cache.listElements(securityManager, reader, URI(dir))
+    }
+    assertThat(reader.listedUris.drop(3)).containsExactly(URI("test:/foo/bar/"))
+
+    cache.invalidate(listOf(URI("test:/foo/bar/")))
+    cache.listElements(securityManager, reader, URI("test:/foo/"))
+    assertThat(reader.listedUris.last()).isEqualTo(URI("test:/foo/"))
+
+    cache.clear()
+    cache.listElements(securityManager, reader, URI("test:/baz/"))
+    assertThat(reader.listedUris.last()).isEqualTo(URI("test:/baz/"))
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.runtime
+
+import java.util.regex.Pattern
+import java.util.regex.PatternSyntaxException
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+
+class PatternCacheTest {
+  private val cache = PatternCache.getInstance()
+
+  @Test
+  fun `reuses patterns with same regex and flags`() {
+    val regex = "pattern-cache-test-[a-z]+"
+    val hitCount = cache.hitCount
+
+    val pattern = cache.compile(regex, Pattern.UNICODE_CASE)
+    assertThat(cache.compile(regex, Pattern.UNICODE_CASE)).isSameAs(pattern)
+    assertThat(cache.hitCount).isGreaterThan(hitCount)
+
+    val literal = cache.compile(regex, Pattern.LITERAL)
+    assertThat(literal).isNotSameAs(pattern)
+    assertThat(literal.matcher(regex).matches()).isTrue
+    assertThat(pattern.matcher("pattern-cache-test-abc").matches()).isTrue
+  }
+
+  @Test
+  fun `does not cache invalid regexes`() {
+    val hitCount = cache.hitCount
+    val missCount = cache.missCount
+
+    assertThrows<PatternSyntaxException> { cache.compile("pattern-cache-test-(", 0) }
+    assertThrows<PatternSyntaxException> { cache.compile("pattern-cache-test-(", 0) }
+    // a cached failure would make the second compile a hit
+    assertThat(cache.hitCount).isEqualTo(hitCount)
+    assertThat(cache.missCount).isEqualTo(missCount + 2)
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.runtime
+
+import java.net.URI
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.pkl.core.module.ModuleKeys
+import org.pkl.core.module.ResolvedModuleKey
+import org.pkl.core.module.ResolvedModuleKeys
+import org.pkl.parser.Parser
+
+class SharedModuleCacheTest {
+  private val cache = SharedModuleCache()
+
+  private val uri = URI("package://example.com/foo@1.0.0#/bar.pkl")
+
+  @Test
+  fun `returns cached entry for identical source text`() {
+    val text = "foo = 1"
+    val source = VmUtils.createSource(ModuleKeys.synthetic(uri, text), text)
+    val module = Parser().parseModule(text)
+    cache.put(uri, source, module)
+
+    val entry = cache.get(uri, text)
+    assertThat(entry).isNotNull
+    assertThat(entry!!.module).isSameAs(module)
+    assertThat(entry.source).isSameAs(source)
+    assertThat(cache.hitCount).isEqualTo(1)
+    assertThat(cache.missCount).isEqualTo(0)
+  }
+
+  @Test
+  fun `does not return cached entry for changed source text`() {
+    val text = "foo = 1"
+    val source = VmUtils.createSource(ModuleKeys.synthetic(uri, text), text)
+    cache.put(uri, source, Parser().parseModule(text))
+
+    assertThat(cache.get(uri, "foo = 2")).isNull()
+    assertThat(cache.get(URI("package://example.com/foo@1.0.0#/baz.pkl"), text)).isNull()
+    assertThat(cache.missCount).isEqualTo(2)
+  }
+
+  @Test
+  fun `only caches immutable modules`() {
+    val stdlibKey = ModuleKeys.standardLibrary(URI("pkl:json")) as ResolvedModuleKey
+    assertThat(SharedModuleCache.isCacheable(stdlibKey)).isTrue
+    val fileUri = URI("file:///foo.pkl")
+    val fileKey =
+      ResolvedModuleKeys.virtual(ModuleKeys.synthetic(fileUri, "foo = 1"), fileUri, "foo = 1", true)
+    assertThat(SharedModuleCache.isCacheable(fileKey)).isFalse
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.core.runtime
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+
+class VmListTest {
+  // backed by an RRB tree
+  private fun treeList(vararg elements: Any): VmList = VmList.create(elements.toList())
+
+  @Test
+  fun `lists of Ints equal lists backed by an RRB tree`() {
+    val ints = VmList.create(longArrayOf(1, 2, 3))
+
+    assertThat(ints).isEqualTo(treeList(1L, 2L, 3L))
+    assertThat(treeList(1L, 2L, 3L)).isEqualTo(ints)
+    assertThat(ints.hashCode()).isEqualTo(treeList(1L, 2L, 3L).hashCode())
+    assertThat(ints.hashCode()).isEqualTo(listOf(1L, 2L, 3L).hashCode())
+    assertThat(ints).isNotEqualTo(VmList.create(arrayOf<Any>(1.0, 2.0, 3.0)))
+  }
+
+  @Test
+  fun `lists of Floats equal lists backed by an RRB tree`() {
+    val floats = VmList.create(arrayOf<Any>(1.5, -0.0, Double.NaN))
+
+    assertThat(floats).isEqualTo(treeList(1.5, -0.0, Double.NaN))
+    assertThat(floats.hashCode()).isEqualTo(treeList(1.5, -0.0, Double.NaN).hashCode())
+    assertThat(floats.indexOf(Double.NaN)).isEqualTo(2)
+    assertThat(floats.contains(0.0)).isFalse
+  }
+
+  @Test
+  fun `builder falls back to an RRB tree for mixed elements`() {
+    val builder = VmList.EMPTY.builder()
+    builder.add(1L)
+    builder.add(2L)
+    builder.add(3.0)
+    builder.add("four")
+    val list = builder.build()
+
+    assertThat(list).isEqualTo(treeList(1L, 2L, 3.0, "four"))
+    assertThat(list.export()).containsExactly(1L, 2L, 3.0, "four")
+  }
+
+  @Test
+  fun `sublists of Ints`() {
+    val ints = VmList.create(longArrayOf(1, 2, 3, 4, 5))
+
+    assertThat(ints.subList(1, 4)).isEqualTo(treeList(2L, 3L, 4L))
+    assertThat(ints.rest.rest).isEqualTo(treeList(3L, 4L, 5L))
+    assertThat(ints.take(2)).isEqualTo(treeList(1L, 2L))
+    assertThat(ints.takeLast(2)).isEqualTo(treeList(4L, 5L))
+    assertThat(ints.drop(4)).isEqualTo(treeList(5L))
+    assertThat(ints.dropLast(5)).isSameAs(VmList.EMPTY)
+    assertThat(ints.subList(1, 4).reverse()).isEqualTo(treeList(4L, 3L, 2L))
+    assertThat(ints.subList(3, 5).repeat(2)).isEqualTo(treeList(4L, 5L, 4L, 5L))
+    assertThat(ints.drop(1).lastIndexOf(5L)).isEqualTo(3)
+    assertThat(ints.drop(1).indexOf(5.0)).isEqualTo(-1)
+    assertThat(ints.drop(1).toArray()).containsExactly(2L, 3L, 4L, 5L)
+  }
+
+  @Test
+  fun `adding to a list of Ints`() {
+    val ints = VmList.create(longArrayOf(1, 2))
+
+    assertThat(ints.add(3L)).isEqualTo(treeList(1L, 2L, 3L))
+    assertThat(ints.add("three")).isEqualTo(treeList(1L, 2L, "three"))
+    assertThat(ints.concatenate(ints)).isEqualTo(treeList(1L, 2L, 1L, 2L))
+    assertThat(ints.replace(0, 0L)).isEqualTo(treeList(0L, 2L))
+  }
+
+  @Test
+  fun `min and max of Ints and Floats`() {
+    val ints = VmList.create(longArrayOf(3, -1, 7, -1))
+    val floats = VmList.create(arrayOf<Any>(0.5, 2.5, -1.5))
+
+    assertThat(ints.primitiveMin).isEqualTo(-1L)
+    assertThat(ints.primitiveMax).isEqualTo(7L)
+    assertThat(floats.primitiveMin).isEqualTo(-1.5)
+    assertThat(floats.primitiveMax).isEqualTo(2.5)
+    assertThat(treeList("a", "b").primitiveMin).isNull()
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -104,6 +104,7 @@ public class PklPlugin implements Plugin<Project> {
           spec.getOutputPath()
               .convention(project.getLayout().getBuildDirectory().dir("generated/pkl/packages"));
           spec.getOverwrite().convention(false);
+          spec.getParallelism().convention(1);
           var packageTask = createTask(ProjectPackageTask.class, spec);
           packageTask.configure(
               task -> {
@@ -112,6 +113,7 @@ public class PklPlugin implements Plugin<Project> {
                 task.getSkipPublishCheck().set(spec.getSkipPublishCheck());
                 task.getJunitReportsDir().set(spec.getJunitReportsDir());
                 task.getOverwrite().set(spec.getOverwrite());
+                task.getParallelism().set(spec.getParallelism());
               });
           project
               .getPluginManager()
@@ -130,9 +132,13 @@ public class PklPlugin implements Plugin<Project> {
     specs.all(
         spec -> {
           configureBaseSpec(spec);
+          spec.getParallelism().convention(1);
           var resolveTask = createTask(ProjectResolveTask.class, spec);
           resolveTask.configure(
-              task -> task.getProjectDirectories().from(spec.getProjectDirectories()));
+              task -> {
+                task.getProjectDirectories().from(spec.getProjectDirectories());
+                task.getParallelism().set(spec.getParallelism());
+              });
         });
   }
 
@@ -169,6 +175,8 @@ public class PklPlugin implements Plugin<Project> {
               .convention(CliEvaluatorOptions.Companion.getDefaults().getModuleOutputSeparator());
           spec.getExpression()
               .convention(CliEvaluatorOptions.Companion.getDefaults().getExpression());
+          spec.getParallelism()
+              .convention(CliEvaluatorOptions.Companion.getDefaults().getParallelism());
 
           createModulesTask(EvalTask.class, spec)
               .configure(
@@ -178,6 +186,7 @@ public class PklPlugin implements Plugin<Project> {
                     task.getModuleOutputSeparator().set(spec.getModuleOutputSeparator());
                     task.getMultipleFileOutputDir().set(spec.getMultipleFileOutputDir());
                     task.getExpression().set(spec.getExpression());
+                    task.getParallelism().set(spec.getParallelism());
                   });
         });
   }
@@ -276,12 +285,14 @@ public class PklPlugin implements Plugin<Project> {
           configureBaseSpec(spec);
 
           spec.getOverwrite().convention(false);
+          spec.getParallelism().convention(1);
 
           var testTask = createModulesTask(TestTask.class, spec);
           testTask.configure(
               task -> {
                 task.getJunitReportsDir().set(spec.getJunitReportsDir());
                 task.getOverwrite().set(spec.getOverwrite());
+                task.getParallelism().set(spec.getParallelism());
               });
 
           project
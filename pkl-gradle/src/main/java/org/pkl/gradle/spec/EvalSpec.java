@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,4 +30,6 @@ public interface EvalSpec extends ModulesSpec {
   DirectoryProperty getMultipleFileOutputDir();
 
   Property<String> getExpression();
+
+  Property<Integer> getParallelism();
 }
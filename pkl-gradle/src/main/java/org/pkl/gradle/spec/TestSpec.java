@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,4 +22,6 @@ public interface TestSpec extends ModulesSpec {
   DirectoryProperty getJunitReportsDir();
 
   Property<Boolean> getOverwrite();
+
+  Property<Integer> getParallelism();
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,7 +41,8 @@ public abstract class AnalyzeImportsTask extends ModulesTask {
                       new CliImportAnalyzerOptions(
                           getCliBaseOptions(),
                           mapAndGetOrNull(getOutputFile(), it -> it.getAsFile().toPath()),
-                          mapAndGetOrNull(getOutputFormat(), it -> it))));
+                          mapAndGetOrNull(getOutputFormat(), it -> it),
+                          false)));
 
   @Override
   protected void doRunTask() {
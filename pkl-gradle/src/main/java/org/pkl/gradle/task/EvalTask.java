@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -54,6 +54,10 @@ public abstract class EvalTask extends ModulesTask {
   @Optional
   public abstract Property<String> getExpression();
 
+  // not tracked because it doesn't affect outputs
+  @Internal
+  public abstract Property<Integer> getParallelism();
+
   private final Provider<CliEvaluator> cliEvaluator =
       getProviders()
           .provider(
@@ -66,7 +70,8 @@ public abstract class EvalTask extends ModulesTask {
                           getModuleOutputSeparator().get(),
                           mapAndGetOrNull(
                               getMultipleFileOutputDir(), it -> it.getAsFile().getAbsolutePath()),
-                          getExpression().getOrNull())));
+                          getExpression().getOrNull(),
+                          getParallelism().get())));
 
   @SuppressWarnings("unused")
   @OutputFiles
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
@@ -31,6 +32,14 @@ public abstract class ProjectResolveTask extends BasePklTask {
   @Internal
   public abstract ConfigurableFileCollection getProjectDirectories();
 
+  // not tracked because it doesn't affect outputs
+  @Internal
+  public abstract Property<Integer> getParallelism();
+
+  public ProjectResolveTask() {
+    this.getParallelism().convention(1);
+  }
+
   // Only the `PklProject` files matter for creating PklProject.deps.json files.
   // Otherwise, these tasks can be considered up to date.
   @InputFiles
@@ -57,7 +66,8 @@ public abstract class ProjectResolveTask extends BasePklTask {
             getCliBaseOptions(),
             projectDirectories,
             new PrintWriter(System.out),
-            new PrintWriter(System.err))
+            new PrintWriter(System.err),
+            getParallelism().get())
         .run();
   }
 }
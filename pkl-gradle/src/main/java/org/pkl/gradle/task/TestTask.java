@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import java.io.PrintWriter;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputDirectory;
 import org.pkl.cli.CliTestRunner;
@@ -39,8 +40,13 @@ public abstract class TestTask extends ModulesTask {
   @Input
   public abstract Property<Boolean> getOverwrite();
 
+  // not tracked because it doesn't affect outputs
+  @Internal
+  public abstract Property<Integer> getParallelism();
+
   public TestTask() {
     this.getJunitAggregateSuiteName().convention("pkl-tests");
+    this.getParallelism().convention(1);
   }
 
   @Override
@@ -51,7 +57,8 @@ public abstract class TestTask extends ModulesTask {
                 mapAndGetOrNull(getJunitReportsDir(), it -> it.getAsFile().toPath()),
                 getOverwrite().get(),
                 getJunitAggregateReports().getOrElse(false),
-                getJunitAggregateSuiteName().get()),
+                getJunitAggregateSuiteName().get(),
+                getParallelism().get()),
             new PrintWriter(System.out),
             new PrintWriter(System.err))
         .run();
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -440,4 +440,5 @@ class TestsTest : AbstractTest() {
 
   private fun String.stripFilesAndLines(): String =
     replace(Regex("""\(file:///.*, line \d+\)"""), "(file:///file, line x)")
+      .replace(Regex(""" time="[\d.]+""""), "")
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.server
+
+import java.util.concurrent.Executor
+import java.util.concurrent.RejectedExecutionException
+
+/**
+ * Runs the tasks of a single evaluator one at a time and in submission order, using threads
+ * borrowed from a shared [executor].
+ *
+ * Lanes of different evaluators run in parallel. After each task, a lane hands its thread back to
+ * [executor] so that an evaluator with a long queue cannot starve the others. Once [executor] has
+ * been shut down, remaining and newly submitted tasks are dropped.
+ */
+internal class EvaluatorLane(private val executor: Executor) {
+  private val tasks = ArrayDeque<Runnable>()
+
+  private var isRunning = false
+
+  /** The number of tasks that are queued or currently running in this lane. */
+  val queueDepth: Int
+    get() = synchronized(this) { tasks.size + if (isRunning) 1 else 0 }
+
+  fun execute(task: Runnable) {
+    synchronized(this) {
+      tasks.addLast(task)
+      if (isRunning) return
+      isRunning = true
+    }
+    scheduleNext()
+  }
+
+  private fun runNext() {
+    val task = synchronized(this) { tasks.removeFirst() }
+    try {
+      task.run()
+    } finally {
+      val hasMore =
+        synchronized(this) {
+          isRunning = tasks.isNotEmpty()
+          isRunning
+        }
+      if (hasMore) scheduleNext()
+    }
+  }
+
+  private fun scheduleNext() {
+    try {
+      executor.execute(::runNext)
+    } catch (e: RejectedExecutionException) {
+      // the server is closing
+      synchronized(this) {
+        tasks.clear()
+        isRunning = false
+      }
+    }
+  }
+}
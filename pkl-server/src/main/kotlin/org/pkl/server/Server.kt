@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.net.URI
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.regex.Pattern
 import kotlin.random.Random
 import org.pkl.core.*
@@ -42,11 +43,26 @@ import org.pkl.core.resource.ResourceReader
 import org.pkl.core.resource.ResourceReaders
 import org.pkl.core.util.IoUtils
 
-class Server(private val transport: MessageTransport) : AutoCloseable {
+/**
+ * A server that evaluates Pkl modules on behalf of a client.
+ *
+ * Evaluation requests for the same evaluator are processed one at a time and in order. Requests for
+ * different evaluators are processed in parallel, using at most [parallelism] threads. Each
+ * evaluator caches at most [resourceCacheSize] bytes of resource contents.
+ */
+class Server
+@JvmOverloads
+constructor(
+  private val transport: MessageTransport,
+  parallelism: Int = defaultParallelism,
+  private val resourceCacheSize: Long = Long.MAX_VALUE,
+) : AutoCloseable {
   private val evaluators: MutableMap<Long, Evaluator> = ConcurrentHashMap()
 
-  // https://github.com/jano7/executor would be the perfect executor here
-  private val executor: ExecutorService = Executors.newSingleThreadExecutor()
+  private val executor: ExecutorService = createExecutor(parallelism)
+
+  // evaluation requests are serialized per evaluator
+  private val lanes: MutableMap<Long, EvaluatorLane> = ConcurrentHashMap()
 
   // ExternalProcess instances with the same ExternalReader spec are shared per evaluator
   private val externalReaderProcesses:
@@ -54,14 +70,36 @@ class Server(private val transport: MessageTransport) : AutoCloseable {
     ConcurrentHashMap()
 
   companion object {
-    fun stream(inputStream: InputStream, outputStream: OutputStream): Server =
+    /** The default number of evaluations that run in parallel. */
+    val defaultParallelism: Int
+      get() = Runtime.getRuntime().availableProcessors()
+
+    @JvmOverloads
+    fun stream(
+      inputStream: InputStream,
+      outputStream: OutputStream,
+      parallelism: Int = defaultParallelism,
+      resourceCacheSize: Long = Long.MAX_VALUE,
+    ): Server =
       Server(
         MessageTransports.stream(
           ServerMessagePackDecoder(inputStream),
           ServerMessagePackEncoder(outputStream),
           ::log,
-        )
+        ),
+        parallelism,
+        resourceCacheSize,
       )
+
+    private fun createExecutor(parallelism: Int): ExecutorService {
+      require(parallelism > 0) { "`parallelism` must be positive, but was $parallelism." }
+      val threadCount = AtomicInteger()
+      return Executors.newFixedThreadPool(parallelism) { runnable ->
+        Thread(runnable, "pkl-server-worker-${threadCount.incrementAndGet()}").apply {
+          isDaemon = true
+        }
+      }
+    }
   }
 
   /** Starts listening to incoming messages */
@@ -70,6 +108,7 @@ class Server(private val transport: MessageTransport) : AutoCloseable {
       { message ->
         when (message) {
           is CloseEvaluator -> handleCloseEvaluator(message)
+          is InvalidateModules -> handleInvalidateModules(message)
           else -> throw ProtocolException("Unexpected incoming one-way message: $message")
         }
       },
@@ -109,6 +148,7 @@ class Server(private val transport: MessageTransport) : AutoCloseable {
       }
 
     evaluators[evaluatorId] = evaluator
+    lanes[evaluatorId] = EvaluatorLane(executor)
     transport.send(baseResponse.copy(evaluatorId = evaluatorId))
   }
 
@@ -116,32 +156,62 @@ class Server(private val transport: MessageTransport) : AutoCloseable {
     val baseResponse = EvaluateResponse(msg.requestId(), msg.evaluatorId, null, null)
 
     val evaluator = evaluators[msg.evaluatorId]
-    if (evaluator == null) {
+    val lane = lanes[msg.evaluatorId]
+    if (evaluator == null || lane == null) {
       transport.send(
         baseResponse.copy(error = "Evaluator with ID ${msg.evaluatorId} was not found.")
       )
       return
     }
 
-    executor.execute {
+    val queueDepth = lane.queueDepth
+    val enqueuedAt = System.nanoTime()
+    lane.execute {
+      val startedAt = System.nanoTime()
+      fun metrics() =
+        EvaluateMetrics(queueDepth, startedAt - enqueuedAt, System.nanoTime() - startedAt)
       try {
         val src = ModuleSource.create(msg.moduleUri, msg.moduleText)
-        val resp = evaluator.evaluateExpressionPklBinary(src, msg.expr ?: "module")
-        transport.send(baseResponse.copy(result = resp))
+        val result = BufferListOutputStream()
+        evaluator.evaluateExpressionPklBinary(src, msg.expr ?: "module", result)
+        transport.send(baseResponse.copy(resultBuffers = result.buffers, metrics = metrics()))
       } catch (e: PklBugException) {
-        transport.send(baseResponse.copy(error = e.toString()))
+        transport.send(baseResponse.copy(error = e.toString(), metrics = metrics()))
       } catch (e: PklException) {
-        transport.send(baseResponse.copy(error = e.message ?: ""))
+        transport.send(baseResponse.copy(error = e.message ?: "", metrics = metrics()))
+      }
+    }
+  }
+
+  private fun handleInvalidateModules(message: InvalidateModules) {
+    val evaluator = evaluators[message.evaluatorId]
+    val lane = lanes[message.evaluatorId]
+    if (evaluator == null || lane == null) {
+      log("Ignoring invalidate request for unknown evaluator ID `${message.evaluatorId}`.")
+      return
+    }
+    // runs after pending evaluations, and before evaluations requested later
+    lane.execute {
+      try {
+        evaluator.invalidate(message.changedUris)
+      } catch (e: IllegalStateException) {
+        // evaluator was closed in the meantime
       }
     }
   }
 
   private fun handleCloseEvaluator(message: CloseEvaluator) {
     val evaluator = evaluators.remove(message.evaluatorId)
+    lanes.remove(message.evaluatorId)
     if (evaluator == null) {
       log("Ignoring close request for unknown evaluator ID `${message.evaluatorId}`.")
       return
     }
+    val stats = evaluator.resourceCacheStats
+    log(
+      "Closing evaluator `${message.evaluatorId}`. Resource cache: ${stats.bytesHeld} bytes, " +
+        "${stats.hitCount} hits, ${stats.missCount} misses, ${stats.evictionCount} evictions."
+    )
     evaluator.close()
 
     // close any running ExternalProcess instances for the closed evaluator
@@ -191,6 +261,9 @@ class Server(private val transport: MessageTransport) : AutoCloseable {
       return with(EvaluatorBuilder.unconfigured()) {
         setStackFrameTransformer(StackFrameTransformers.defaultTransformer)
         color = false
+        // the server typically creates many evaluators over its lifetime
+        sharedModuleCache = true
+        resourceCacheSize = this@Server.resourceCacheSize
         httpClient =
           with(HttpClient.builder()) {
             message.http?.proxy?.let { proxy ->
@@ -260,6 +333,7 @@ class Server(private val transport: MessageTransport) : AutoCloseable {
             readerSpec.scheme,
             readerSpec.hasHierarchicalUris,
             readerSpec.isGlobbable,
+            readerSpec.supportsBatchRequests,
           ),
           ExternalResourceResolver.of(transport, evaluatorId),
         )
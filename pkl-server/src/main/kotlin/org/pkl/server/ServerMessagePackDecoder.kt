@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package org.pkl.server
 
 import java.io.InputStream
 import java.net.URI
+import java.nio.ByteBuffer
 import java.nio.file.Path
 import java.time.Duration
 import org.msgpack.core.MessagePack
@@ -60,6 +61,11 @@ class ServerMessagePackDecoder(unpacker: MessageUnpacker) : BaseMessagePackDecod
           unpackStringOrNull(map, "error"),
         )
       Message.Type.CLOSE_EVALUATOR -> CloseEvaluator(unpackLong(map, "evaluatorId"))
+      Message.Type.INVALIDATE_MODULES ->
+        InvalidateModules(
+          unpackLong(map, "evaluatorId"),
+          get(map, "changedUris").asArrayValue().list().map { URI(it.asStringValue().asString()) },
+        )
       Message.Type.EVALUATE_REQUEST ->
         EvaluateRequest(
           unpackLong(map, "requestId"),
@@ -72,8 +78,9 @@ class ServerMessagePackDecoder(unpacker: MessageUnpacker) : BaseMessagePackDecod
         EvaluateResponse(
           unpackLong(map, "requestId"),
           unpackLong(map, "evaluatorId"),
-          unpackByteArray(map, "result"),
+          unpackByteArray(map, "result")?.let { listOf(ByteBuffer.wrap(it)) },
           unpackStringOrNull(map, "error"),
+          map.unpackMetrics(),
         )
       Message.Type.LOG_MESSAGE ->
         LogMessage(
@@ -86,6 +93,15 @@ class ServerMessagePackDecoder(unpacker: MessageUnpacker) : BaseMessagePackDecod
     }
   }
 
+  private fun Map<Value, Value>.unpackMetrics(): EvaluateMetrics? {
+    val metricsMap = getNullable(this, "metrics")?.asMapValue()?.map() ?: return null
+    return EvaluateMetrics(
+      unpackInt(metricsMap, "queueDepth"),
+      unpackLong(metricsMap, "queueNanos"),
+      unpackLong(metricsMap, "evaluateNanos"),
+    )
+  }
+
   private fun Map<Value, Value>.unpackProject(): Project? {
     val projMap = getNullable(this, "project")?.asMapValue()?.map() ?: return null
     val projectFileUri = URI(unpackString(projMap, "projectFileUri"))
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 package org.pkl.server
 
 import java.io.OutputStream
+import java.net.URI
+import java.nio.ByteBuffer
 import java.nio.file.Path
 import kotlin.io.path.pathString
 import org.msgpack.core.MessagePack
@@ -28,6 +30,17 @@ class ServerMessagePackEncoder(packer: MessagePacker) : BaseMessagePackEncoder(p
 
   constructor(stream: OutputStream) : this(MessagePack.newDefaultPacker(stream))
 
+  // payloads larger than the packer's buffer are written straight to the output
+  private fun MessagePacker.packPayload(buffer: ByteBuffer) {
+    if (buffer.hasArray()) {
+      writePayload(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining())
+    } else {
+      val bytes = ByteArray(buffer.remaining())
+      buffer.duplicate().get(bytes)
+      writePayload(bytes)
+    }
+  }
+
   private fun MessagePacker.packProject(project: Project) {
     packMapHeader(2)
     packKeyValue("projectFileUri", project.projectFileUri.toString())
@@ -78,6 +91,13 @@ class ServerMessagePackEncoder(packer: MessagePacker) : BaseMessagePackEncoder(p
     }
   }
 
+  private fun MessagePacker.packMetrics(metrics: EvaluateMetrics) {
+    packMapHeader(3)
+    packKeyValue("queueDepth", metrics.queueDepth)
+    packKeyValue("queueNanos", metrics.queueNanos)
+    packKeyValue("evaluateNanos", metrics.evaluateNanos)
+  }
+
   private fun MessagePacker.packChecksums(checksums: Checksums) {
     packMapHeader(1)
     packKeyValue("sha256", checksums.sha256)
@@ -177,6 +197,12 @@ class ServerMessagePackEncoder(packer: MessagePacker) : BaseMessagePackEncoder(p
         packer.packMapHeader(1)
         packKeyValue("evaluatorId", msg.evaluatorId)
       }
+      Message.Type.INVALIDATE_MODULES -> {
+        msg as InvalidateModules
+        packer.packMapHeader(2)
+        packKeyValue("evaluatorId", msg.evaluatorId)
+        packKeyValue("changedUris", msg.changedUris, URI::toString)
+      }
       Message.Type.EVALUATE_REQUEST -> {
         msg as EvaluateRequest
         packMapHeader(3, msg.moduleText, msg.expr)
@@ -188,11 +214,19 @@ class ServerMessagePackEncoder(packer: MessagePacker) : BaseMessagePackEncoder(p
       }
       Message.Type.EVALUATE_RESPONSE -> {
         msg as EvaluateResponse
-        packMapHeader(2, msg.result, msg.error)
+        packMapHeader(2, msg.resultBuffers, msg.error, msg.metrics)
         packKeyValue("requestId", msg.requestId())
         packKeyValue("evaluatorId", msg.evaluatorId)
-        msg.result?.let { packKeyValue("result", it) }
+        msg.resultBuffers?.let { buffers ->
+          packer.packString("result")
+          packer.packBinaryHeader(buffers.sumOf { it.remaining() })
+          for (buffer in buffers) packer.packPayload(buffer)
+        }
         packKeyValue("error", msg.error)
+        msg.metrics?.let { metrics ->
+          packer.packString("metrics")
+          packer.packMetrics(metrics)
+        }
       }
       Message.Type.LOG_MESSAGE -> {
         msg as LogMessage
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package org.pkl.server
 
 import java.net.URI
+import java.nio.ByteBuffer
 import java.nio.file.Path
 import java.time.Duration
 import java.util.*
@@ -116,6 +117,11 @@ data class CloseEvaluator(val evaluatorId: Long) : Message.Client.OneWay {
   override fun type(): Message.Type = Message.Type.CLOSE_EVALUATOR
 }
 
+data class InvalidateModules(val evaluatorId: Long, val changedUris: List<URI>) :
+  Message.Client.OneWay {
+  override fun type(): Message.Type = Message.Type.INVALIDATE_MODULES
+}
+
 data class EvaluateRequest(
   private val requestId: Long,
   val evaluatorId: Long,
@@ -131,13 +137,34 @@ data class EvaluateRequest(
 data class EvaluateResponse(
   private val requestId: Long,
   val evaluatorId: Long,
-  val result: ByteArray?,
+  /**
+   * The result in pkl-binary format, split into one or more buffers.
+   *
+   * The server passes on the buffers that the evaluator encoded the result into, so that the result
+   * is written to the transport without being copied.
+   */
+  val resultBuffers: List<ByteBuffer>?,
   val error: String?,
+  val metrics: EvaluateMetrics? = null,
 ) : Message.Server.Response {
   override fun type(): Message.Type = Message.Type.EVALUATE_RESPONSE
 
   override fun requestId(): Long = requestId
 
+  /** The result in pkl-binary format. Concatenates [resultBuffers] on each access. */
+  val result: ByteArray?
+    get() {
+      val buffers = resultBuffers ?: return null
+      val bytes = ByteArray(buffers.sumOf { it.remaining() })
+      var offset = 0
+      for (buffer in buffers) {
+        val length = buffer.remaining()
+        buffer.duplicate().get(bytes, offset, length)
+        offset += length
+      }
+      return bytes
+    }
+
   // override to use [ByteArray.contentEquals]
   @Suppress("DuplicatedCode")
   override fun equals(other: Any?): Boolean {
@@ -147,7 +174,8 @@ data class EvaluateResponse(
     return requestId == other.requestId &&
       evaluatorId == other.evaluatorId &&
       result.contentEquals(other.result) &&
-      error == other.error
+      error == other.error &&
+      metrics == other.metrics
   }
 
   // override to use [ByteArray.contentHashCode]
@@ -156,10 +184,21 @@ data class EvaluateResponse(
     result1 = 31 * result1 + evaluatorId.hashCode()
     result1 = 31 * result1 + result.contentHashCode()
     result1 = 31 * result1 + error.hashCode()
+    result1 = 31 * result1 + metrics.hashCode()
     return result1
   }
 }
 
+/** Timings of a single evaluation, as observed by the server. */
+data class EvaluateMetrics(
+  /** The number of requests for the same evaluator that were ahead of this one. */
+  val queueDepth: Int,
+  /** The time the request spent waiting for its evaluator, in nanoseconds. */
+  val queueNanos: Long,
+  /** The time spent evaluating the request, in nanoseconds. */
+  val evaluateNanos: Long,
+)
+
 data class LogMessage(
   val evaluatorId: Long,
   val level: Int,
@@ -15,6 +15,8 @@
  */
 package org.pkl.server
 
+import java.io.OutputStream
+import java.nio.ByteBuffer
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ExecutionException
 import java.util.concurrent.Future
@@ -36,6 +38,24 @@ internal fun AutoCloseable.closeQuietly() {
   }
 }
 
+/**
+ * Collects the arrays written to it without copying them.
+ *
+ * Only suitable for writers that never modify an array once written, such as
+ * [org.pkl.core.Evaluator.evaluateExpressionPklBinary].
+ */
+internal class BufferListOutputStream : OutputStream() {
+  val buffers: MutableList<ByteBuffer> = mutableListOf()
+
+  override fun write(b: Int) {
+    buffers.add(ByteBuffer.wrap(byteArrayOf(b.toByte())))
+  }
+
+  override fun write(b: ByteArray, off: Int, len: Int) {
+    buffers.add(ByteBuffer.wrap(b, off, len))
+  }
+}
+
 internal val threadLocalBufferPacker: ThreadLocal<MessageBufferPacker> =
   ThreadLocal.withInitial { MessagePack.newDefaultBufferPacker() }
 
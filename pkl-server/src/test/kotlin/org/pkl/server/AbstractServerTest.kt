@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -111,6 +111,8 @@ abstract class AbstractServerTest {
     assertThat(response.error).isNull()
     assertThat(response.result).isNotNull
     assertThat(response.requestId()).isEqualTo(requestId)
+    assertThat(response.metrics).isNotNull
+    assertThat(response.metrics!!.queueDepth).isEqualTo(0)
 
     val unpacker = MessagePack.newDefaultUnpacker(response.result)
     val value = unpacker.unpackValue()
@@ -839,6 +841,37 @@ abstract class AbstractServerTest {
       )
   }
 
+  @Test
+  fun `invalidate modules`(@TempDir tempDir: Path) {
+    val module = tempDir.resolve("mod.pkl")
+    module.writeText(
+      """
+      import "lib.pkl"
+      res = lib.text
+    """
+        .trimIndent()
+    )
+    val lib = tempDir.resolve("lib.pkl")
+    lib.writeText("text = \"one\"")
+    val evaluatorId = client.sendCreateEvaluatorRequest()
+
+    fun evaluate(requestId: Long): String {
+      client.send(EvaluateRequest(requestId, evaluatorId, module.toUri(), null, "output.text"))
+      val response = client.receive<EvaluateResponse>()
+      assertThat(response.error).isNull()
+      return MessagePack.newDefaultUnpacker(response.result).unpackString()
+    }
+
+    assertThat(evaluate(1)).isEqualTo("res = \"one\"\n")
+
+    lib.writeText("text = \"two\"")
+    // cached module is reused until invalidated
+    assertThat(evaluate(2)).isEqualTo("res = \"one\"\n")
+
+    client.send(InvalidateModules(evaluatorId, listOf(lib.toUri())))
+    assertThat(evaluate(3)).isEqualTo("res = \"two\"\n")
+  }
+
   @Test
   fun `evaluate with project dependencies`(@TempDir tempDir: Path) {
     val cacheDir = tempDir.resolve("cache").createDirectories()
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2026 Apple Inc. and the Pkl project authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pkl.server
+
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+
+class EvaluatorLaneTest {
+  private val executor = Executors.newFixedThreadPool(4)
+
+  @AfterEach
+  fun afterEach() {
+    executor.shutdownNow()
+  }
+
+  @Test
+  fun `runs tasks of one lane sequentially and in order`() {
+    val lane = EvaluatorLane(executor)
+    val results = Collections.synchronizedList(mutableListOf<Int>())
+    val active = AtomicInteger()
+    val maxActive = AtomicInteger()
+    val done = CountDownLatch(100)
+    for (i in 0 until 100) {
+      lane.execute {
+        maxActive.accumulateAndGet(active.incrementAndGet()) { a, b -> maxOf(a, b) }
+        results.add(i)
+        active.decrementAndGet()
+        done.countDown()
+      }
+    }
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue
+    assertThat(results).isEqualTo((0 until 100).toList())
+    assertThat(maxActive.get()).isEqualTo(1)
+  }
+
+  @Test
+  fun `runs tasks of different lanes in parallel`() {
+    val lane1 = EvaluatorLane(executor)
+    val lane2 = EvaluatorLane(executor)
+    val bothStarted = CountDownLatch(2)
+    val done = CountDownLatch(2)
+    val task = Runnable {
+      bothStarted.countDown()
+      // would time out if the lanes were serialized
+      if (bothStarted.await(10, TimeUnit.SECONDS)) done.countDown()
+    }
+    lane1.execute(task)
+    lane2.execute(task)
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue
+  }
+
+  @Test
+  fun `reports queue depth`() {
+    val lane = EvaluatorLane(executor)
+    val release = CountDownLatch(1)
+    lane.execute { release.await() }
+    lane.execute {}
+    assertThat(lane.queueDepth).isEqualTo(2)
+    release.countDown()
+  }
+
+  @Test
+  fun `keeps running after a task throws`() {
+    val lane = EvaluatorLane(executor)
+    val done = CountDownLatch(1)
+    lane.execute { throw IllegalStateException("boom") }
+    lane.execute { done.countDown() }
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue
+  }
+
+  @Test
+  fun `drops remaining tasks once the executor has been shut down`() {
+    val lane = EvaluatorLane(executor)
+    val started = CountDownLatch(1)
+    val release = CountDownLatch(1)
+    val done = CountDownLatch(1)
+    val ran = AtomicInteger()
+    lane.execute {
+      started.countDown()
+      release.await()
+      done.countDown()
+    }
+    lane.execute { ran.incrementAndGet() }
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue
+    executor.shutdown()
+    release.countDown()
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue
+
+    lane.execute { ran.incrementAndGet() }
+    assertThat(ran.get()).isEqualTo(0)
+    assertThat(lane.queueDepth).isEqualTo(0)
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright © 2024-2025 Apple Inc. and the Pkl project authors. All rights reserved.
+ * Copyright © 2024-2026 Apple Inc. and the Pkl project authors. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.pkl.server
 import java.io.PipedInputStream
 import java.io.PipedOutputStream
 import java.net.URI
+import java.nio.ByteBuffer
 import java.nio.file.Path
 import java.time.Duration
 import org.assertj.core.api.Assertions.assertThat
@@ -116,6 +117,16 @@ class ServerMessagePackCodecTest {
     roundtrip(CloseEvaluator(evaluatorId = 123))
   }
 
+  @Test
+  fun `round-trip InvalidateModules`() {
+    roundtrip(
+      InvalidateModules(
+        evaluatorId = 123,
+        changedUris = listOf(URI("file:///foo.pkl"), URI("file:///bar.txt")),
+      )
+    )
+  }
+
   @Test
   fun `round-trip EvaluateRequest`() {
     roundtrip(
@@ -135,12 +146,29 @@ class ServerMessagePackCodecTest {
       EvaluateResponse(
         requestId = 123,
         evaluatorId = 456,
-        result = byteArrayOf(1, 2, 3, 4, 5),
+        resultBuffers =
+          listOf(
+            ByteBuffer.wrap(byteArrayOf(1, 2)),
+            ByteBuffer.wrap(byteArrayOf(0, 3, 4, 5), 1, 3),
+          ),
         error = null,
       )
     )
   }
 
+  @Test
+  fun `round-trip EvaluateResponse with metrics`() {
+    roundtrip(
+      EvaluateResponse(
+        requestId = 123,
+        evaluatorId = 456,
+        resultBuffers = null,
+        error = "Something went wrong.",
+        metrics = EvaluateMetrics(queueDepth = 2, queueNanos = 1000, evaluateNanos = 2000),
+      )
+    )
+  }
+
   @Test
   fun `round-trip LogMessage`() {
     roundtrip(